@@ -41,6 +41,7 @@ CREATE TABLE items (
   event_time DATETIME COMMENT '事件发生时间（丢失或捡到时间）',
   event_place VARCHAR(255) COMMENT '事件发生地点（丢失或捡到地点）',
   status TINYINT DEFAULT 0 COMMENT '物品状态：0-有效，1-结束',
+  index_status TINYINT NOT NULL DEFAULT 1 COMMENT '向量索引状态：0-待同步，1-已同步，2-同步失败',
   is_deleted TINYINT(1) DEFAULT 0 COMMENT '逻辑删除标记：0-未删除，1-已删除',
   description TEXT CHECK (CHAR_LENGTH(description) <= 1000) COMMENT '物品描述信息（限制1000字）',
   created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
@@ -118,11 +119,47 @@ CREATE TABLE user_collect (
   CONSTRAINT fk_collect_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户物品收藏关联表';
 
+-- ----------------------
+-- 向量索引发件箱
+-- ----------------------
+DROP TABLE IF EXISTS `vector_index_outbox`;
+CREATE TABLE vector_index_outbox (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '自增主键',
+  item_id BIGINT NOT NULL COMMENT '待同步的物品ID',
+  status TINYINT NOT NULL DEFAULT 0 COMMENT '状态：0-待处理，1-处理中，2-失败（超过最大重试次数）',
+  attempts INT NOT NULL DEFAULT 0 COMMENT '已尝试次数',
+  next_attempt_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次可处理时间（退避重试）',
+  lease_owner VARCHAR(64) NULL COMMENT '当前领取者标识',
+  lease_until DATETIME NULL COMMENT '领取租约到期时间，过期后可被重新领取',
+  last_error VARCHAR(500) NULL COMMENT '最近一次失败原因',
+  created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='向量索引发件箱';
+
+-- ----------------------
+-- 图片内容指纹
+-- ----------------------
+DROP TABLE IF EXISTS `image_fingerprints`;
+CREATE TABLE image_fingerprints (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '自增主键',
+  content_hash CHAR(64) NOT NULL COMMENT '原始文件内容 SHA-256（十六进制）',
+  object_key VARCHAR(255) NOT NULL COMMENT '已处理完成的 COS 对象键（复制来源）',
+  url VARCHAR(500) NOT NULL COMMENT '复制来源的访问URL',
+  created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  UNIQUE KEY uk_image_fingerprints_content_hash (content_hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='图片内容指纹';
+
 -- ----------------------
 -- 索引补充
 -- ----------------------
 CREATE INDEX idx_items_type_status_event_time ON items(type, status, event_time);
 CREATE INDEX idx_items_is_deleted_status ON items(is_deleted, status);
+CREATE INDEX idx_items_deleted_created_id ON items(is_deleted, created_at, id);
+CREATE INDEX idx_items_user_deleted_created_id ON items(user_id, is_deleted, created_at, id);
+ALTER TABLE items ADD FULLTEXT INDEX ft_items_description_place (description, event_place) WITH PARSER ngram;
+CREATE INDEX idx_outbox_status_next ON vector_index_outbox(status, next_attempt_at, id);
+CREATE INDEX idx_outbox_item ON vector_index_outbox(item_id);
+CREATE INDEX idx_outbox_lease_owner ON vector_index_outbox(lease_owner);
 CREATE INDEX idx_item_tags_item_id ON item_tags(item_id);
 CREATE INDEX idx_item_tags_tag_id ON item_tags(tag_id);
 CREATE INDEX idx_item_tags_tag_item ON item_tags(tag_id, item_id);
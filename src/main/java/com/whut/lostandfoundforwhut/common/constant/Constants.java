@@ -37,6 +37,8 @@ public class Constants {
         public static final String ITEM_LIST = PREFIX + "item:list:";
         public static final String ITEM_TAGS = PREFIX + "item:tags:item:";
         public static final String TAG_LIST = PREFIX + "tag:list:";
+        /** 标签列表缓存 Key 索引集合（免扫描批量失效）示例：lost_and_found:index:tag:list */
+        public static final String TAG_LIST_INDEX = PREFIX + "index:tag:list";
         /** 物品布隆过滤器 Key 示例：lost_and_found:bloom:item */
         public static final String ITEM_BLOOM = PREFIX + "bloom:item";
         /** 注册验证码 Key 示例：lost_and_found:register:code:test@xx.com */
@@ -58,5 +60,27 @@ public class Constants {
         
         public static final String IMAGE_BY_ID = PREFIX + "image:";
         public static final String IMAGE_SEARCH_BY_ID = PREFIX + "image_search:";
+        /** 相似搜索缓存代数（递增即整体失效旧缓存）示例：lost_and_found:similar:search:generation */
+        public static final String SIMILAR_SEARCH_GENERATION = PREFIX + "similar:search:generation";
+        /** 跨实例缓存失效广播频道 示例：lost_and_found:channel:cache-invalidation */
+        public static final String CACHE_INVALIDATION_CHANNEL = PREFIX + "channel:cache-invalidation";
+        /** 向量嵌入缓存 Key（内容哈希，值为小端 float32 二进制）示例：lost_and_found:embedding:3f2a... */
+        public static final String EMBEDDING = PREFIX + "embedding:";
+        /** 图片URL对应的内容指纹（嵌入缓存按内容而非URL命中）示例：lost_and_found:image:content:https://... */
+        public static final String IMAGE_CONTENT_HASH = PREFIX + "image:content:";
+        /** 当前生效的向量集合名称（集合别名，重建完成后原子切换）示例：lost_and_found:vector:collection:active */
+        public static final String VECTOR_ACTIVE_COLLECTION = PREFIX + "vector:collection:active";
+        /** 重建期间需要同步双写的影子集合名称 示例：lost_and_found:vector:collection:reindex-target */
+        public static final String VECTOR_REINDEX_TARGET = PREFIX + "vector:collection:reindex-target";
+        /** 向量重建进度（Hash，可断点续跑）示例：lost_and_found:vector:reindex:state */
+        public static final String VECTOR_REINDEX_STATE = PREFIX + "vector:reindex:state";
+        /** 向量重建互斥锁（同一时间仅一个实例执行）示例：lost_and_found:vector:reindex:lock */
+        public static final String VECTOR_REINDEX_LOCK = PREFIX + "vector:reindex:lock";
+        /** 本地向量存储单实例租约（值为持有实例标识）示例：lost_and_found:vector:local-store:owner */
+        public static final String VECTOR_LOCAL_STORE_OWNER = PREFIX + "vector:local-store:owner";
+        /** 单飞回源租约（跨实例仅一个节点计算同一缓存键）示例：lost_and_found:single-flight:similar:search:3f2a... */
+        public static final String SINGLE_FLIGHT_LEASE = PREFIX + "single-flight:";
+        /** 缓存空值占位，标记数据库中不存在的记录（防缓存穿透） */
+        public static final String NULL_CACHE_VALUE = "__NULL__";
     }
 }
@@ -0,0 +1,23 @@
+package com.whut.lostandfoundforwhut.common.enums.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 缓存失效事件类型（跨实例广播）
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public enum CacheEventType {
+    ITEM_CHANGED("物品变更"),
+    TAGS_CHANGED("标签变更"),
+    USER_CHANGED("用户变更"),
+    SEARCH_INDEX_CHANGED("搜索索引变更"),
+    VECTOR_COLLECTION_CHANGED("向量集合切换");
+
+    private String desc;
+}
@@ -0,0 +1,22 @@
+package com.whut.lostandfoundforwhut.common.enums.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 物品向量索引状态
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public enum ItemIndexStatus {
+    PENDING(0, "待同步"),
+    SYNCED(1, "已同步"),
+    FAILED(2, "同步失败");
+
+    private Integer code;
+    private String desc;
+}
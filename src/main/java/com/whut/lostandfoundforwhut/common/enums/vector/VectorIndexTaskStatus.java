@@ -0,0 +1,22 @@
+package com.whut.lostandfoundforwhut.common.enums.vector;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量索引发件箱任务状态（处理成功的任务直接删除）
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public enum VectorIndexTaskStatus {
+    PENDING(0, "待处理"),
+    PROCESSING(1, "处理中"),
+    FAILED(2, "失败");
+
+    private Integer code;
+    private String desc;
+}
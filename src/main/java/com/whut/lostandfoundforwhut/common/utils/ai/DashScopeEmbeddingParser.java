@@ -0,0 +1,148 @@
+package com.whut.lostandfoundforwhut.common.utils.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description DashScope 多模态嵌入响应的流式解析器：基于 Jackson JsonParser 直接从字节流填充预分配的 float 数组，
+ * 不构造中间字符串；支持一次响应中的多个向量，格式错误时报告出错位置
+ */
+public class DashScopeEmbeddingParser {
+    // 向量数值占响应体绝大部分，启用快速浮点解析以减少逐个数值的解析开销
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .build();
+
+    private final int dimension;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param dimension 期望的向量维度
+     */
+    public DashScopeEmbeddingParser(int dimension) {
+        this.dimension = dimension;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 解析响应流中 output.embeddings[*].embedding，按出现顺序返回
+     * @param in 响应字节流（由调用方负责关闭）
+     * @return 向量列表
+     * @throws IOException 读取失败或格式错误（JsonParseException 携带出错位置）
+     */
+    public List<float[]> parse(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            return parse(parser);
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 解析字节数组形式的响应
+     * @param body 响应体
+     * @return 向量列表
+     * @throws IOException 格式错误
+     */
+    public List<float[]> parse(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    private List<float[]> parse(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT, "响应根节点");
+        List<float[]> embeddings = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("output".equals(field) && value == JsonToken.START_OBJECT) {
+                embeddings = readOutput(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (embeddings == null) {
+            throw new JsonParseException(parser, "响应中缺少 output.embeddings");
+        }
+        return embeddings;
+    }
+
+    private List<float[]> readOutput(JsonParser parser) throws IOException {
+        List<float[]> embeddings = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("embeddings".equals(field)) {
+                expect(parser, value, JsonToken.START_ARRAY, "output.embeddings");
+                embeddings = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    expect(parser, parser.currentToken(), JsonToken.START_OBJECT, "output.embeddings[]");
+                    embeddings.add(readEmbeddingObject(parser, embeddings.size()));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return embeddings;
+    }
+
+    private float[] readEmbeddingObject(JsonParser parser, int index) throws IOException {
+        float[] vector = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("embedding".equals(field)) {
+                expect(parser, value, JsonToken.START_ARRAY, "output.embeddings[" + index + "].embedding");
+                vector = readVector(parser, index);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (vector == null) {
+            throw new JsonParseException(parser, "output.embeddings[" + index + "] 缺少 embedding 字段");
+        }
+        return vector;
+    }
+
+    private float[] readVector(JsonParser parser, int index) throws IOException {
+        float[] vector = new float[dimension];
+        int size = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                throw new JsonParseException(parser,
+                        "output.embeddings[" + index + "].embedding[" + size + "] 不是数值：" + token);
+            }
+            if (size >= dimension) {
+                throw new JsonParseException(parser,
+                        "output.embeddings[" + index + "].embedding 维度超过期望值 " + dimension);
+            }
+            vector[size++] = parser.getFloatValue();
+        }
+        if (size != dimension) {
+            throw new JsonParseException(parser,
+                    "output.embeddings[" + index + "].embedding 维度为 " + size + "，期望 " + dimension);
+        }
+        return vector;
+    }
+
+    private void expect(JsonParser parser, JsonToken actual, JsonToken expected, String path) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, path + " 期望 " + expected + "，实际为 " + actual);
+        }
+    }
+}
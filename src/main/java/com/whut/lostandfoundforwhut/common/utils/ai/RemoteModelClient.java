@@ -0,0 +1,169 @@
+package com.whut.lostandfoundforwhut.common.utils.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 远程模型调用客户端：全局共享一个 HttpClient（连接复用、优先 HTTP/2、专用线程池）与 ObjectMapper，
+ * 并限制同时在途的请求数，突发流量下排队等待而不是不断新建连接
+ */
+@Slf4j
+@Component
+public class RemoteModelClient {
+    private final HttpClient httpClient;
+    @Getter
+    private final ObjectMapper objectMapper;
+    private final Semaphore inFlight;
+    private final Duration requestTimeout;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数，初始化共享 HttpClient
+     * @param objectMapper 共享 ObjectMapper
+     * @param executor 远程模型调用专用线程池
+     * @param connectTimeout 建连超时
+     * @param requestTimeout 默认单次请求超时
+     * @param maxConcurrentRequests 最大在途请求数
+     */
+    public RemoteModelClient(ObjectMapper objectMapper,
+            @Qualifier("remoteModelExecutor") Executor executor,
+            @Value("${app.ai.http.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${app.ai.http.request-timeout:30s}") Duration requestTimeout,
+            @Value("${app.ai.http.max-concurrent-requests:32}") int maxConcurrentRequests) {
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.inFlight = new Semaphore(maxConcurrentRequests, true);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 创建使用默认超时的请求构建器
+     * @param url 请求地址
+     * @return 请求构建器
+     */
+    public HttpRequest.Builder newRequest(String url) {
+        return newRequest(url, requestTimeout);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 创建请求构建器；明文 http 地址（如内网向量库）固定使用 HTTP/1.1，避免 h2c 升级协商
+     * @param url 请求地址
+     * @param timeout 本次请求超时
+     * @return 请求构建器
+     */
+    public HttpRequest.Builder newRequest(String url, Duration timeout) {
+        URI uri = URI.create(url);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(timeout);
+        if ("http".equalsIgnoreCase(uri.getScheme())) {
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+        return builder;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 发送请求；在途请求数达到上限时最多等待一个请求超时时长。
+     * 响应体为 InputStream 时，许可一直占用到调用方关闭该流（响应体仍在传输），调用方必须关闭响应流
+     * @param request 请求
+     * @param bodyHandler 响应体处理器
+     * @return 响应
+     * @throws IOException 网络异常或等待超时
+     * @throws InterruptedException 线程被中断
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        Duration wait = request.timeout().orElse(requestTimeout);
+        if (!inFlight.tryAcquire(wait.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("远程模型调用排队超时，uri={}", request.uri());
+            throw new HttpTimeoutException("远程模型调用排队超时: " + request.uri());
+        }
+        AtomicBoolean released = new AtomicBoolean(false);
+        Runnable releasePermit = () -> {
+            if (released.compareAndSet(false, true)) {
+                inFlight.release();
+            }
+        };
+        boolean streaming = false;
+        try {
+            HttpResponse<T> response = httpClient.send(request, responseInfo -> HttpResponse.BodySubscribers.mapping(
+                    bodyHandler.apply(responseInfo), body -> holdUntilClosed(body, releasePermit)));
+            streaming = response.body() instanceof PermitReleasingInputStream;
+            return response;
+        } finally {
+            if (!streaming) {
+                releasePermit.run();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T holdUntilClosed(T body, Runnable releasePermit) {
+        if (body instanceof InputStream input) {
+            return (T) new PermitReleasingInputStream(input, releasePermit);
+        }
+        return body;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 序列化为 JSON 请求体
+     * @param body 请求对象
+     * @return 请求体发布器
+     * @throws IOException 序列化失败
+     */
+    public HttpRequest.BodyPublisher jsonBody(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    /**
+     * 关闭时归还在途许可的响应流（只归还一次）
+     */
+    private static class PermitReleasingInputStream extends FilterInputStream {
+        private final Runnable releasePermit;
+
+        PermitReleasingInputStream(InputStream input, Runnable releasePermit) {
+            super(input);
+            this.releasePermit = releasePermit;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                releasePermit.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
+import com.whut.lostandfoundforwhut.model.dto.CacheInvalidationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 跨实例缓存失效总线：基于 Redis Pub/Sub 广播失效事件，各实例的本地缓存订阅并即时失效
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements MessageListener {
+    private static final byte[] CHANNEL = Constants.RedisKey.CACHE_INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    /** 频道专用的强类型序列化器：共享 RedisTemplate 不写入类型信息，反序列化只能得到 Map */
+    private final Jackson2JsonRedisSerializer<CacheInvalidationEvent> eventSerializer =
+            new Jackson2JsonRedisSerializer<>(CacheInvalidationEvent.class);
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<CacheEventType, List<Consumer<CacheInvalidationEvent>>> handlers =
+            new EnumMap<>(CacheEventType.class);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数，注册失效频道监听
+     * @param redisTemplate RedisTemplate
+     * @param listenerContainer Redis 消息监听容器
+     */
+    public CacheInvalidationBus(RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        for (CacheEventType type : CacheEventType.values()) {
+            handlers.put(type, new CopyOnWriteArrayList<>());
+        }
+        listenerContainer.addMessageListener(this, new ChannelTopic(Constants.RedisKey.CACHE_INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 订阅指定类型的失效事件（本实例发布的事件也会回调）
+     * @param type 事件类型
+     * @param handler 处理逻辑
+     */
+    public void subscribe(CacheEventType type, Consumer<CacheInvalidationEvent> handler) {
+        handlers.get(type).add(handler);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 发布失效事件；处于事务中时延迟到提交后发布
+     * @param type 事件类型
+     * @param targetId 目标ID（为空表示整类失效）
+     */
+    public void publish(CacheEventType type, Long targetId) {
+        publish(type, targetId, null);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 发布带版本号的失效事件；处于事务中时延迟到提交后发布
+     * @param type 事件类型
+     * @param targetId 目标ID（为空表示整类失效）
+     * @param version 版本号
+     */
+    public void publish(CacheEventType type, Long targetId, Long version) {
+        CacheInvalidationEvent event = buildEvent(type, targetId, version);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+            return;
+        }
+        send(event);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 立即发布失效事件，不感知事务（用于已处于 afterCommit 回调中的场景）
+     * @param type 事件类型
+     * @param targetId 目标ID（为空表示整类失效）
+     * @param version 版本号
+     */
+    public void publishNow(CacheEventType type, Long targetId, Long version) {
+        send(buildEvent(type, targetId, version));
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 判断事件是否由本实例发布
+     * @param event 事件
+     * @return 是否本实例发布
+     */
+    public boolean isLocal(CacheInvalidationEvent event) {
+        return event != null && nodeId.equals(event.getOriginNodeId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationEvent event;
+        try {
+            event = eventSerializer.deserialize(message.getBody());
+        } catch (Exception e) {
+            log.warn("解析缓存失效事件失败", e);
+            return;
+        }
+        // 本实例发布的事件已在本地分发，忽略回环消息
+        if (event != null && !isLocal(event)) {
+            dispatch(event);
+        }
+    }
+
+    private CacheInvalidationEvent buildEvent(CacheEventType type, Long targetId, Long version) {
+        return new CacheInvalidationEvent(type, targetId, version, nodeId, System.currentTimeMillis());
+    }
+
+    private void send(CacheInvalidationEvent event) {
+        dispatch(event);
+        try {
+            byte[] body = eventSerializer.serialize(event);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(CHANNEL, body));
+        } catch (Exception e) {
+            log.warn("广播缓存失效事件失败，其他实例将依赖 TTL 过期，event={}", event, e);
+        }
+    }
+
+    private void dispatch(CacheInvalidationEvent event) {
+        if (event.getType() == null) {
+            return;
+        }
+        for (Consumer<CacheInvalidationEvent> handler : handlers.get(event.getType())) {
+            try {
+                handler.accept(event);
+            } catch (Exception e) {
+                log.warn("处理缓存失效事件失败，event={}", event, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量嵌入结果缓存：按“模型 + 归一化文本 + 图片”内容哈希缓存，Caffeine 本地缓存（L1）+ Redis 二进制存储（L2）
+ */
+@Slf4j
+@Component
+public class EmbeddingCache {
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final Cache<String, float[]> localCache;
+    private final Duration redisTtl;
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数，初始化本地缓存容量（W-TinyLFU 淘汰）与统计
+     * @param binaryRedisTemplate 二进制值 RedisTemplate
+     * @param localMaxSize 本地缓存最大条目数
+     * @param redisTtl Redis 缓存过期时间
+     */
+    public EmbeddingCache(@Qualifier("binaryRedisTemplate") RedisTemplate<String, byte[]> binaryRedisTemplate,
+            @Value("${app.cache.embedding.local-max-size:5000}") long localMaxSize,
+            @Value("${app.cache.embedding.redis-ttl:7d}") Duration redisTtl) {
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 生成缓存键：文本去首尾空白并折叠连续空白，图片保持原顺序
+     * @param model 模型标识（含维度等影响向量的参数）
+     * @param text 文本
+     * @param imageKeys 图片标识（URL 或内容摘要）
+     * @return 内容哈希键
+     */
+    public String keyOf(String model, String text, List<String> imageKeys) {
+        StringBuilder content = new StringBuilder(model).append('\u0001');
+        if (text != null) {
+            content.append(text.trim().replaceAll("\\s+", " "));
+        }
+        if (imageKeys != null) {
+            for (String imageKey : imageKeys) {
+                content.append('\u0001').append(imageKey);
+            }
+        }
+        return sha256(content.toString());
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 依次读取 L1、L2，L2 命中时回填 L1
+     * @param key 缓存键
+     * @return 向量，未命中返回 null
+     */
+    public float[] get(String key) {
+        float[] local = localCache.getIfPresent(key);
+        if (local != null) {
+            return local;
+        }
+        try {
+            byte[] bytes = binaryRedisTemplate.opsForValue().get(buildRedisKey(key));
+            if (bytes != null && bytes.length > 0 && bytes.length % Float.BYTES == 0) {
+                redisHits.increment();
+                float[] vector = decode(bytes);
+                localCache.put(key, vector);
+                return vector;
+            }
+        } catch (Exception e) {
+            log.warn("读取向量嵌入 Redis 缓存失败，key={}", key, e);
+        }
+        redisMisses.increment();
+        return null;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 写入两级缓存
+     * @param key 缓存键
+     * @param vector 向量
+     */
+    public void put(String key, float[] vector) {
+        if (vector == null || vector.length == 0) {
+            return;
+        }
+        localCache.put(key, vector);
+        try {
+            binaryRedisTemplate.opsForValue().set(buildRedisKey(key), encode(vector), redisTtl);
+        } catch (Exception e) {
+            log.warn("写入向量嵌入 Redis 缓存失败，key={}", key, e);
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 缓存命中统计
+     * @return 统计信息
+     */
+    public Map<String, Object> stats() {
+        CacheStats local = localCache.stats();
+        long l2Hits = redisHits.sum();
+        long l2Misses = redisMisses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("localSize", localCache.estimatedSize());
+        stats.put("localHits", local.hitCount());
+        stats.put("localMisses", local.missCount());
+        stats.put("localHitRate", local.hitRate());
+        stats.put("localEvictions", local.evictionCount());
+        stats.put("redisHits", l2Hits);
+        stats.put("redisMisses", l2Misses);
+        stats.put("redisHitRate", l2Hits + l2Misses == 0 ? 1.0 : (double) l2Hits / (l2Hits + l2Misses));
+        // 总命中率：请求总数即 L1 请求数，未命中的只有 L2 也未命中的部分
+        long requests = local.requestCount();
+        stats.put("overallHitRate", requests == 0 ? 1.0 : 1.0 - (double) l2Misses / requests);
+        return stats;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 向量编码为小端 float32 字节（1024 维约 4KB，远小于 JSON 文本）
+     * @param vector 向量
+     * @return 字节数组
+     */
+    static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 小端 float32 字节解码为向量
+     * @param bytes 字节数组
+     * @return 向量
+     */
+    static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    private String buildRedisKey(String key) {
+        return Constants.RedisKey.EMBEDDING + key;
+    }
+
+    private String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
+import com.whut.lostandfoundforwhut.mapper.ItemMapper;
+import com.whut.lostandfoundforwhut.model.dto.CacheInvalidationEvent;
+import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.model.vo.ItemDetailVO;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 物品详情二级缓存：Caffeine 本地缓存（L1）+ Redis（L2）
+ */
+@Slf4j
+@Component
+public class ItemDetailCache {
+    private final IRedisService redisService;
+    private final CacheInvalidationBus invalidationBus;
+    private final ItemMapper itemMapper;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, ItemDetailVO> localCache;
+    private final Duration redisTtl;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数，初始化本地缓存容量与过期策略
+     * @param redisService Redis 服务
+     * @param invalidationBus 跨实例缓存失效总线
+     * @param itemMapper 物品 Mapper，用户资料变更时查询其发布的物品
+     * @param objectMapper 用于把 Redis 读出的 Map 转换为详情对象
+     * @param localMaxSize 本地缓存最大条目数
+     * @param localTtl 本地缓存写入后过期时间
+     * @param redisTtl Redis 缓存过期时间
+     */
+    public ItemDetailCache(IRedisService redisService, CacheInvalidationBus invalidationBus, ItemMapper itemMapper,
+            ObjectMapper objectMapper,
+            @Value("${app.cache.item-detail.local-max-size:2000}") long localMaxSize,
+            @Value("${app.cache.item-detail.local-ttl:60s}") Duration localTtl,
+            @Value("${app.cache.item-detail.redis-ttl:10m}") Duration redisTtl) {
+        this.redisService = redisService;
+        this.invalidationBus = invalidationBus;
+        this.itemMapper = itemMapper;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        invalidationBus.subscribe(CacheEventType.ITEM_CHANGED, this::onItemChanged);
+        invalidationBus.subscribe(CacheEventType.TAGS_CHANGED, this::onItemChanged);
+        invalidationBus.subscribe(CacheEventType.USER_CHANGED, this::onUserChanged);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 依次读取 L1、L2，均未命中时回源并回填两级缓存（同一物品并发回源只执行一次）
+     * @param itemId 物品ID
+     * @param loader 回源加载逻辑
+     * @return 物品详情
+     */
+    public ItemDetailVO get(Long itemId, Function<Long, ItemDetailVO> loader) {
+        return localCache.get(itemId, id -> loadFromRedisOrSource(id, loader));
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 失效指定物品的详情缓存，并在事务提交后广播给所有实例（本实例收到后再删一次，避免并发读回填旧数据）
+     * @param itemId 物品ID
+     */
+    public void evict(Long itemId) {
+        if (itemId == null) {
+            return;
+        }
+        evictNow(itemId);
+        invalidationBus.publish(CacheEventType.ITEM_CHANGED, itemId);
+    }
+
+    private void onItemChanged(CacheInvalidationEvent event) {
+        Long itemId = event.getTargetId();
+        if (itemId == null) {
+            return;
+        }
+        // L2 为共享缓存，仅由发布实例在提交后补删一次；其他实例只需清理本地 L1
+        if (invalidationBus.isLocal(event)) {
+            evictNow(itemId);
+        } else {
+            localCache.invalidate(itemId);
+        }
+    }
+
+    private void onUserChanged(CacheInvalidationEvent event) {
+        Long userId = event.getTargetId();
+        if (userId == null) {
+            return;
+        }
+        // 发布者信息冗余在详情中，用户资料变更时清理其发布物品的本地缓存
+        localCache.asMap().values().removeIf(detail -> userId.equals(detail.getUserId()));
+        // L2 为共享缓存，仅由发布实例在提交后删除该用户全部物品的详情 key
+        if (invalidationBus.isLocal(event)) {
+            evictRedisByUser(userId);
+        }
+    }
+
+    private void evictRedisByUser(Long userId) {
+        try {
+            List<String> keys = itemMapper.selectObjs(new LambdaQueryWrapper<Item>()
+                            .select(Item::getId)
+                            .eq(Item::getUserId, userId))
+                    .stream()
+                    .map(id -> buildItemDetailKey(((Number) id).longValue()))
+                    .toList();
+            if (!keys.isEmpty()) {
+                redisService.multiRemove(keys);
+            }
+        } catch (Exception e) {
+            log.warn("删除用户发布物品的详情 Redis 缓存失败，依赖 TTL 过期，userId={}", userId, e);
+        }
+    }
+
+    private ItemDetailVO loadFromRedisOrSource(Long itemId, Function<Long, ItemDetailVO> loader) {
+        String cacheKey = buildItemDetailKey(itemId);
+        try {
+            // Redis 值不带类型信息，读出的是 Map，需转换回详情对象
+            Object cached = redisService.getValue(cacheKey);
+            if (cached != null) {
+                return objectMapper.convertValue(cached, ItemDetailVO.class);
+            }
+        } catch (Exception e) {
+            log.warn("读取物品详情 Redis 缓存失败，回源数据库，itemId={}", itemId, e);
+        }
+
+        ItemDetailVO detail = loader.apply(itemId);
+        if (detail != null) {
+            try {
+                redisService.setValue(cacheKey, detail, redisTtl);
+            } catch (Exception e) {
+                log.warn("写入物品详情 Redis 缓存失败，itemId={}", itemId, e);
+            }
+        }
+        return detail;
+    }
+
+    private void evictNow(Long itemId) {
+        localCache.invalidate(itemId);
+        try {
+            redisService.remove(buildItemDetailKey(itemId));
+        } catch (Exception e) {
+            log.warn("删除物品详情 Redis 缓存失败，itemId={}", itemId, e);
+        }
+    }
+
+    private String buildItemDetailKey(Long itemId) {
+        return Constants.RedisKey.ITEM_DETAIL + itemId;
+    }
+}
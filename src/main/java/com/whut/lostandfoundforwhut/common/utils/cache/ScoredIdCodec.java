@@ -0,0 +1,151 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 相似搜索结果的紧凑二进制编码：版本号 + 条数（varint）+ 物品ID相邻差值（zigzag varint，保持相似度顺序）
+ *              + 小端 float32 相似度；解码直接写入基本类型数组，不产生中间字符串与包装对象
+ */
+public final class ScoredIdCodec {
+    private static final byte VERSION = 1;
+
+    private ScoredIdCodec() {
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 按相似度顺序排列的物品ID与相似度
+     * @param ids 物品ID
+     * @param scores 相似度，与 ids 一一对应
+     */
+    public record ScoredIds(long[] ids, float[] scores) {
+        public static final ScoredIds EMPTY = new ScoredIds(new long[0], new float[0]);
+
+        public ScoredIds {
+            if (ids.length != scores.length) {
+                throw new IllegalArgumentException("物品ID与相似度数量不一致");
+            }
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public boolean isEmpty() {
+            return ids.length == 0;
+        }
+
+        /**
+         * @author DXR
+         * @date 2026/10/17
+         * @description 转为物品ID列表（保持相似度顺序）
+         * @return 物品ID列表
+         */
+        public List<Long> idList() {
+            List<Long> list = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                list.add(id);
+            }
+            return list;
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 编码物品ID与相似度
+     * @param scoredIds 物品ID与相似度
+     * @return 字节数组
+     */
+    public static byte[] encode(ScoredIds scoredIds) {
+        long[] ids = scoredIds.ids();
+        float[] scores = scoredIds.scores();
+        // 每个 varint 最多 10 字节，先按上限分配再截断
+        byte[] buffer = new byte[1 + 5 + ids.length * 10 + scores.length * Float.BYTES];
+        int pos = 0;
+        buffer[pos++] = VERSION;
+        pos = writeVarint(buffer, pos, ids.length);
+        long previous = 0;
+        for (long id : ids) {
+            long delta = id - previous;
+            pos = writeVarint(buffer, pos, (delta << 1) ^ (delta >> 63));
+            previous = id;
+        }
+        for (float score : scores) {
+            int bits = Float.floatToIntBits(score);
+            buffer[pos++] = (byte) bits;
+            buffer[pos++] = (byte) (bits >>> 8);
+            buffer[pos++] = (byte) (bits >>> 16);
+            buffer[pos++] = (byte) (bits >>> 24);
+        }
+        byte[] result = new byte[pos];
+        System.arraycopy(buffer, 0, result, 0, pos);
+        return result;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 解码物品ID与相似度
+     * @param bytes 字节数组
+     * @return 物品ID与相似度
+     * @throws IllegalArgumentException 版本不符或数据截断
+     */
+    public static ScoredIds decode(byte[] bytes) {
+        if (bytes == null || bytes.length < 2 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("相似搜索缓存格式不支持");
+        }
+        try {
+            int[] pos = {1};
+            long count = readVarint(bytes, pos);
+            if (count < 0 || count > bytes.length) {
+                throw new IllegalArgumentException("相似搜索缓存条数非法：" + count);
+            }
+            int size = (int) count;
+            long[] ids = new long[size];
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                long zigzag = readVarint(bytes, pos);
+                previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                ids[i] = previous;
+            }
+            if (bytes.length - pos[0] != size * Float.BYTES) {
+                throw new IllegalArgumentException("相似搜索缓存长度不匹配");
+            }
+            float[] scores = new float[size];
+            int p = pos[0];
+            for (int i = 0; i < size; i++, p += Float.BYTES) {
+                scores[i] = Float.intBitsToFloat((bytes[p] & 0xff) | (bytes[p + 1] & 0xff) << 8
+                        | (bytes[p + 2] & 0xff) << 16 | (bytes[p + 3] & 0xff) << 24);
+            }
+            return new ScoredIds(ids, scores);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("相似搜索缓存数据截断", e);
+        }
+    }
+
+    private static int writeVarint(byte[] buffer, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static long readVarint(byte[] bytes, int[] pos) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = bytes[pos[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint 过长");
+    }
+}
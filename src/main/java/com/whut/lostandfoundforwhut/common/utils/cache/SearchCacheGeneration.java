@@ -0,0 +1,121 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
+import com.whut.lostandfoundforwhut.model.dto.CacheInvalidationEvent;
+import com.whut.lostandfoundforwhut.model.dto.SearchDTO;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 相似搜索缓存代数：缓存键携带代数，递增代数即 O(1) 失效全部旧缓存，旧键由递增实例异步清理
+ */
+@Slf4j
+@Component
+public class SearchCacheGeneration {
+    private final IRedisService redisService;
+    private final CacheInvalidationBus invalidationBus;
+    private final long refreshIntervalMs;
+
+    private volatile long generation;
+    private volatile long loadedAt;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数，订阅搜索索引变更事件
+     * @param redisService Redis 服务
+     * @param invalidationBus 跨实例缓存失效总线
+     * @param refreshInterval 本地代数的最长复用时间（兜底广播丢失）
+     */
+    public SearchCacheGeneration(IRedisService redisService, CacheInvalidationBus invalidationBus,
+            @Value("${app.cache.similar-search.generation-refresh:5s}") Duration refreshInterval) {
+        this.redisService = redisService;
+        this.invalidationBus = invalidationBus;
+        this.refreshIntervalMs = refreshInterval.toMillis();
+        invalidationBus.subscribe(CacheEventType.SEARCH_INDEX_CHANGED, this::onSearchIndexChanged);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 获取当前代数，本地缓存过期时从 Redis 刷新
+     * @return 当前代数
+     */
+    public long current() {
+        if (System.currentTimeMillis() - loadedAt >= refreshIntervalMs) {
+            refresh();
+        }
+        return generation;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 递增代数使相似搜索缓存整体失效；处于事务中时在提交后执行，避免并发查询以旧数据回填新代数
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpNow();
+                }
+            });
+            return;
+        }
+        bumpNow();
+    }
+
+    private void bumpNow() {
+        try {
+            Long next = redisService.increment(Constants.RedisKey.SIMILAR_SEARCH_GENERATION);
+            if (next == null) {
+                return;
+            }
+            advanceTo(next);
+            invalidationBus.publishNow(CacheEventType.SEARCH_INDEX_CHANGED, null, next);
+            // 上一代缓存已不可达，异步按前缀回收，避免在 TTL 内占用内存
+            redisService.removeByPrefixAsync(SearchDTO.redisKeyPrefix(next - 1));
+        } catch (Exception e) {
+            log.warn("递增相似搜索缓存代数失败，旧缓存将依赖 TTL 过期", e);
+        }
+    }
+
+    private void refresh() {
+        try {
+            Object value = redisService.getValue(Constants.RedisKey.SIMILAR_SEARCH_GENERATION);
+            long latest = value == null ? 0L : Long.parseLong(value.toString());
+            synchronized (this) {
+                generation = Math.max(generation, latest);
+                loadedAt = System.currentTimeMillis();
+            }
+        } catch (Exception e) {
+            log.warn("读取相似搜索缓存代数失败，沿用本地代数：{}", generation, e);
+            loadedAt = System.currentTimeMillis();
+        }
+    }
+
+    private void onSearchIndexChanged(CacheInvalidationEvent event) {
+        if (event.getVersion() != null) {
+            advanceTo(event.getVersion());
+        } else {
+            loadedAt = 0L;
+        }
+    }
+
+    private synchronized void advanceTo(long next) {
+        if (next > generation) {
+            generation = next;
+        }
+        loadedAt = System.currentTimeMillis();
+    }
+}
@@ -6,6 +6,7 @@ import com.qcloud.cos.auth.BasicCOSCredentials;
 import com.qcloud.cos.auth.COSCredentials;
 import com.qcloud.cos.exception.MultiObjectDeleteException;
 import com.qcloud.cos.exception.MultiObjectDeleteException.DeleteError;
+import com.qcloud.cos.model.ObjectMetadata;
 import com.qcloud.cos.model.PutObjectRequest;
 import com.qcloud.cos.model.PutObjectResult;
 import com.qcloud.cos.model.DeleteObjectsRequest.KeyVersion;
@@ -27,6 +28,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
+import java.io.InputStream;
 
 @Component
 public class COS {
@@ -91,6 +93,31 @@ public class COS {
         PutObjectResult putObjectResult = cosClient.putObject(putObjectRequest);
     }
 
+    /**
+     * 流式上传（不落临时文件），需预先给出内容长度，SDK 不再缓冲整个流来计算长度
+     * @param input 输入流（调用方负责关闭）
+     * @param contentLength 内容长度（字节）
+     * @param contentType 内容类型，可为空；须由服务端确定，不可直接使用客户端声明的类型
+     * @param key COS 存储路径
+     */
+    public void uploadStream(InputStream input, long contentLength, String contentType, String key) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(contentLength);
+        if (contentType != null && !contentType.isEmpty()) {
+            metadata.setContentType(contentType);
+        }
+        cosClient.putObject(new PutObjectRequest(bucketName, key, input, metadata));
+    }
+
+    /**
+     * 服务端复制对象（不经过本地传输）
+     * @param sourceKey 源 COS 存储路径
+     * @param key 目标 COS 存储路径
+     */
+    public void copyObject(String sourceKey, String key) {
+        cosClient.copyObject(bucketName, sourceKey, bucketName, key);
+    }
+
     /**
      * 获取对象访问URL
      * @param key COS 存储路径
@@ -0,0 +1,321 @@
+package com.whut.lostandfoundforwhut.common.utils.cos;
+
+import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.service.IImageFingerprintService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片上传流水线：每张图片独立执行 指纹 -> 上传（或复用复制）-> 审核 -> 压缩 -> 公共读，
+ *              多张图片并行；任一图片失败或整体超时即停止其余图片的后续阶段，并删除本次已创建的全部对象
+ */
+@Slf4j
+@Component
+public class ImageUploadPipeline {
+    // 对象的 Content-Type 只按已校验的扩展名确定，不信任客户端声明的类型（公共读桶上可被利用为存储型 XSS）
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            ".jpg", "image/jpeg",
+            ".jpeg", "image/jpeg",
+            ".png", "image/png",
+            ".gif", "image/gif");
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final COS cos;
+    private final ContentReviewer contentReviewer;
+    private final ImageProcessor imageProcessor;
+    private final IImageFingerprintService imageFingerprintService;
+    private final Executor executor;
+    private final Duration timeout;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 上传完成的图片
+     * @param objectKey COS 对象键
+     * @param url 访问URL
+     * @param contentHash 原始内容指纹
+     * @param reused 是否复用已处理对象（未经审核、压缩）
+     */
+    public record UploadedImage(String objectKey, String url, String contentHash, boolean reused) {
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param cos COS 客户端
+     * @param contentReviewer 内容审核器
+     * @param imageProcessor 图片处理器
+     * @param imageFingerprintService 图片内容指纹服务
+     * @param executor 图片上传线程池
+     * @param timeout 单次上传整体超时时间
+     */
+    public ImageUploadPipeline(COS cos, ContentReviewer contentReviewer, ImageProcessor imageProcessor,
+            IImageFingerprintService imageFingerprintService,
+            @Qualifier("imageUploadExecutor") Executor executor,
+            @Value("${app.upload.pipeline.timeout:60s}") Duration timeout) {
+        this.cos = cos;
+        this.contentReviewer = contentReviewer;
+        this.imageProcessor = imageProcessor;
+        this.imageFingerprintService = imageFingerprintService;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 并行上传、审核并压缩图片，全部成功才返回；失败时已创建的对象均被删除
+     * @param files 已校验的图片文件列表（跳过空文件）
+     * @param prefix 对象键前缀
+     * @return 上传结果，与非空文件顺序一致
+     * @throws AppException 审核不通过（ILLEGAL_PARAMETER）或上传失败、超时（UN_ERROR）
+     */
+    public List<UploadedImage> upload(List<MultipartFile> files, String prefix) {
+        List<MultipartFile> validFiles = files.stream()
+                .filter(file -> file != null && !file.isEmpty())
+                .collect(Collectors.toList());
+        if (validFiles.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        long start = System.nanoTime();
+        UploadRun run = new UploadRun();
+        List<CompletableFuture<UploadedImage>> futures = new ArrayList<>(validFiles.size());
+        for (int i = 0; i < validFiles.size(); i++) {
+            int index = i;
+            MultipartFile file = validFiles.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> process(run, index, file, prefix), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            run.fail(new AppException(ResponseCode.UN_ERROR.getCode(), "文件上传超时"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(new AppException(ResponseCode.UN_ERROR.getCode(), "文件上传被中断"));
+        } catch (ExecutionException e) {
+            // 失败原因已在各图片任务中记录
+        }
+
+        if (run.failure.get() != null || !run.rejections.isEmpty()) {
+            // 仍在执行的任务会在下一阶段前发现失败并自行删除其对象
+            cos.batchDeleteObject(new ArrayList<>(run.createdKeys));
+            log.warn("[ImageUploadPipeline] 上传失败，已清理 {} 个对象，耗时 {} ms", run.createdKeys.size(),
+                    elapsedMillis(start));
+            throw run.toException();
+        }
+
+        List<UploadedImage> uploaded = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        log.info("[ImageUploadPipeline] 已处理 {} 张图片（复用 {} 张），耗时 {} ms，各阶段累计耗时(ms)：{}",
+                uploaded.size(), uploaded.stream().filter(UploadedImage::reused).count(), elapsedMillis(start),
+                run.stageMillis());
+        return uploaded;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 登记新处理完成的图片指纹，并记录URL对应的内容指纹供嵌入缓存复用（应在图片记录落库后调用）
+     * @param images 上传结果
+     */
+    public void registerFingerprints(List<UploadedImage> images) {
+        Map<String, String> contentHashByUrl = new HashMap<>();
+        for (UploadedImage image : images) {
+            if (!image.reused()) {
+                imageFingerprintService.register(image.contentHash(), image.objectKey(), image.url());
+            }
+            contentHashByUrl.put(image.url(), image.contentHash());
+        }
+        imageFingerprintService.rememberUrls(contentHashByUrl);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 仅上传单个文件（不审核、不压缩、不设公共读），供调用方自行处理的临时图片使用
+     * @param file 图片文件
+     * @param prefix 对象键前缀
+     * @return COS 对象键
+     * @throws IOException 读取上传内容失败
+     */
+    public String uploadRaw(MultipartFile file, String prefix) throws IOException {
+        String objectKey = buildObjectKey(file, prefix);
+        uploadFile(file, objectKey);
+        return objectKey;
+    }
+
+    private UploadedImage process(UploadRun run, int index, MultipartFile file, String prefix) {
+        String objectKey = buildObjectKey(file, prefix);
+        try {
+            run.checkActive();
+            String contentHash = run.timed("hash", () -> {
+                // 指纹流式计算，不把上传内容整体读入堆内存
+                try (InputStream input = file.getInputStream()) {
+                    return imageFingerprintService.contentHash(input);
+                }
+            });
+            run.checkActive();
+            run.createdKeys.add(objectKey);
+            boolean reused = run.timed("copy", () -> imageFingerprintService.copyIfKnown(contentHash, objectKey));
+            if (!reused) {
+                run.timed("upload", () -> {
+                    uploadFile(file, objectKey);
+                    return null;
+                });
+                run.checkActive();
+                String message = run.timed("review", () -> contentReviewer.reviewImageKey(objectKey));
+                if (message != null) {
+                    run.rejections.put(index, message);
+                    throw new StageAbortedException();
+                }
+                run.checkActive();
+                run.timed("compress", () -> {
+                    imageProcessor.processimage(objectKey);
+                    return null;
+                });
+            }
+            run.checkActive();
+            run.timed("acl", () -> {
+                cos.setObjectPublicRead(objectKey);
+                return null;
+            });
+            run.checkActive();
+            return new UploadedImage(objectKey, cos.getObjectUrl(objectKey), contentHash, reused);
+        } catch (StageAbortedException e) {
+            deleteQuietly(run, objectKey);
+            throw e;
+        } catch (Exception e) {
+            run.fail(e);
+            deleteQuietly(run, objectKey);
+            throw new StageAbortedException();
+        }
+    }
+
+    private void deleteQuietly(UploadRun run, String objectKey) {
+        if (!run.createdKeys.contains(objectKey)) {
+            return;
+        }
+        try {
+            cos.deleteObject(objectKey);
+        } catch (Exception e) {
+            log.warn("[ImageUploadPipeline] 删除对象失败：{}", objectKey, e);
+        }
+    }
+
+    private void uploadFile(MultipartFile file, String objectKey) throws IOException {
+        // 重新打开上传内容流式写入 COS，不经过临时文件
+        try (InputStream input = file.getInputStream()) {
+            cos.uploadStream(input, file.getSize(), contentTypeOf(objectKey), objectKey);
+        }
+    }
+
+    private static String contentTypeOf(String objectKey) {
+        String extension = objectKey.substring(objectKey.lastIndexOf(".")).toLowerCase(Locale.ROOT);
+        return CONTENT_TYPES.getOrDefault(extension, DEFAULT_CONTENT_TYPE);
+    }
+
+    private String buildObjectKey(MultipartFile file, String prefix) {
+        String originalFilename = file.getOriginalFilename();
+        String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+        return prefix + System.currentTimeMillis() + "_" + UUID.randomUUID() + extension;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @FunctionalInterface
+    private interface Stage<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * 阶段被取消（其他图片失败、超时或本图片审核不通过），原因已记录在 UploadRun 中
+     */
+    private static class StageAbortedException extends RuntimeException {
+        StageAbortedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * 单次上传的共享状态：失败原因、审核不通过信息、已创建对象与各阶段累计耗时
+     */
+    private static class UploadRun {
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private final Map<Integer, String> rejections = new ConcurrentHashMap<>();
+        private final Queue<String> createdKeys = new ConcurrentLinkedQueue<>();
+        private final Map<String, LongAdder> stageNanos = new ConcurrentHashMap<>();
+
+        void fail(Exception e) {
+            failure.compareAndSet(null, e);
+        }
+
+        void checkActive() {
+            if (failure.get() != null || !rejections.isEmpty()) {
+                throw new StageAbortedException();
+            }
+        }
+
+        <T> T timed(String stage, Stage<T> action) throws Exception {
+            long start = System.nanoTime();
+            try {
+                return action.run();
+            } finally {
+                stageNanos.computeIfAbsent(stage, key -> new LongAdder()).add(System.nanoTime() - start);
+            }
+        }
+
+        Map<String, Long> stageMillis() {
+            Map<String, Long> millis = new LinkedHashMap<>();
+            stageNanos.forEach((stage, nanos) -> millis.put(stage, TimeUnit.NANOSECONDS.toMillis(nanos.sum())));
+            return millis;
+        }
+
+        AppException toException() {
+            if (!rejections.isEmpty()) {
+                String message = new TreeMap<>(rejections).entrySet().stream()
+                        .map(entry -> "图片" + (entry.getKey() + 1) + "审核失败: " + entry.getValue())
+                        .collect(Collectors.joining("; "));
+                return new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), message);
+            }
+            Exception e = failure.get();
+            if (e instanceof AppException appException) {
+                return appException;
+            }
+            return new AppException(ResponseCode.UN_ERROR.getCode(), "文件上传失败: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.whut.lostandfoundforwhut.common.utils.lock;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 单飞回源：同一缓存键在本节点同一时间只有一个线程回源（LocalKeyLock），
+ *              跨节点通过 Redis 短租约让其他节点等待首个结果写入缓存，而不是各自重复计算
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+    private final IRedisService redisService;
+    private final Duration leaseTtl;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param redisService Redis 服务
+     * @param leaseTtl 回源租约有效期（持有节点宕机时到期自动释放）
+     * @param waitTimeout 等待其他节点结果的最长时间，超时后本节点自行回源
+     * @param pollInterval 等待期间轮询缓存的间隔
+     */
+    public SingleFlight(IRedisService redisService,
+            @Value("${app.search.single-flight.lease-ttl:10s}") Duration leaseTtl,
+            @Value("${app.search.single-flight.wait-timeout:5s}") Duration waitTimeout,
+            @Value("${app.search.single-flight.poll-interval:50ms}") Duration pollInterval) {
+        this.redisService = redisService;
+        this.leaseTtl = leaseTtl;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 先查缓存，未命中时合并并发回源：本节点按 key 串行，拿到租约的节点执行 loader（loader 负责写缓存），
+     *              其余节点轮询缓存等待结果；等待超时、租约持有者失败或 Redis 不可用时退化为本节点直接回源
+     * @param key 缓存键
+     * @param cacheLookup 缓存读取逻辑，未命中返回 null
+     * @param loader 回源逻辑（需自行写入缓存）
+     * @return 缓存或回源结果
+     * @param <T> 返回类型
+     */
+    public <T> T execute(String key, Supplier<T> cacheLookup, Supplier<T> loader) {
+        T cached = cacheLookup.get();
+        if (cached != null) {
+            return cached;
+        }
+        return LocalKeyLock.withLock(key, () -> {
+            // 排队期间可能已由同节点的前一个线程写入缓存
+            T value = cacheLookup.get();
+            if (value != null) {
+                return value;
+            }
+            return loadWithLease(key, cacheLookup, loader);
+        });
+    }
+
+    private <T> T loadWithLease(String key, Supplier<T> cacheLookup, Supplier<T> loader) {
+        String leaseKey = Constants.RedisKey.SINGLE_FLIGHT_LEASE + key;
+        String token = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            if (tryAcquire(leaseKey, token)) {
+                try {
+                    return loader.get();
+                } finally {
+                    release(leaseKey, token);
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                log.warn("等待其他节点回源超时，本节点直接计算，键：{}", key);
+                return loader.get();
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return loader.get();
+            }
+            T value = cacheLookup.get();
+            if (value != null) {
+                return value;
+            }
+        }
+    }
+
+    private boolean tryAcquire(String leaseKey, String token) {
+        try {
+            return Boolean.TRUE.equals(redisService.setIfAbsent(leaseKey, token, leaseTtl));
+        } catch (Exception e) {
+            // Redis 不可用时仅保留本节点合并
+            log.warn("获取回源租约失败，键：{}", leaseKey, e);
+            return true;
+        }
+    }
+
+    private void release(String leaseKey, String token) {
+        try {
+            if (token.equals(redisService.getValue(leaseKey))) {
+                redisService.remove(leaseKey);
+            }
+        } catch (Exception e) {
+            log.warn("释放回源租约失败，键：{}", leaseKey, e);
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.whut.lostandfoundforwhut.common.utils.page;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.exception.AppException;
 import com.whut.lostandfoundforwhut.model.vo.PageResultVO;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
 /**
  * @author DXR
  * @date 2026/01/30
  * @description 分页工具类
  */
 public class PageUtils {
+    private static final String CURSOR_SEPARATOR = "|";
+
     private PageUtils() {
     }
 
@@ -35,4 +46,71 @@ public class PageUtils {
         result.setRecords(page.getRecords());
         return result;
     }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 将 (created_at, id) 编码为不透明游标
+     * @param createdAt 创建时间
+     * @param id 主键
+     * @return 游标字符串（URL 安全）
+     */
+    public static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 解析游标，空字符串表示从第一页开始
+     * @param cursor 游标字符串
+     * @return 游标位置，首页返回 null
+     */
+    public static KeysetCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(CURSOR_SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "分页游标无效");
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 将多取一条（pageSize + 1）的查询结果转换为游标分页结果，不统计总数（total 为 -1）
+     * @param rows 查询结果（最多 pageSize + 1 条）
+     * @param pageSize 每页大小
+     * @param cursorOf 由末条记录生成下一页游标
+     * @return PageResultVO 统一分页结果，nextCursor 为空表示没有更多数据
+     * @param <T> 数据类型
+     */
+    public static <T> PageResultVO<T> toCursorPageResult(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        List<T> records = rows == null ? new ArrayList<>() : rows;
+        boolean hasNext = records.size() > pageSize;
+        if (hasNext) {
+            records = new ArrayList<>(records.subList(0, pageSize));
+        }
+        PageResultVO<T> result = new PageResultVO<>();
+        result.setPageNo(1);
+        result.setPageSize(pageSize);
+        result.setTotal(-1);
+        result.setRecords(records);
+        result.setNextCursor(hasNext ? cursorOf.apply(records.get(records.size() - 1)) : null);
+        return result;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 游标位置：按 (created_at, id) 倒序翻页
+     */
+    public record KeysetCursor(LocalDateTime createdAt, Long id) {
+    }
 }
@@ -0,0 +1,47 @@
+package com.whut.lostandfoundforwhut.common.utils.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description MySQL 全文检索（ngram 解析器，BOOLEAN MODE）查询串构造工具
+ */
+public class FullTextQueryBuilder {
+    // 与 MySQL 默认 ngram_token_size 保持一致，短于该长度的词无法命中全文索引
+    public static final int MIN_TERM_LENGTH = 2;
+    // BOOLEAN MODE 中具有特殊含义的字符，统一替换为空白
+    private static final String OPERATOR_CHARS = "+-<>()~*\"@'\\";
+
+    private FullTextQueryBuilder() {
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 将用户关键词转换为 BOOLEAN MODE 查询串：去除运算符，按空白拆词，每个词作为必含短语
+     * @param keyword 用户输入关键词
+     * @return 查询串；关键词为空或存在过短的词时返回 null，调用方应回退到 LIKE
+     */
+    public static String toBooleanQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        StringBuilder cleaned = new StringBuilder(keyword.length());
+        for (char c : keyword.toCharArray()) {
+            cleaned.append(OPERATOR_CHARS.indexOf(c) >= 0 ? ' ' : c);
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : cleaned.toString().trim().split("\\s+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (term.codePointCount(0, term.length()) < MIN_TERM_LENGTH) {
+                return null;
+            }
+            terms.add("+\"" + term + "\"");
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+}
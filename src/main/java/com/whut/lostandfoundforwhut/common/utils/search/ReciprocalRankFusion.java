@@ -0,0 +1,104 @@
+package com.whut.lostandfoundforwhut.common.utils.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 倒数排名融合（RRF）：score(d) = Σ 1 / (k + rank_i(d))，只依赖各路名次，不需要对不同检索的分数做归一化
+ */
+public class ReciprocalRankFusion {
+    // 论文与主流实现的常用取值，k 越大头部名次的优势越小
+    public static final int DEFAULT_K = 60;
+
+    private ReciprocalRankFusion() {
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 融合多路排名结果，得分降序；同分时最好名次靠前者优先，再按首次出现顺序
+     * @param k 平滑常数（大于 0）
+     * @param rankings 各路排名结果（按相关度降序，重复ID只计首次出现）
+     * @return 融合结果
+     */
+    public static <T> List<FusedHit<T>> fuse(int k, List<List<T>> rankings) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("RRF 平滑常数必须大于 0");
+        }
+        Map<T, FusedHit<T>> hits = new LinkedHashMap<>();
+        for (int leg = 0; leg < rankings.size(); leg++) {
+            List<T> ranking = rankings.get(leg);
+            if (ranking == null) {
+                continue;
+            }
+            int rank = 0;
+            for (T id : ranking) {
+                rank++;
+                FusedHit<T> hit = hits.computeIfAbsent(id, key -> new FusedHit<>(key, rankings.size()));
+                if (hit.ranks[leg] == 0) {
+                    hit.ranks[leg] = rank;
+                    hit.score += 1.0 / (k + rank);
+                }
+            }
+        }
+        List<FusedHit<T>> fused = new ArrayList<>(hits.values());
+        // List.sort 为稳定排序，得分与最好名次都相同时保留首次出现顺序
+        fused.sort(Comparator.comparingDouble((FusedHit<T> hit) -> hit.score).reversed()
+                .thenComparingInt(FusedHit::bestRank));
+        return fused;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 融合结果：ID、RRF 得分与在各路中的名次（从 1 开始，未命中为 null）
+     */
+    public static final class FusedHit<T> {
+        private final T id;
+        private final int[] ranks;
+        private double score;
+
+        private FusedHit(T id, int legs) {
+            this.id = id;
+            this.ranks = new int[legs];
+        }
+
+        public T getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        /**
+         * @param leg 第几路（与传入顺序一致）
+         * @return 该路名次，未命中为 null
+         */
+        public Integer getRank(int leg) {
+            return ranks[leg] == 0 ? null : ranks[leg];
+        }
+
+        /**
+         * @return 各路名次（未命中为 null）
+         */
+        public List<Integer> getRanks() {
+            List<Integer> list = new ArrayList<>(ranks.length);
+            for (int rank : ranks) {
+                list.add(rank == 0 ? null : rank);
+            }
+            return Collections.unmodifiableList(list);
+        }
+
+        private int bestRank() {
+            return Arrays.stream(ranks).filter(rank -> rank > 0).min().orElse(Integer.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.whut.lostandfoundforwhut.common.utils.ai.RemoteModelClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description ChromaDB REST 客户端（/api/v1）：批量 upsert、按 ID 查询/删除与计数，
+ * 补充 ChromaEmbeddingStore 未提供的原生批量接口；集合 UUID 按名称缓存
+ */
+@Slf4j
+@Component
+public class ChromaClient {
+    private final RemoteModelClient remoteModelClient;
+    private final String baseUrl;
+    private final Map<String, String> collectionIds = new ConcurrentHashMap<>();
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param remoteModelClient 共享远程调用客户端
+     * @param chromaUrl Chroma 服务地址
+     */
+    public ChromaClient(RemoteModelClient remoteModelClient,
+            @Value("${app.vector-store.chroma-url:http://localhost:8000}") String chromaUrl) {
+        this.remoteModelClient = remoteModelClient;
+        this.baseUrl = chromaUrl.endsWith("/") ? chromaUrl.substring(0, chromaUrl.length() - 1) : chromaUrl;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 批量写入或覆盖向量（单次请求）
+     * @param collection 集合名称
+     * @param ids 向量ID列表
+     * @param embeddings 向量列表，与 ids 一一对应
+     * @param metadatas 元数据列表，与 ids 一一对应
+     */
+    public void upsert(String collection, List<String> ids, List<float[]> embeddings,
+            List<VectorMetadata> metadatas) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (ids.size() != embeddings.size() || ids.size() != metadatas.size()) {
+            throw new IllegalArgumentException("向量ID与向量、元数据数量不一致");
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("ids", ids);
+        body.put("embeddings", embeddings);
+        body.put("metadatas", metadatas.stream().map(VectorMetadata::toMap).toList());
+        post(collection, "upsert", body);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 按 ID 查询集合中已存在的向量ID（不返回向量本身）
+     * @param collection 集合名称
+     * @param ids 待检查的向量ID
+     * @return 已存在的向量ID
+     */
+    public Set<String> getExistingIds(String collection, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("ids", ids);
+        body.put("include", List.of());
+        JsonNode root = post(collection, "get", body);
+        Set<String> existing = new LinkedHashSet<>();
+        root.path("ids").forEach(node -> existing.add(node.asText()));
+        return existing;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 最近邻查询，返回按相似度降序的结果（集合使用余弦距离，相似度 = 1 - 距离）
+     * @param collection 集合名称
+     * @param embedding 查询向量
+     * @param topK 返回条数
+     * @param filter 元数据过滤条件（可空），作为 where 在 Chroma 内先过滤再检索
+     * @return 匹配结果
+     */
+    public List<VectorMatch> query(String collection, float[] embedding, int topK, VectorFilter filter) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("query_embeddings", List.of(embedding));
+        body.put("n_results", topK);
+        if (filter != null) {
+            body.put("where", filter.toChromaWhere());
+        }
+        body.put("include", List.of("distances"));
+        JsonNode root = post(collection, "query", body);
+        JsonNode ids = root.path("ids").path(0);
+        JsonNode distances = root.path("distances").path(0);
+        List<VectorMatch> matches = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            matches.add(new VectorMatch(ids.get(i).asText(), 1.0 - distances.path(i).asDouble(1.0)));
+        }
+        return matches;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 按 ID 批量删除向量（单次请求，不存在的ID忽略）
+     * @param collection 集合名称
+     * @param ids 向量ID列表
+     */
+    public void delete(String collection, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        post(collection, "delete", Map.of("ids", ids));
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 统计集合条目数
+     * @param collection 集合名称
+     * @return 条目数
+     */
+    public int count(String collection) {
+        String url = baseUrl + "/api/v1/collections/" + collectionId(collection) + "/count";
+        HttpRequest request = remoteModelClient.newRequest(url).GET().build();
+        return send(collection, request).asInt();
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 创建集合（已存在则直接返回），与 ChromaEmbeddingStore 一致使用余弦距离
+     * @param collection 集合名称
+     * @return 集合 UUID
+     */
+    public String createCollection(String collection) {
+        try {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("name", collection);
+            body.put("metadata", Map.of("hnsw:space", "cosine"));
+            body.put("get_or_create", true);
+            HttpRequest request = remoteModelClient.newRequest(baseUrl + "/api/v1/collections")
+                    .header("Content-Type", "application/json")
+                    .POST(remoteModelClient.jsonBody(body))
+                    .build();
+            String id = send(collection, request).path("id").asText(null);
+            if (id == null) {
+                throw new IllegalStateException("Chroma 集合创建失败：" + collection);
+            }
+            collectionIds.put(collection, id);
+            return id;
+        } catch (IOException e) {
+            throw new IllegalStateException("Chroma 请求序列化失败：create", e);
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 删除整个集合
+     * @param collection 集合名称
+     */
+    public void deleteCollection(String collection) {
+        String url = baseUrl + "/api/v1/collections/" + encode(collection);
+        HttpRequest request = remoteModelClient.newRequest(url).DELETE().build();
+        try {
+            send(collection, request);
+        } finally {
+            collectionIds.remove(collection);
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 获取集合 UUID（首次按名称查询后缓存）
+     * @param collection 集合名称
+     * @return 集合 UUID
+     */
+    public String collectionId(String collection) {
+        return collectionIds.computeIfAbsent(collection, name -> {
+            HttpRequest request = remoteModelClient.newRequest(baseUrl + "/api/v1/collections/" + encode(name))
+                    .GET()
+                    .build();
+            String id = send(name, request).path("id").asText(null);
+            if (id == null) {
+                throw new IllegalStateException("Chroma 集合不存在：" + name);
+            }
+            return id;
+        });
+    }
+
+    private JsonNode post(String collection, String action, Object body) {
+        try {
+            String url = baseUrl + "/api/v1/collections/" + collectionId(collection) + "/" + action;
+            HttpRequest request = remoteModelClient.newRequest(url)
+                    .header("Content-Type", "application/json")
+                    .POST(remoteModelClient.jsonBody(body))
+                    .build();
+            return send(collection, request);
+        } catch (IOException e) {
+            throw new IllegalStateException("Chroma 请求序列化失败：" + action, e);
+        }
+    }
+
+    private JsonNode send(String collection, HttpRequest request) {
+        HttpResponse<byte[]> response;
+        try {
+            response = remoteModelClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Chroma 请求失败：" + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chroma 请求被中断：" + request.uri(), e);
+        }
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            // 集合可能已被删除重建，清除缓存的 UUID 以便下次重新解析
+            collectionIds.remove(collection);
+            throw new IllegalStateException("Chroma 请求失败，状态码：" + status + "，响应："
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        try {
+            return remoteModelClient.getObjectMapper().readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Chroma 响应解析失败：" + request.uri(), e);
+        }
+    }
+
+    private String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
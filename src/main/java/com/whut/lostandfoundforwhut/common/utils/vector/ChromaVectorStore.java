@@ -0,0 +1,65 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 基于 ChromaDB 的向量存储（默认实现）
+ */
+@Component
+@ConditionalOnProperty(name = "app.vector-store.type", havingValue = "chroma", matchIfMissing = true)
+public class ChromaVectorStore implements VectorStore {
+    private final ChromaClient chromaClient;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param chromaClient Chroma REST 客户端
+     */
+    public ChromaVectorStore(ChromaClient chromaClient) {
+        this.chromaClient = chromaClient;
+    }
+
+    @Override
+    public void createCollection(String collection) {
+        chromaClient.createCollection(collection);
+    }
+
+    @Override
+    public void deleteCollection(String collection) {
+        chromaClient.deleteCollection(collection);
+    }
+
+    @Override
+    public void upsert(String collection, List<String> ids, List<float[]> embeddings,
+            List<VectorMetadata> metadatas) {
+        chromaClient.upsert(collection, ids, embeddings, metadatas);
+    }
+
+    @Override
+    public void delete(String collection, Collection<String> ids) {
+        chromaClient.delete(collection, ids);
+    }
+
+    @Override
+    public Set<String> getExistingIds(String collection, Collection<String> ids) {
+        return chromaClient.getExistingIds(collection, ids);
+    }
+
+    @Override
+    public int count(String collection) {
+        return chromaClient.count(collection);
+    }
+
+    @Override
+    public List<VectorMatch> query(String collection, float[] embedding, int topK, VectorFilter filter) {
+        return chromaClient.query(collection, embedding, topK, filter);
+    }
+}
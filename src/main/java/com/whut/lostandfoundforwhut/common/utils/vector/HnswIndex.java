@@ -0,0 +1,721 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 进程内 HNSW 近似最近邻索引（余弦相似度）。
+ *              向量归一化后存放于内存映射文件，图结构常驻堆内；持久化采用"快照 + 追加日志"：
+ *              每次写入先追加日志，累计一定条数后落快照并截断日志，启动时加载快照再回放日志。
+ *              覆盖写入与删除以墓碑标记旧节点（仍参与图导航、不出现在结果中）；落快照时墓碑占比达到阈值则
+ *              在相邻的新目录中只用有效节点重建索引，再替换原目录，回收墓碑占用的内存与磁盘。
+ *              每个节点附带物品元数据，过滤查询时不满足条件的节点同样只参与导航，结果集中只保留满足条件的节点。
+ */
+@Slf4j
+class HnswIndex implements Closeable {
+    static final String VECTOR_FILE = "vectors.f32";
+    static final String SNAPSHOT_FILE = "graph.snapshot";
+    static final String LOG_FILE = "append.log";
+    /** 压缩时重建索引的目录后缀，以及替换期间旧目录的后缀（集合名不允许出现 ~，不会与其他集合冲突） */
+    static final String COMPACT_SUFFIX = "~compact";
+    static final String RETIRED_SUFFIX = "~retired";
+
+    private static final int SNAPSHOT_MAGIC = 0x484E5357;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final byte OP_UPSERT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int MAX_LEVEL = 16;
+
+    private final Path directory;
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int snapshotEvery;
+    private final double compactRatio;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private MappedVectorStorage vectors;
+    /** 节点 -> 向量ID（含墓碑节点） */
+    private final List<String> nodeIds = new ArrayList<>();
+    /** 节点 -> 各层邻居，每层数组首位为邻居数量 */
+    private final List<int[][]> links = new ArrayList<>();
+    /** 节点 -> 元数据 */
+    private final List<VectorMetadata> nodeMetadata = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    /** 向量ID -> 当前有效节点 */
+    private final Map<String, Integer> liveNodes = new HashMap<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private DataOutputStream appendLog;
+    private int logRecords;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 打开索引目录：清理中断的压缩、加载快照、回放追加日志，存在回放记录时立即落一次快照
+     * @param directory 索引目录
+     * @param dimension 向量维度
+     * @param m 每层邻居数上限（第 0 层为 2m）
+     * @param efConstruction 建图时的候选集大小
+     * @param efSearch 查询时的候选集大小
+     * @param snapshotEvery 累计多少条日志后落快照
+     * @param compactRatio 落快照时墓碑节点占比达到该值即压缩重建
+     */
+    HnswIndex(Path directory, int dimension, int m, int efConstruction, int efSearch, int snapshotEvery,
+            double compactRatio) throws IOException {
+        this.directory = directory;
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.snapshotEvery = snapshotEvery;
+        this.compactRatio = compactRatio;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        recoverCompaction(directory);
+        Files.createDirectories(directory);
+        this.vectors = new MappedVectorStorage(directory.resolve(VECTOR_FILE), dimension);
+        loadSnapshot();
+        int replayed = replayLog();
+        if (replayed > 0) {
+            log.info("HNSW 索引日志回放完成，目录：{}，记录数：{}", directory, replayed);
+            snapshot();
+        } else {
+            // 无有效记录（含仅有残缺尾记录）时直接截断，避免新记录追加在残缺数据之后
+            openLog();
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 批量写入或覆盖向量
+     * @param ids 向量ID列表
+     * @param embeddings 向量列表
+     * @param metadatas 元数据列表
+     */
+    void upsert(List<String> ids, List<float[]> embeddings, List<VectorMetadata> metadatas) throws IOException {
+        if (ids.size() != embeddings.size() || ids.size() != metadatas.size()) {
+            throw new IllegalArgumentException("向量ID与向量、元数据数量不一致");
+        }
+        for (float[] embedding : embeddings) {
+            if (embedding.length != dimension) {
+                throw new IllegalArgumentException("向量维度不匹配：期望 " + dimension + "，实际 " + embedding.length);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                float[] embedding = embeddings.get(i);
+                appendLog.writeByte(OP_UPSERT);
+                appendLog.writeUTF(ids.get(i));
+                for (float value : embedding) {
+                    appendLog.writeFloat(value);
+                }
+                writeMetadata(appendLog, metadatas.get(i));
+                insert(ids.get(i), embedding, metadatas.get(i));
+            }
+            afterWrite(ids.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 批量删除向量（不存在的ID忽略）
+     * @param ids 向量ID列表
+     */
+    void remove(Collection<String> ids) throws IOException {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (String id : ids) {
+                if (liveNodes.containsKey(id)) {
+                    appendLog.writeByte(OP_DELETE);
+                    appendLog.writeUTF(id);
+                    delete(id);
+                    removed++;
+                }
+            }
+            afterWrite(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 返回给定ID中已存在的向量ID
+     * @param ids 待检查的向量ID
+     * @return 已存在的向量ID
+     */
+    Set<String> existing(Collection<String> ids) {
+        lock.readLock().lock();
+        try {
+            Set<String> result = new HashSet<>();
+            for (String id : ids) {
+                if (liveNodes.containsKey(id)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 有效向量数量
+     * @return 数量
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveNodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 近似最近邻查询
+     * @param query 查询向量
+     * @param topK 返回条数
+     * @param filter 元数据过滤条件（可空）
+     * @return 按相似度降序的结果
+     */
+    List<VectorMatch> search(float[] query, int topK, Predicate<VectorMetadata> filter) {
+        if (query.length != dimension) {
+            throw new IllegalArgumentException("向量维度不匹配：期望 " + dimension + "，实际 " + query.length);
+        }
+        float[] normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || topK <= 0) {
+                return List.of();
+            }
+            IntPredicate accept = filter == null
+                    ? node -> !deleted.get(node)
+                    : node -> !deleted.get(node) && filter.test(nodeMetadata.get(node));
+            Candidate nearest = greedyDescend(normalized, entryPoint, maxLevel, 0);
+            PriorityQueue<Candidate> found = searchLayer(normalized, nearest, Math.max(efSearch, topK), 0, accept);
+            List<Candidate> ordered = new ArrayList<>(found);
+            ordered.sort(Comparator.comparingDouble(Candidate::distance));
+            List<VectorMatch> matches = new ArrayList<>(Math.min(topK, ordered.size()));
+            for (int i = 0; i < ordered.size() && i < topK; i++) {
+                Candidate candidate = ordered.get(i);
+                matches.add(new VectorMatch(nodeIds.get(candidate.node()), 1.0 - candidate.distance()));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 落快照：先刷向量文件，再原子替换图快照，最后截断追加日志；墓碑占比达到阈值时改为压缩重建
+     */
+    void snapshot() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (needsCompaction()) {
+                compact();
+                return;
+            }
+            vectors.force();
+            Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(dimension);
+                out.writeInt(nodeIds.size());
+                out.writeInt(entryPoint);
+                out.writeInt(maxLevel);
+                for (int node = 0; node < nodeIds.size(); node++) {
+                    out.writeUTF(nodeIds.get(node));
+                    out.writeBoolean(deleted.get(node));
+                    writeMetadata(out, nodeMetadata.get(node));
+                    int[][] levels = links.get(node);
+                    out.writeByte(levels.length);
+                    for (int[] neighbors : levels) {
+                        out.writeInt(neighbors[0]);
+                        for (int i = 1; i <= neighbors[0]; i++) {
+                            out.writeInt(neighbors[i]);
+                        }
+                    }
+                }
+            }
+            Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            openLog();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 墓碑节点数量（含被覆盖的旧版本与已删除节点）
+     * @return 数量
+     */
+    int tombstones() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (logRecords > 0) {
+                snapshot();
+            }
+            appendLog.close();
+            vectors.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean needsCompaction() {
+        int tombstones = deleted.cardinality();
+        return tombstones > 0 && tombstones >= nodeIds.size() * compactRatio;
+    }
+
+    /**
+     * 在相邻的新目录中按原节点顺序只插入有效节点并落快照，再以目录替换的方式生效并重新加载（调用方持有写锁）。
+     * 重建期间读写均被阻塞；任一步骤中断时旧目录保持完整，下次打开时由 recoverCompaction 清理
+     */
+    private void compact() throws IOException {
+        Path fresh = sibling(directory, COMPACT_SUFFIX);
+        Path retired = sibling(directory, RETIRED_SUFFIX);
+        deleteRecursively(fresh);
+        int before = nodeIds.size();
+        try (HnswIndex rebuilt = new HnswIndex(fresh, dimension, m, efConstruction, efSearch, Integer.MAX_VALUE,
+                compactRatio)) {
+            for (int node = 0; node < before; node++) {
+                if (!deleted.get(node)) {
+                    rebuilt.insert(nodeIds.get(node), vectors.read(node), nodeMetadata.get(node));
+                }
+            }
+            rebuilt.snapshot();
+        }
+
+        appendLog.close();
+        appendLog = null;
+        vectors.close();
+        Files.move(directory, retired, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(fresh, directory, StandardCopyOption.ATOMIC_MOVE);
+        deleteRecursively(retired);
+
+        vectors = new MappedVectorStorage(directory.resolve(VECTOR_FILE), dimension);
+        nodeIds.clear();
+        links.clear();
+        nodeMetadata.clear();
+        deleted.clear();
+        liveNodes.clear();
+        entryPoint = -1;
+        maxLevel = -1;
+        loadSnapshot();
+        openLog();
+        log.info("HNSW 索引压缩完成，目录：{}，节点数：{} -> {}", directory, before, nodeIds.size());
+    }
+
+    /**
+     * 压缩替换目录中途中断时：原目录已移走则旧目录仍完整，移回即可；残留的重建目录与旧目录直接删除
+     */
+    private static void recoverCompaction(Path directory) throws IOException {
+        Path retired = sibling(directory, RETIRED_SUFFIX);
+        if (!Files.exists(directory) && Files.exists(retired)) {
+            log.warn("HNSW 索引压缩未完成，恢复压缩前的目录：{}", directory);
+            Files.move(retired, directory, StandardCopyOption.ATOMIC_MOVE);
+        }
+        deleteRecursively(sibling(directory, COMPACT_SUFFIX));
+        deleteRecursively(retired);
+    }
+
+    private static Path sibling(Path directory, String suffix) {
+        return directory.resolveSibling(directory.getFileName() + suffix);
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void afterWrite(int records) throws IOException {
+        appendLog.flush();
+        logRecords += records;
+        if (logRecords >= snapshotEvery) {
+            snapshot();
+        }
+    }
+
+    private void insert(String id, float[] embedding, VectorMetadata metadata) throws IOException {
+        float[] vector = normalize(embedding);
+        Integer previous = liveNodes.get(id);
+        if (previous != null) {
+            deleted.set(previous);
+        }
+        int node = nodeIds.size();
+        vectors.write(node, vector);
+        int level = randomLevel();
+        int[][] nodeLinks = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            nodeLinks[l] = new int[(l == 0 ? maxM0 : m) + 1];
+        }
+        nodeIds.add(id);
+        links.add(nodeLinks);
+        nodeMetadata.add(metadata);
+        liveNodes.put(id, node);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        Candidate nearest = greedyDescend(vector, entryPoint, maxLevel, level);
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<Candidate> found = searchLayer(vector, nearest, efConstruction, l, any -> true);
+            List<Candidate> neighbors = selectNeighbors(found, m);
+            int[] own = nodeLinks[l];
+            for (Candidate neighbor : neighbors) {
+                own[++own[0]] = neighbor.node();
+                connect(neighbor.node(), node, l);
+            }
+            for (Candidate candidate : found) {
+                if (candidate.distance() < nearest.distance()) {
+                    nearest = candidate;
+                }
+            }
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    private void delete(String id) {
+        Integer node = liveNodes.remove(id);
+        if (node != null) {
+            deleted.set(node);
+        }
+    }
+
+    /**
+     * 自 fromLevel 逐层贪心下降到 toLevel（不含）层，返回 toLevel 层的入口
+     */
+    private Candidate greedyDescend(float[] vector, int start, int fromLevel, int toLevel) {
+        int current = start;
+        float currentDistance = distance(current, vector);
+        for (int l = fromLevel; l > toLevel; l--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int[] neighbors = links.get(current)[l];
+                for (int i = 1; i <= neighbors[0]; i++) {
+                    float d = distance(neighbors[i], vector);
+                    if (d < currentDistance) {
+                        current = neighbors[i];
+                        currentDistance = d;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return new Candidate(current, currentDistance);
+    }
+
+    /**
+     * 在指定层做 ef 宽度的最佳优先搜索，返回按距离降序出队的结果堆。
+     * 所有节点都参与扩展，只有 accept 通过的节点进入结果集；结果集未满 ef 时持续扩展，
+     * 因此过滤条件越严格，遍历的节点越多（极端情况下退化为全图遍历，但不会漏掉满足条件的近邻）
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] vector, Candidate entry, int ef, int level,
+            IntPredicate accept) {
+        BitSet visited = new BitSet(nodeIds.size());
+        visited.set(entry.node());
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        PriorityQueue<Candidate> results = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::distance).reversed());
+        candidates.add(entry);
+        if (accept.test(entry.node())) {
+            results.add(entry);
+        }
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (results.size() >= ef && current.distance() > results.peek().distance()) {
+                break;
+            }
+            int[] neighbors = links.get(current.node())[level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                int neighbor = neighbors[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float d = distance(neighbor, vector);
+                if (results.size() < ef || d < results.peek().distance()) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    candidates.add(candidate);
+                    if (accept.test(neighbor)) {
+                        results.add(candidate);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 启发式选邻：候选按距离升序，仅保留比已选邻居更靠近目标的候选，使邻居分布在不同方向上
+     */
+    private List<Candidate> selectNeighbors(Collection<Candidate> candidates, int limit) {
+        List<Candidate> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparingDouble(Candidate::distance));
+        List<Candidate> selected = new ArrayList<>(limit);
+        List<float[]> selectedVectors = new ArrayList<>(limit);
+        for (Candidate candidate : ordered) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            boolean diverse = true;
+            for (float[] chosen : selectedVectors) {
+                if (distance(candidate.node(), chosen) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+                selectedVectors.add(vectors.read(candidate.node()));
+            }
+        }
+        return selected;
+    }
+
+    private void connect(int target, int newNode, int level) {
+        int[] neighbors = links.get(target)[level];
+        int capacity = neighbors.length - 1;
+        if (neighbors[0] < capacity) {
+            neighbors[++neighbors[0]] = newNode;
+            return;
+        }
+        // 邻居已满：连同新节点重新选邻
+        float[] targetVector = vectors.read(target);
+        List<Candidate> candidates = new ArrayList<>(capacity + 1);
+        for (int i = 1; i <= neighbors[0]; i++) {
+            candidates.add(new Candidate(neighbors[i], distance(neighbors[i], targetVector)));
+        }
+        candidates.add(new Candidate(newNode, distance(newNode, targetVector)));
+        List<Candidate> kept = selectNeighbors(candidates, capacity);
+        neighbors[0] = kept.size();
+        for (int i = 0; i < kept.size(); i++) {
+            neighbors[i + 1] = kept.get(i).node();
+        }
+    }
+
+    private float distance(int node, float[] vector) {
+        return 1f - vectors.dot(node, vector);
+    }
+
+    private int randomLevel() {
+        double level = -Math.log(1.0 - random.nextDouble()) * levelMultiplier;
+        return (int) Math.min(level, MAX_LEVEL);
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] normalized = vector.clone();
+        if (norm > 0) {
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < normalized.length; i++) {
+                normalized[i] *= scale;
+            }
+        }
+        return normalized;
+    }
+
+    private void loadSnapshot() throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("HNSW 快照格式不支持：" + file);
+            }
+            int storedDimension = in.readInt();
+            if (storedDimension != dimension) {
+                throw new IOException("HNSW 快照维度不匹配：期望 " + dimension + "，实际 " + storedDimension);
+            }
+            int count = in.readInt();
+            entryPoint = in.readInt();
+            maxLevel = in.readInt();
+            for (int node = 0; node < count; node++) {
+                String id = in.readUTF();
+                boolean tombstone = in.readBoolean();
+                VectorMetadata metadata = readMetadata(in);
+                int levelCount = in.readUnsignedByte();
+                int[][] nodeLinks = new int[levelCount][];
+                for (int l = 0; l < levelCount; l++) {
+                    int size = in.readInt();
+                    int[] neighbors = new int[Math.max(size, l == 0 ? maxM0 : m) + 1];
+                    neighbors[0] = size;
+                    for (int i = 1; i <= size; i++) {
+                        neighbors[i] = in.readInt();
+                    }
+                    nodeLinks[l] = neighbors;
+                }
+                nodeIds.add(id);
+                links.add(nodeLinks);
+                nodeMetadata.add(metadata);
+                if (tombstone) {
+                    deleted.set(node);
+                } else {
+                    liveNodes.put(id, node);
+                }
+            }
+        }
+    }
+
+    private int replayLog() throws IOException {
+        Path file = directory.resolve(LOG_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int op;
+            while ((op = in.read()) != -1) {
+                try {
+                    String id = in.readUTF();
+                    if (op == OP_UPSERT) {
+                        float[] embedding = new float[dimension];
+                        for (int i = 0; i < dimension; i++) {
+                            embedding[i] = in.readFloat();
+                        }
+                        insert(id, embedding, readMetadata(in));
+                    } else if (op == OP_DELETE) {
+                        delete(id);
+                    } else {
+                        log.warn("HNSW 追加日志记录类型未知，停止回放，目录：{}，类型：{}", directory, op);
+                        break;
+                    }
+                    replayed++;
+                } catch (EOFException e) {
+                    // 进程中断时末尾记录可能未写完，丢弃即可
+                    log.warn("HNSW 追加日志末尾记录不完整，已丢弃，目录：{}", directory);
+                    break;
+                }
+            }
+        }
+        return replayed;
+    }
+
+    private void openLog() throws IOException {
+        if (appendLog != null) {
+            appendLog.close();
+        }
+        appendLog = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)));
+        logRecords = 0;
+    }
+
+    private static void writeMetadata(DataOutputStream out, VectorMetadata metadata) throws IOException {
+        out.writeBoolean(metadata != null);
+        if (metadata == null) {
+            return;
+        }
+        writeNullable(out, metadata.type() == null ? null : metadata.type().longValue());
+        writeNullable(out, metadata.status() == null ? null : metadata.status().longValue());
+        writeNullable(out, metadata.createdAt());
+        writeNullable(out, metadata.isDeleted() == null ? null : metadata.isDeleted().longValue());
+    }
+
+    private static VectorMetadata readMetadata(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        Long type = readNullable(in);
+        Long status = readNullable(in);
+        Long createdAt = readNullable(in);
+        Long isDeleted = readNullable(in);
+        return new VectorMetadata(type == null ? null : type.intValue(), status == null ? null : status.intValue(),
+                createdAt, isDeleted == null ? null : isDeleted.intValue());
+    }
+
+    private static void writeNullable(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private record Candidate(int node, float distance) {
+    }
+}
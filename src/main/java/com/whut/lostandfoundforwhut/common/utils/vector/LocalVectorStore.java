@@ -0,0 +1,245 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 进程内向量存储：每个集合对应本地目录下的一个 HNSW 索引，适用于单实例部署或无 ChromaDB 的环境。
+ *              集合别名与索引发件箱都是多实例共享的，而本地索引只在本进程内可见，
+ *              因此启动时在 Redis 中占用实例租约，已有其他实例使用本地存储时拒绝启动
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.vector-store.type", havingValue = "local")
+public class LocalVectorStore implements VectorStore {
+    private static final Pattern COLLECTION_NAME = Pattern.compile("[A-Za-z0-9_.-]+");
+
+    private final Map<String, HnswIndex> indexes = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final IRedisService redisService;
+    private final Path basePath;
+    private final int dimension;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int snapshotEvery;
+    private final double compactRatio;
+    private final Duration instanceLease;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param redisService Redis 服务，用于单实例租约
+     * @param basePath 索引根目录
+     * @param dimension 向量维度
+     * @param m HNSW 每层邻居数
+     * @param efConstruction 建图候选集大小
+     * @param efSearch 查询候选集大小
+     * @param snapshotEvery 累计多少条日志后落快照
+     * @param compactRatio 墓碑节点占比达到该值时压缩重建
+     * @param instanceLease 单实例租约时长（由定时任务续期，实例宕机后过期）
+     */
+    public LocalVectorStore(IRedisService redisService,
+            @Value("${app.vector-store.local.path:./data/vector-index}") String basePath,
+            @Value("${app.vector-store.local.dimension:1024}") int dimension,
+            @Value("${app.vector-store.local.m:16}") int m,
+            @Value("${app.vector-store.local.ef-construction:200}") int efConstruction,
+            @Value("${app.vector-store.local.ef-search:100}") int efSearch,
+            @Value("${app.vector-store.local.snapshot-every:1000}") int snapshotEvery,
+            @Value("${app.vector-store.local.compact-ratio:0.3}") double compactRatio,
+            @Value("${app.vector-store.local.instance-lease:30s}") Duration instanceLease) {
+        this.redisService = redisService;
+        this.basePath = Paths.get(basePath).toAbsolutePath();
+        this.dimension = dimension;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.snapshotEvery = snapshotEvery;
+        this.compactRatio = compactRatio;
+        this.instanceLease = instanceLease;
+        log.info("使用进程内 HNSW 向量存储，目录：{}，维度：{}", this.basePath, dimension);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 启动时占用单实例租约；租约被其他实例持有时等待一个租约周期（兼容宕机后立即重启），仍未释放则拒绝启动
+     */
+    @PostConstruct
+    public void acquireInstanceLease() {
+        long deadline = System.currentTimeMillis() + instanceLease.toMillis();
+        while (!tryAcquireInstanceLease()) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("检测到其他实例正在使用本地向量存储（app.vector-store.type=local 仅支持单实例部署），"
+                        + "多实例部署请改用 chroma");
+            }
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("等待本地向量存储实例租约时被中断", e);
+            }
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 续期单实例租约；租约已被其他实例占用说明出现了多实例同时使用本地存储
+     */
+    public void renewInstanceLease() {
+        if (nodeId.equals(redisService.getValue(Constants.RedisKey.VECTOR_LOCAL_STORE_OWNER))) {
+            redisService.expire(Constants.RedisKey.VECTOR_LOCAL_STORE_OWNER, instanceLease);
+        } else if (!tryAcquireInstanceLease()) {
+            log.error("本地向量存储实例租约被其他实例占用，多个实例的本地索引将互相不一致，请改用 chroma 或只保留一个实例");
+        }
+    }
+
+    @Override
+    public void createCollection(String collection) {
+        index(collection);
+    }
+
+    @Override
+    public void deleteCollection(String collection) {
+        Path directory = directoryOf(collection);
+        synchronized (indexes) {
+            HnswIndex index = indexes.remove(collection);
+            try {
+                if (index != null) {
+                    index.close();
+                }
+                if (Files.exists(directory)) {
+                    try (Stream<Path> files = Files.walk(directory)) {
+                        for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                            Files.delete(file);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("本地向量集合删除失败：" + collection, e);
+            }
+        }
+    }
+
+    @Override
+    public void upsert(String collection, List<String> ids, List<float[]> embeddings,
+            List<VectorMetadata> metadatas) {
+        try {
+            index(collection).upsert(ids, embeddings, metadatas);
+        } catch (IOException e) {
+            throw new UncheckedIOException("本地向量写入失败：" + collection, e);
+        }
+    }
+
+    @Override
+    public void delete(String collection, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            index(collection).remove(ids);
+        } catch (IOException e) {
+            throw new UncheckedIOException("本地向量删除失败：" + collection, e);
+        }
+    }
+
+    @Override
+    public Set<String> getExistingIds(String collection, Collection<String> ids) {
+        return index(collection).existing(ids);
+    }
+
+    @Override
+    public int count(String collection) {
+        return index(collection).size();
+    }
+
+    @Override
+    public List<VectorMatch> query(String collection, float[] embedding, int topK, VectorFilter filter) {
+        return index(collection).search(embedding, topK, filter == null ? null : filter::matches);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 应用关闭时落快照并释放文件
+     */
+    @PreDestroy
+    public void close() {
+        releaseInstanceLease();
+        synchronized (indexes) {
+            indexes.forEach((collection, index) -> {
+                try {
+                    index.close();
+                } catch (IOException e) {
+                    log.error("本地向量索引关闭失败，集合：{}", collection, e);
+                }
+            });
+            indexes.clear();
+        }
+    }
+
+    private boolean tryAcquireInstanceLease() {
+        return Boolean.TRUE.equals(redisService.setIfAbsent(Constants.RedisKey.VECTOR_LOCAL_STORE_OWNER, nodeId,
+                instanceLease));
+    }
+
+    private void releaseInstanceLease() {
+        try {
+            if (nodeId.equals(redisService.getValue(Constants.RedisKey.VECTOR_LOCAL_STORE_OWNER))) {
+                redisService.remove(Constants.RedisKey.VECTOR_LOCAL_STORE_OWNER);
+            }
+        } catch (Exception e) {
+            log.warn("释放本地向量存储实例租约失败，将在租约到期后自动释放", e);
+        }
+    }
+
+    private HnswIndex index(String collection) {
+        HnswIndex index = indexes.get(collection);
+        if (index != null) {
+            return index;
+        }
+        synchronized (indexes) {
+            return indexes.computeIfAbsent(collection, name -> {
+                try {
+                    return new HnswIndex(directoryOf(name), dimension, m, efConstruction, efSearch, snapshotEvery,
+                            compactRatio);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("本地向量索引打开失败：" + name, e);
+                }
+            });
+        }
+    }
+
+    private Path directoryOf(String collection) {
+        if (collection == null || !COLLECTION_NAME.matcher(collection).matches()) {
+            throw new IllegalArgumentException("向量集合名称非法：" + collection);
+        }
+        return basePath.resolve(collection);
+    }
+}
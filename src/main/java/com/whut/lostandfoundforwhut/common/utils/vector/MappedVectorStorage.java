@@ -0,0 +1,117 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 内存映射的定长 float32 向量文件：按槽位存放，分块映射按需扩容，向量数据不占用 JVM 堆
+ */
+class MappedVectorStorage implements Closeable {
+    private static final long CHUNK_BYTES = 64L * 1024 * 1024;
+
+    private final int dimension;
+    private final int slotsPerChunk;
+    private final long chunkBytes;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> mapped = new ArrayList<>();
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 打开（或创建）向量文件，并映射文件中已有的分块
+     * @param file 向量文件路径
+     * @param dimension 向量维度
+     */
+    MappedVectorStorage(Path file, int dimension) throws IOException {
+        this.dimension = dimension;
+        this.slotsPerChunk = (int) Math.max(1, CHUNK_BYTES / (dimension * (long) Float.BYTES));
+        this.chunkBytes = (long) slotsPerChunk * dimension * Float.BYTES;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long existingChunks = (channel.size() + chunkBytes - 1) / chunkBytes;
+        for (int i = 0; i < existingChunks; i++) {
+            mapChunk();
+        }
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 写入指定槽位的向量，容量不足时扩展文件映射
+     * @param slot 槽位
+     * @param vector 向量
+     */
+    void write(int slot, float[] vector) throws IOException {
+        int chunk = slot / slotsPerChunk;
+        while (chunks.size() <= chunk) {
+            mapChunk();
+        }
+        chunks.get(chunk).put((slot % slotsPerChunk) * dimension, vector, 0, dimension);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 计算指定槽位向量与查询向量的点积
+     * @param slot 槽位
+     * @param query 查询向量
+     * @return 点积
+     */
+    float dot(int slot, float[] query) {
+        FloatBuffer buffer = chunks.get(slot / slotsPerChunk);
+        int offset = (slot % slotsPerChunk) * dimension;
+        float sum = 0f;
+        for (int i = 0; i < dimension; i++) {
+            sum += buffer.get(offset + i) * query[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 读取指定槽位的向量
+     * @param slot 槽位
+     * @return 向量副本
+     */
+    float[] read(int slot) {
+        float[] vector = new float[dimension];
+        chunks.get(slot / slotsPerChunk).get((slot % slotsPerChunk) * dimension, vector, 0, dimension);
+        return vector;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 将映射内容刷入磁盘
+     */
+    void force() {
+        for (MappedByteBuffer buffer : mapped) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void mapChunk() throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, mapped.size() * chunkBytes, chunkBytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        mapped.add(buffer);
+        chunks.add(buffer.asFloatBuffer());
+    }
+}
@@ -0,0 +1,164 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
+import com.whut.lostandfoundforwhut.common.utils.cache.CacheInvalidationBus;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量集合别名：Chroma 不支持集合别名，以 Redis 中的集合名称作为别名，
+ * 切换时写一次 Redis 并广播，各实例收到后切换读写的集合；重建期间记录影子集合用于双写。
+ * 广播可能丢失，读取时本地值超过刷新间隔即从 Redis 重新加载，任一实例最迟在一个刷新间隔后看到最新别名
+ */
+@Slf4j
+@Component
+public class VectorCollectionAlias {
+    private final IRedisService redisService;
+    private final CacheInvalidationBus invalidationBus;
+    private final String defaultCollection;
+    private final Duration refreshInterval;
+    private final List<Consumer<String>> activeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile String activeCollection;
+    private volatile String dualWriteCollection;
+    private volatile long loadedAt;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数，从 Redis 加载当前别名并订阅切换事件
+     * @param redisService Redis 服务
+     * @param invalidationBus 跨实例广播总线
+     * @param defaultCollection 未设置别名时使用的集合名称
+     * @param refreshInterval 本地别名的最长复用时间（兜底广播丢失）
+     */
+    public VectorCollectionAlias(IRedisService redisService, CacheInvalidationBus invalidationBus,
+            @Value("${app.vector-store.collection-name:item_image_vector}") String defaultCollection,
+            @Value("${app.vector-store.alias-refresh:5s}") Duration refreshInterval) {
+        this.redisService = redisService;
+        this.invalidationBus = invalidationBus;
+        this.defaultCollection = defaultCollection;
+        this.refreshInterval = refreshInterval;
+        this.activeCollection = defaultCollection;
+        reload();
+        invalidationBus.subscribe(CacheEventType.VECTOR_COLLECTION_CHANGED, event -> reload());
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 当前读写的集合名称
+     * @return 集合名称
+     */
+    public String active() {
+        refreshIfStale();
+        return activeCollection;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 需要同步双写的影子集合（未在重建时为 null）
+     * @return 集合名称
+     */
+    public String dualWriteTarget() {
+        refreshIfStale();
+        String target = dualWriteCollection;
+        return target == null || target.equals(activeCollection) ? null : target;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 别名刷新间隔：切换后最迟经过该时长所有实例都会读写新集合
+     * @return 刷新间隔
+     */
+    public Duration refreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 注册生效集合变化的回调（参数为新集合名称）
+     * @param listener 回调
+     */
+    public void onActiveChanged(Consumer<String> listener) {
+        activeListeners.add(listener);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 开始向影子集合双写
+     * @param target 影子集合名称
+     */
+    public void startDualWrite(String target) {
+        redisService.setValue(Constants.RedisKey.VECTOR_REINDEX_TARGET, target);
+        reloadAndBroadcast();
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 停止双写
+     */
+    public void stopDualWrite() {
+        redisService.remove(Constants.RedisKey.VECTOR_REINDEX_TARGET);
+        reloadAndBroadcast();
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 原子切换别名到新集合（单个 Redis SET），并结束双写
+     * @param target 新集合名称
+     */
+    public void switchTo(String target) {
+        redisService.setValue(Constants.RedisKey.VECTOR_ACTIVE_COLLECTION, target);
+        redisService.remove(Constants.RedisKey.VECTOR_REINDEX_TARGET);
+        reloadAndBroadcast();
+        log.info("向量集合别名已切换，当前集合：{}", target);
+    }
+
+    private void reloadAndBroadcast() {
+        reload();
+        invalidationBus.publishNow(CacheEventType.VECTOR_COLLECTION_CHANGED, null, null);
+    }
+
+    private void refreshIfStale() {
+        if (System.currentTimeMillis() - loadedAt >= refreshInterval.toMillis()) {
+            reload();
+        }
+    }
+
+    private synchronized void reload() {
+        try {
+            Object active = redisService.getValue(Constants.RedisKey.VECTOR_ACTIVE_COLLECTION);
+            Object target = redisService.getValue(Constants.RedisKey.VECTOR_REINDEX_TARGET);
+            String previous = activeCollection;
+            activeCollection = active instanceof String name && !name.isBlank() ? name : defaultCollection;
+            dualWriteCollection = target instanceof String name && !name.isBlank() ? name : null;
+            loadedAt = System.currentTimeMillis();
+            if (!Objects.equals(previous, activeCollection)) {
+                log.info("向量集合已切换：{} -> {}", previous, activeCollection);
+                activeListeners.forEach(listener -> listener.accept(activeCollection));
+            }
+        } catch (Exception e) {
+            // 同样推迟下次刷新，避免 Redis 故障时每次读写都重试
+            loadedAt = System.currentTimeMillis();
+            log.warn("加载向量集合别名失败，继续使用：{}", activeCollection, e);
+        }
+    }
+}
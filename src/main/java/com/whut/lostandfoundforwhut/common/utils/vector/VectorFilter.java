@@ -0,0 +1,95 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 下推到向量库的元数据过滤条件（各字段为空表示不限），非空时总是附带 is_deleted = 0
+ * @param type 物品类型
+ * @param status 物品状态
+ * @param createdFrom 创建时间下限（epoch 秒，含）
+ * @param createdTo 创建时间上限（epoch 秒，含）
+ */
+public record VectorFilter(Integer type, Integer status, Long createdFrom, Long createdTo) {
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 由筛选参数构造过滤条件，全部为空时返回 null（不过滤）
+     * @param type 物品类型
+     * @param status 物品状态
+     * @param startTime 创建时间下限
+     * @param endTime 创建时间上限
+     * @return 过滤条件或 null
+     */
+    public static VectorFilter of(Integer type, Integer status, LocalDateTime startTime, LocalDateTime endTime) {
+        if (type == null && status == null && startTime == null && endTime == null) {
+            return null;
+        }
+        return new VectorFilter(type, status, VectorMetadata.toEpochSecond(startTime),
+                VectorMetadata.toEpochSecond(endTime));
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 判断元数据是否满足条件（缺少元数据的旧向量视为不满足）
+     * @param metadata 向量元数据
+     * @return 是否满足
+     */
+    public boolean matches(VectorMetadata metadata) {
+        if (metadata == null || !Objects.equals(metadata.isDeleted(), 0)) {
+            return false;
+        }
+        if (type != null && !type.equals(metadata.type())) {
+            return false;
+        }
+        if (status != null && !status.equals(metadata.status())) {
+            return false;
+        }
+        if (createdFrom != null && (metadata.createdAt() == null || metadata.createdAt() < createdFrom)) {
+            return false;
+        }
+        return createdTo == null || (metadata.createdAt() != null && metadata.createdAt() <= createdTo);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 转换为 Chroma where 表达式（多个条件以 $and 组合）
+     * @return where 表达式
+     */
+    public Map<String, Object> toChromaWhere() {
+        List<Map<String, Object>> clauses = new ArrayList<>();
+        clauses.add(Map.of(VectorMetadata.IS_DELETED, Map.of("$eq", 0)));
+        if (type != null) {
+            clauses.add(Map.of(VectorMetadata.TYPE, Map.of("$eq", type)));
+        }
+        if (status != null) {
+            clauses.add(Map.of(VectorMetadata.STATUS, Map.of("$eq", status)));
+        }
+        if (createdFrom != null) {
+            clauses.add(Map.of(VectorMetadata.CREATED_AT, Map.of("$gte", createdFrom)));
+        }
+        if (createdTo != null) {
+            clauses.add(Map.of(VectorMetadata.CREATED_AT, Map.of("$lte", createdTo)));
+        }
+        return clauses.size() == 1 ? clauses.get(0) : Map.of("$and", clauses);
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 用于缓存键的规范化表示
+     * @return 条件字符串
+     */
+    public String cacheKey() {
+        return "t=" + Objects.toString(type, "") + "&s=" + Objects.toString(status, "")
+                + "&from=" + Objects.toString(createdFrom, "") + "&to=" + Objects.toString(createdTo, "");
+    }
+}
@@ -0,0 +1,42 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量库中物品向量ID的编码（item_{物品ID}）
+ */
+public final class VectorIds {
+    public static final String ITEM_PREFIX = "item_";
+
+    private VectorIds() {
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 物品ID转向量ID
+     * @param itemId 物品ID
+     * @return 向量ID
+     */
+    public static String ofItem(Long itemId) {
+        return ITEM_PREFIX + itemId;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 向量ID转物品ID，格式不符时返回 null
+     * @param vectorId 向量ID
+     * @return 物品ID
+     */
+    public static Long toItemId(String vectorId) {
+        if (vectorId == null || !vectorId.startsWith(ITEM_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(vectorId.substring(ITEM_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
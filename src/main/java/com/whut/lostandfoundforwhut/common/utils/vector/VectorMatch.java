@@ -0,0 +1,11 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量检索命中结果
+ * @param id 向量ID
+ * @param score 余弦相似度（越大越相似）
+ */
+public record VectorMatch(String id, double score) {
+}
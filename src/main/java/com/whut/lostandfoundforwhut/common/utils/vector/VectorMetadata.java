@@ -0,0 +1,63 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import com.whut.lostandfoundforwhut.model.entity.Item;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 与向量一同存储的物品元数据，用于在向量库内按类型、状态、发布时间过滤
+ * @param type 物品类型
+ * @param status 物品状态
+ * @param createdAt 创建时间（epoch 秒）
+ * @param isDeleted 是否删除（0-否，1-是）
+ */
+public record VectorMetadata(Integer type, Integer status, Long createdAt, Integer isDeleted) {
+    public static final String TYPE = "type";
+    public static final String STATUS = "status";
+    public static final String CREATED_AT = "created_at";
+    public static final String IS_DELETED = "is_deleted";
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 从物品实体提取元数据
+     * @param item 物品实体
+     * @return 元数据
+     */
+    public static VectorMetadata of(Item item) {
+        return new VectorMetadata(item.getType(), item.getStatus(), toEpochSecond(item.getCreatedAt()),
+                item.getIsDeleted() == null ? 0 : item.getIsDeleted());
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 转换为 Chroma metadata（忽略空值）
+     * @return 元数据键值
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (type != null) {
+            map.put(TYPE, type);
+        }
+        if (status != null) {
+            map.put(STATUS, status);
+        }
+        if (createdAt != null) {
+            map.put(CREATED_AT, createdAt);
+        }
+        if (isDeleted != null) {
+            map.put(IS_DELETED, isDeleted);
+        }
+        return map;
+    }
+
+    static Long toEpochSecond(LocalDateTime time) {
+        return time == null ? null : time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -0,0 +1,73 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量存储后端抽象，由 app.vector-store.type 选择实现（chroma / local）
+ */
+public interface VectorStore {
+
+    /**
+     * 创建集合（已存在则忽略）
+     *
+     * @param collection 集合名称
+     */
+    void createCollection(String collection);
+
+    /**
+     * 删除集合
+     *
+     * @param collection 集合名称
+     */
+    void deleteCollection(String collection);
+
+    /**
+     * 批量写入或覆盖向量
+     *
+     * @param collection 集合名称
+     * @param ids        向量ID列表
+     * @param embeddings 向量列表，与 ids 一一对应
+     * @param metadatas  元数据列表，与 ids 一一对应
+     */
+    void upsert(String collection, List<String> ids, List<float[]> embeddings, List<VectorMetadata> metadatas);
+
+    /**
+     * 按 ID 批量删除向量（不存在的ID忽略）
+     *
+     * @param collection 集合名称
+     * @param ids        向量ID列表
+     */
+    void delete(String collection, Collection<String> ids);
+
+    /**
+     * 按 ID 查询已存在的向量ID
+     *
+     * @param collection 集合名称
+     * @param ids        待检查的向量ID
+     * @return 已存在的向量ID
+     */
+    Set<String> getExistingIds(String collection, Collection<String> ids);
+
+    /**
+     * 统计集合条目数
+     *
+     * @param collection 集合名称
+     * @return 条目数
+     */
+    int count(String collection);
+
+    /**
+     * 最近邻查询
+     *
+     * @param collection 集合名称
+     * @param embedding  查询向量
+     * @param topK       返回条数
+     * @param filter     元数据过滤条件（可空），在存储内部先过滤再取前 topK
+     * @return 按相似度降序的匹配结果
+     */
+    List<VectorMatch> query(String collection, float[] embedding, int topK, VectorFilter filter);
+}
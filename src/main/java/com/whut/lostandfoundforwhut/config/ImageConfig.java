@@ -1,11 +1,15 @@
 package com.whut.lostandfoundforwhut.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 public class ImageConfig implements WebMvcConfigurer {
 
@@ -26,6 +30,26 @@ public class ImageConfig implements WebMvcConfigurer {
                 .addResourceLocations(location);
     }
 
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 图片上传流水线线程池，多张图片的上传、审核、压缩并行执行；队列满时由调用线程执行以形成背压
+     * @param threads 线程数
+     * @return 线程池
+     */
+    @Bean(name = "imageUploadExecutor")
+    public ThreadPoolTaskExecutor imageUploadExecutor(
+            @Value("${app.upload.pipeline.threads:16}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 8);
+        executor.setThreadNamePrefix("image-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
     private String normalizeLocalImageLocation(String location) {
         String resolved = StringUtils.hasText(location) ? location.trim() : "file:/";
         if (!resolved.startsWith("file:")) {
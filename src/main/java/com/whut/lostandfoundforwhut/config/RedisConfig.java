@@ -6,8 +6,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * @author DXR
@@ -34,15 +39,76 @@ public class RedisConfig {
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
 
-        // Value 使用 JSON 序列化，显式注册 JSR310（LocalDateTime 等），避免写入 Redis 时报错
+        GenericJackson2JsonRedisSerializer jsonSerializer = jsonValueSerializer();
+        template.setValueSerializer(jsonSerializer);
+        template.setHashValueSerializer(jsonSerializer);
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构建 Value 的 JSON 序列化器：显式注册 JSR310（LocalDateTime 等），避免写入 Redis 时报错；
+     *              不写入类型信息，读取到的对象为 Map，调用方需自行转换为目标类型
+     * @return JSON 序列化器
+     */
+    public static GenericJackson2JsonRedisSerializer jsonValueSerializer() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.findAndRegisterModules();
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
 
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构建二进制值 RedisTemplate，用于向量等紧凑二进制数据
+     * @param connectionFactory Redis 连接工厂
+     * @return RedisTemplate 实例
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> binaryRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构建 Redis 消息监听容器，用于订阅跨实例缓存失效广播
+     * @param connectionFactory Redis 连接工厂
+     * @return 消息监听容器
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description Redis 维护任务（批量清理等）专用线程池，与业务线程隔离
+     * @return 线程池
+     */
+    @Bean(name = "redisMaintenanceExecutor")
+    public ThreadPoolTaskExecutor redisMaintenanceExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("redis-maint-");
+        // 队列满时退化为调用方同步清理，不丢弃失效任务
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,100 @@
+package com.whut.lostandfoundforwhut.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 远程模型调用（向量嵌入、向量库 REST）及检索相关线程池配置
+ */
+@Configuration
+public class RemoteModelConfig {
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 远程模型 HTTP 客户端专用线程池，避免占用公共 ForkJoinPool。
+     *              HttpClient 在选择器线程上向该线程池提交响应处理任务，任务绝不能回到调用线程执行，
+     *              因此使用固定线程数 + 无界队列且不配置拒绝策略；排队长度由 RemoteModelClient 的在途请求信号量限制
+     * @param threads 线程数
+     * @return 线程池
+     */
+    @Bean(name = "remoteModelExecutor")
+    public ThreadPoolTaskExecutor remoteModelExecutor(
+            @Value("${app.ai.http.executor.threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("remote-model-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 向量索引任务线程池，限制同时进行的嵌入生成与向量写入数量
+     * @param parallelism 并发度
+     * @param batchSize 单批领取任务数（作为队列容量）
+     * @return 线程池
+     */
+    @Bean(name = "vectorIndexExecutor")
+    public ThreadPoolTaskExecutor vectorIndexExecutor(
+            @Value("${app.vector-index.parallelism:4}") int parallelism,
+            @Value("${app.vector-index.batch-size:32}") int batchSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(batchSize);
+        executor.setThreadNamePrefix("vector-index-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 向量全量重建的嵌入线程池，与在线索引任务隔离，避免重建挤占日常同步
+     * @param parallelism 并发度
+     * @return 线程池
+     */
+    @Bean(name = "vectorReindexExecutor")
+    public ThreadPoolTaskExecutor vectorReindexExecutor(
+            @Value("${app.vector-reindex.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 4);
+        executor.setThreadNamePrefix("vector-reindex-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 混合检索线程池，全文与向量两路并行执行，总耗时取决于较慢的一路
+     * @param threads 线程数
+     * @return 线程池
+     */
+    @Bean(name = "hybridSearchExecutor")
+    public ThreadPoolTaskExecutor hybridSearchExecutor(
+            @Value("${app.search.hybrid.threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 16);
+        executor.setThreadNamePrefix("hybrid-search-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
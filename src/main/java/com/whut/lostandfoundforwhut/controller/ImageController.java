@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 @RestController
 @RequestMapping("/api/images")
 public class ImageController {
+    private static final int MAX_BATCH_URL_SIZE = 200;
 
     @Autowired
     private IImageService imageService;
@@ -73,6 +74,25 @@ public class ImageController {
         }
     }
 
+    /**
+     * 批量查询图片的URL
+     * @param ids 图片ID列表（单次最多 200 个）
+     * @return 图片的URL列表，与输入顺序一致，不存在的图片对应 null
+     */
+    @PostMapping("/urls")
+    public Result<List<String>> getImageUrls(@RequestBody List<Long> ids) {
+        try {
+            if (ids != null && ids.size() > MAX_BATCH_URL_SIZE) {
+                throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "单次最多查询" + MAX_BATCH_URL_SIZE + "张图片");
+            }
+            return Result.success(imageService.getUrlsByIds(ids));
+        } catch (AppException e) {
+            return Result.fail(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            return Result.fail(ResponseCode.UN_ERROR.getCode(), "查询失败: "+e.getMessage());
+        }
+    }
+
     /**
      * 根据物品ID查询图片的ID列表
      * @param id 物品ID
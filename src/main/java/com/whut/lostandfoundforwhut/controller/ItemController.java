@@ -1,9 +1,11 @@
 package com.whut.lostandfoundforwhut.controller;
 
 import com.whut.lostandfoundforwhut.common.result.Result;
+import com.whut.lostandfoundforwhut.model.dto.HybridSearchDTO;
 import com.whut.lostandfoundforwhut.model.dto.ItemDTO;
 import com.whut.lostandfoundforwhut.model.dto.ItemFilterDTO;
 import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.model.vo.HybridSearchHitVO;
 import com.whut.lostandfoundforwhut.model.vo.ItemDetailVO;
 import com.whut.lostandfoundforwhut.model.vo.PageResultVO;
 import com.whut.lostandfoundforwhut.service.IImageService;
@@ -125,16 +127,31 @@ public class ItemController {
         }
     }
 
+    @PostMapping("/hybrid-search")
+    @Operation(summary = "混合检索物品", description = "全文检索与向量检索并行执行，按倒数排名融合（RRF）排序后分页，返回融合得分与各路名次")
+    public Result<PageResultVO<HybridSearchHitVO>> hybridSearch(@RequestBody HybridSearchDTO hybridSearchDTO) {
+        try {
+            return Result.success(itemService.hybridSearch(hybridSearchDTO));
+        } catch (AppException e) {
+            log.warn("混合检索时发生业务异常：{}，错误码：{}", e.getMessage(), e.getCode());
+            return Result.fail(e.getCode(), e.getInfo());
+        } catch (Exception e) {
+            log.error("混合检索时发生未知异常", e);
+            return Result.fail(ResponseCode.UN_ERROR.getCode(), "混合检索失败：" + e.getMessage());
+        }
+    }
+
     @GetMapping("/me")
     @Operation(summary = "查询我的物品", description = "查询当前登录用户发布的物品，支持按类型、关键词筛选与分页")
     public Result<PageResultVO<Item>> listMyItems(
             @Parameter(description = "页码，从1开始") @RequestParam(defaultValue = "1") Integer pageNo,
             @Parameter(description = "每页数量，最大100") @RequestParam(defaultValue = "20") Integer pageSize,
             @Parameter(description = "物品类型：0-挂失，1-招领，2-卡证") @RequestParam(required = false) Integer type,
-            @Parameter(description = "关键词（匹配描述和地点）") @RequestParam(required = false) String keyword) {
+            @Parameter(description = "关键词（匹配描述和地点）") @RequestParam(required = false) String keyword,
+            @Parameter(description = "游标（传入即按游标分页，首页传空字符串，后续传上一页返回的 nextCursor）") @RequestParam(required = false) String cursor) {
         try {
             Long userId = userService.getCurrentUserId();
-            PageResultVO<Item> result = itemService.listMyItems(userId, pageNo, pageSize, type, keyword);
+            PageResultVO<Item> result = itemService.listMyItems(userId, pageNo, pageSize, type, keyword, cursor);
             return Result.success(result);
         } catch (AppException e) {
             return Result.fail(e.getCode(), e.getInfo());
@@ -193,9 +210,10 @@ public class ItemController {
     public Result<List<Item>> searchSimilarItems(
             @Parameter(description = "查询文本", required = false) @RequestParam(required = false) String query,
             @Parameter(description = "返回结果数量", required = false, example = "5") @RequestParam(defaultValue = "5") int maxResults,
-            @Parameter(description = "图片ID", required = false) @RequestParam(required = false) List<Long> imageIds) {
+            @Parameter(description = "图片ID", required = false) @RequestParam(required = false) List<Long> imageIds,
+            @Parameter(description = "最低相似度（余弦相似度，不传使用默认阈值）", required = false, example = "0.3") @RequestParam(required = false) Double minScore) {
         try {
-            List<Item> results = itemService.searchSimilarItems(query, imageIds, maxResults);
+            List<Item> results = itemService.searchSimilarItems(query, imageIds, maxResults, minScore);
             log.info("搜索相似物品完成，查询：{}，返回结果数量：{}", query, results.size());
             return Result.success(results);
         } catch (Exception e) {
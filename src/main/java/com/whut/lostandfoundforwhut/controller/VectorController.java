@@ -1,17 +1,25 @@
 package com.whut.lostandfoundforwhut.controller;
 
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.exception.AppException;
 import com.whut.lostandfoundforwhut.common.result.Result;
+import com.whut.lostandfoundforwhut.common.utils.cache.EmbeddingCache;
 
+import com.whut.lostandfoundforwhut.model.vo.VectorReindexStatusVO;
+import com.whut.lostandfoundforwhut.service.IVectorReindexService;
 import com.whut.lostandfoundforwhut.service.IVectorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 向量数据库控制器
@@ -27,6 +35,18 @@ import java.util.List;
 public class VectorController {
 
     private final IVectorService vectorService;
+    private final IVectorReindexService vectorReindexService;
+    private final EmbeddingCache embeddingCache;
+
+    // 重建/取消重建需携带的运维令牌，未配置时接口关闭
+    @Value("${app.vector-reindex.operator-token:}")
+    private String operatorToken;
+
+    @GetMapping("/embedding-cache/stats")
+    @Operation(summary = "向量嵌入缓存统计", description = "获取向量嵌入缓存的容量与各级命中率")
+    public Result<Map<String, Object>> getEmbeddingCacheStats() {
+        return Result.success(embeddingCache.stats());
+    }
 
     @DeleteMapping("/delete/{id}")
     @Operation(summary = "删除向量数据", description = "从向量数据库中删除指定ID的物品")
@@ -67,4 +87,42 @@ public class VectorController {
             return Result.fail(ResponseCode.UN_ERROR.getCode(), "清空集合失败：" + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/reindex")
+    @Operation(summary = "重建向量库", description = "从数据库全量重建向量集合，完成后原子切换；resume=true 时从上次中断处继续")
+    public Result<VectorReindexStatusVO> startReindex(
+            @Parameter(description = "运维令牌") @RequestHeader(value = "X-Operator-Token", required = false) String token,
+            @Parameter(description = "是否断点续跑") @RequestParam(defaultValue = "false") boolean resume) {
+        checkOperatorToken(token);
+        return Result.success(vectorReindexService.start(resume));
+    }
+
+    @GetMapping("/reindex/status")
+    @Operation(summary = "向量库重建进度", description = "获取重建进度、吞吐与失败数")
+    public Result<VectorReindexStatusVO> getReindexStatus() {
+        return Result.success(vectorReindexService.getStatus());
+    }
+
+    @PostMapping("/reindex/cancel")
+    @Operation(summary = "取消向量库重建", description = "取消本实例正在执行的重建并丢弃影子集合")
+    public Result<Void> cancelReindex(
+            @Parameter(description = "运维令牌") @RequestHeader(value = "X-Operator-Token", required = false) String token) {
+        checkOperatorToken(token);
+        vectorReindexService.cancel();
+        return Result.success(null);
+    }
+
+    /**
+     * 校验运维令牌（恒定时间比较）
+     * @param token 请求头中的令牌
+     */
+    private void checkOperatorToken(String token) {
+        if (operatorToken == null || operatorToken.isBlank()) {
+            throw new AppException(ResponseCode.NO_PERMISSION.getCode(), "未配置运维令牌，向量库重建接口已关闭");
+        }
+        if (token == null || !MessageDigest.isEqual(operatorToken.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            throw new AppException(ResponseCode.NO_PERMISSION.getCode(), "运维令牌无效");
+        }
+    }
+}
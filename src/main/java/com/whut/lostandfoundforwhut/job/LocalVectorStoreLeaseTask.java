@@ -0,0 +1,33 @@
+package com.whut.lostandfoundforwhut.job;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.whut.lostandfoundforwhut.common.utils.vector.LocalVectorStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 本地向量存储单实例租约续期任务
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.vector-store.type", havingValue = "local")
+public class LocalVectorStoreLeaseTask {
+
+    @Autowired
+    private LocalVectorStore localVectorStore;
+
+    @Scheduled(fixedDelayString = "${app.vector-store.local.instance-heartbeat:10s}")
+    public void executeLeaseRenewal() {
+        try {
+            localVectorStore.renewInstanceLease();
+        } catch (Exception e) {
+            log.error("[LocalVectorStoreLeaseTask] 续期本地向量存储实例租约失败", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.whut.lostandfoundforwhut.job;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.whut.lostandfoundforwhut.service.IVectorIndexService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量索引发件箱轮询任务：把物品变更异步同步到向量库
+ */
+@Component
+@Slf4j
+public class VectorIndexTask {
+
+    @Autowired
+    private IVectorIndexService vectorIndexService;
+
+    @Value("${app.vector-index.batch-size:32}")
+    private int batchSize;
+
+    @Value("${app.vector-index.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${app.vector-index.poll-interval:1s}")
+    public void executeVectorIndex() {
+        try {
+            // 积压时连续处理多批，但限制单次轮询批数，避免长期占用调度线程
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (vectorIndexService.processPendingBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("[VectorIndexTask] 处理向量索引任务失败", e);
+        }
+    }
+}
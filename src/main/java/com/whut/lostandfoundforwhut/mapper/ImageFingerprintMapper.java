@@ -0,0 +1,12 @@
+package com.whut.lostandfoundforwhut.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.whut.lostandfoundforwhut.model.entity.ImageFingerprint;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片内容指纹 Mapper
+ */
+public interface ImageFingerprintMapper extends BaseMapper<ImageFingerprint> {
+}
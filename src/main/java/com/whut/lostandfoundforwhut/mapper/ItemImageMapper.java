@@ -1,6 +1,7 @@
 package com.whut.lostandfoundforwhut.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.whut.lostandfoundforwhut.model.dto.ItemImageUrlDTO;
 import com.whut.lostandfoundforwhut.model.entity.Image;
 import com.whut.lostandfoundforwhut.model.entity.ItemImage;
 
@@ -29,6 +30,14 @@ public interface ItemImageMapper extends BaseMapper<ItemImage> {
      */
     List<String> getImageUrlsByItemId(Long itemId);
 
+    /**
+     * 批量获取物品图片URL（按物品、图片ID排序）
+     * 
+     * @param itemIds 物品ID列表
+     * @return 物品-图片URL映射列表
+     */
+    List<ItemImageUrlDTO> selectUrlsByItemIds(List<Long> itemIds);
+
     /**
      * 根据物品ID获取图片ID列表
      * 
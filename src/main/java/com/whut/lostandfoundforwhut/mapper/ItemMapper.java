@@ -1,7 +1,13 @@
 package com.whut.lostandfoundforwhut.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.whut.lostandfoundforwhut.model.entity.Item;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * @author DXR
@@ -9,4 +15,37 @@ import com.whut.lostandfoundforwhut.model.entity.Item;
  * @description 物品 Mapper 接口
  */
 public interface ItemMapper extends BaseMapper<Item> {
+
+    /**
+     * 按全文检索相关度分页查询
+     *
+     * @param page         分页参数
+     * @param wrapper      查询条件（不含排序，需包含逻辑删除条件）
+     * @param booleanQuery BOOLEAN MODE 查询串
+     * @return 分页结果
+     */
+    IPage<Item> selectPageByRelevance(IPage<Item> page, @Param(Constants.WRAPPER) Wrapper<Item> wrapper,
+            @Param("booleanQuery") String booleanQuery);
+
+    /**
+     * 按全文检索相关度取前 limit 个物品ID
+     *
+     * @param wrapper      查询条件（不含排序，需包含逻辑删除条件）
+     * @param booleanQuery BOOLEAN MODE 查询串
+     * @param limit        返回条数
+     * @return 按相关度降序的物品ID
+     */
+    List<Long> selectIdsByRelevance(@Param(Constants.WRAPPER) Wrapper<Item> wrapper,
+            @Param("booleanQuery") String booleanQuery, @Param("limit") int limit);
+
+    /**
+     * 更新物品向量索引状态
+     *
+     * @param itemId         物品ID
+     * @param indexStatus    索引状态
+     * @param requireDrained 是否要求该物品已无未完成的发件箱任务
+     * @return 更新条数
+     */
+    int updateIndexStatus(@Param("itemId") Long itemId, @Param("indexStatus") Integer indexStatus,
+            @Param("requireDrained") boolean requireDrained);
 }
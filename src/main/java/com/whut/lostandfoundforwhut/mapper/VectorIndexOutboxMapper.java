@@ -0,0 +1,57 @@
+package com.whut.lostandfoundforwhut.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.whut.lostandfoundforwhut.model.entity.VectorIndexOutbox;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量索引发件箱 Mapper
+ */
+public interface VectorIndexOutboxMapper extends BaseMapper<VectorIndexOutbox> {
+    /**
+     * 领取一批到期任务：待处理且已到重试时间，或处理中但租约已过期（领取者宕机）；
+     * 其他领取者持有有效租约的物品不领取，同一物品同一时刻只由一个实例同步
+     *
+     * @param owner        本次领取标识
+     * @param leaseSeconds 租约时长（秒）
+     * @param limit        最多领取条数
+     * @return 领取条数
+     */
+    int claimBatch(@Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds,
+            @Param("limit") int limit);
+
+    /**
+     * 查询本次领取到的任务
+     *
+     * @param owner 领取标识
+     * @return 任务列表（按ID升序）
+     */
+    List<VectorIndexOutbox> selectClaimed(@Param("owner") String owner);
+
+    /**
+     * 删除本次领取且已处理完成的任务
+     *
+     * @param ids   任务ID列表
+     * @param owner 领取标识（租约已被他人接管的任务不删除）
+     * @return 删除条数
+     */
+    int deleteClaimed(@Param("ids") List<Long> ids, @Param("owner") String owner);
+
+    /**
+     * 处理失败后释放租约并设置下次重试时间或终止状态
+     *
+     * @param ids           任务ID列表
+     * @param owner         领取标识
+     * @param status        新状态
+     * @param delaySeconds  距下次可处理的秒数（以数据库时间为准）
+     * @param lastError     失败原因
+     * @return 更新条数
+     */
+    int releaseFailed(@Param("ids") List<Long> ids, @Param("owner") String owner, @Param("status") Integer status,
+            @Param("delaySeconds") long delaySeconds, @Param("lastError") String lastError);
+}
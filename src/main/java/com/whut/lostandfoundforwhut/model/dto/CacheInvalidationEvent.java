@@ -0,0 +1,29 @@
+package com.whut.lostandfoundforwhut.model.dto;
+
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 缓存失效事件，通过 Redis Pub/Sub 在各实例间广播
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent implements Serializable {
+    /** 事件类型 */
+    private CacheEventType type;
+    /** 目标ID（物品ID/用户ID），为空表示整类失效 */
+    private Long targetId;
+    /** 版本号（可选，如搜索索引代数） */
+    private Long version;
+    /** 发布实例ID */
+    private String originNodeId;
+    /** 发布时间戳（毫秒） */
+    private long timestamp;
+}
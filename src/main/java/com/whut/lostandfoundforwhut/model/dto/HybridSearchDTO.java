@@ -0,0 +1,29 @@
+package com.whut.lostandfoundforwhut.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 混合检索（全文 + 向量）请求参数
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HybridSearchDTO {
+    // 查询文本（同时用于全文检索与向量检索）
+    private String query;
+    // 搜索图片ID列表（仅参与向量检索）
+    private List<Long> imageIds;
+
+    private Integer type; // 0-挂失，1-招领，2-卡证
+    private Integer status;
+
+    // 分页参数（对融合后的结果分页）
+    private Integer pageNo = 1;
+    private Integer pageSize = 10;
+}
@@ -21,6 +21,8 @@ public class ItemFilterDTO {
     // 分页参数
     private Integer pageNo = 1;
     private Integer pageSize = 10;
+    // 游标分页：非空时按 (created_at, id) 游标翻页且不统计总数，空字符串表示首页
+    private String cursor;
 
     // 原有过滤参数
     private Integer type; // 0-挂失，1-招领，2-卡证
@@ -39,5 +41,8 @@ public class ItemFilterDTO {
     // 关键词筛选（匹配描述和地点）
     private String keyword;
 
+    // 关键词命中时按相关度排序（游标分页模式下不生效）
+    private Boolean sortByRelevance = false;
+
     private SearchDTO searchDTO;
 }
@@ -0,0 +1,14 @@
+package com.whut.lostandfoundforwhut.model.dto;
+
+import lombok.Data;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 物品图片URL映射DTO
+ */
+@Data
+public class ItemImageUrlDTO {
+    private Long itemId;
+    private String url;
+}
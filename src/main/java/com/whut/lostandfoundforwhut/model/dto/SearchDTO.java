@@ -20,9 +20,16 @@ public class SearchDTO implements Serializable {
 
     /**
      * 生成 Redis 键
-     * 使用 MD5 哈希确保相同参数生成相同的键
+     * 使用 MD5 哈希确保相同参数生成相同的键，键中携带缓存代数，代数递增后旧键不再命中
      */
-    public String toRedisKey() {
+    public String toRedisKey(long generation) {
+        return toRedisKey(generation, null);
+    }
+
+    /**
+     * 生成 Redis 键，scope 为附加的检索范围（如下推到向量库的过滤条件），不同范围的结果分开缓存
+     */
+    public String toRedisKey(long generation, String scope) {
         try {
             // 标准化参数
             String normalizedQuery = (query == null || query.isEmpty()) ? "" : query.trim();
@@ -37,6 +44,9 @@ public class SearchDTO implements Serializable {
             // 组合所有参数
             String combined = String.format("q=%s&imgs=%s&max=%d",
                     normalizedQuery, imageIdsStr, normalizedMaxResults);
+            if (scope != null && !scope.isEmpty()) {
+                combined += "&scope=" + scope;
+            }
 
             // 计算 MD5 哈希
             MessageDigest md = MessageDigest.getInstance("MD5");
@@ -49,9 +59,16 @@ public class SearchDTO implements Serializable {
                 hexString.append(hex);
             }
 
-            return "similar:search:" + hexString.toString();
+            return redisKeyPrefix(generation) + hexString.toString();
         } catch (Exception e) {
             throw new RuntimeException("生成 Redis 键失败", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 指定代数下全部相似搜索缓存键的公共前缀
+     */
+    public static String redisKeyPrefix(long generation) {
+        return "similar:search:g" + generation + ":";
+    }
+}
@@ -0,0 +1,40 @@
+package com.whut.lostandfoundforwhut.model.entity;
+
+import java.time.LocalDateTime;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片内容指纹实体，对应 image_fingerprints 表；每行表示“该内容已有一个审核通过并压缩完成的 COS 对象”
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@TableName("image_fingerprints")
+public class ImageFingerprint {
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    @TableField("content_hash")
+    private String contentHash;
+
+    @TableField("object_key")
+    private String objectKey;
+
+    private String url;
+
+    @TableField(value = "created_at", fill = FieldFill.INSERT)
+    private LocalDateTime createdAt;
+}
@@ -42,6 +42,12 @@ public class Item {
 
     private Integer status;
 
+    /**
+     * 向量索引状态，见 ItemIndexStatus
+     */
+    @TableField("index_status")
+    private Integer indexStatus;
+
     @TableField("is_deleted")
     @TableLogic
     private Integer isDeleted;
@@ -59,4 +65,16 @@ public class Item {
      */
     @TableField(exist = false)
     private List<String> tags;
+
+    /**
+     * 图片URL列表（首张为封面），仅用于响应展示
+     */
+    @TableField(exist = false)
+    private List<String> imageUrls;
+
+    /**
+     * 相似度得分（余弦相似度），仅相似搜索响应返回
+     */
+    @TableField(exist = false)
+    private Double similarityScore;
 }
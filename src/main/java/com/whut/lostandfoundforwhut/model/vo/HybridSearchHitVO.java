@@ -0,0 +1,21 @@
+package com.whut.lostandfoundforwhut.model.vo;
+
+import com.whut.lostandfoundforwhut.model.entity.Item;
+import lombok.Data;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 混合检索命中结果 VO
+ */
+@Data
+public class HybridSearchHitVO {
+    /** 物品 */
+    private Item item;
+    /** RRF 融合得分 */
+    private double score;
+    /** 全文检索名次（从 1 开始，未命中为空） */
+    private Integer lexicalRank;
+    /** 向量检索名次（从 1 开始，未命中为空） */
+    private Integer vectorRank;
+}
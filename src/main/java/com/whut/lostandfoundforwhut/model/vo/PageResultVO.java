@@ -19,4 +19,6 @@ public class PageResultVO<T> {
     private long total;
     /** 数据列表 */
     private List<T> records;
+    /** 下一页游标（仅游标分页模式返回，为空表示没有更多数据） */
+    private String nextCursor;
 }
@@ -0,0 +1,39 @@
+package com.whut.lostandfoundforwhut.model.vo;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量重建进度 VO
+ */
+@Data
+public class VectorReindexStatusVO {
+    /** 状态：IDLE / RUNNING / COMPLETED / FAILED / CANCELLED */
+    private String status;
+    /** 本实例是否正在执行 */
+    private boolean runningOnThisNode;
+    /** 重建前生效的集合 */
+    private String sourceCollection;
+    /** 重建写入的影子集合 */
+    private String targetCollection;
+    /** 已处理的最大物品ID（断点续跑游标） */
+    private long lastItemId;
+    /** 已处理物品数 */
+    private long processed;
+    /** 成功写入向量数 */
+    private long indexed;
+    /** 无图片跳过数 */
+    private long skipped;
+    /** 嵌入失败数（已转交发件箱重试） */
+    private long failed;
+    /** 平均吞吐（物品/秒） */
+    private double throughputPerSecond;
+    /** 最近一次错误 */
+    private String lastError;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,56 @@
+package com.whut.lostandfoundforwhut.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片内容指纹服务接口：重复上传的图片复用已审核、已压缩的 COS 对象与向量嵌入
+ */
+public interface IImageFingerprintService {
+
+    /**
+     * 流式计算图片原始内容指纹（SHA-256 十六进制），不把整个文件读入内存
+     *
+     * @param content 文件内容输入流（调用方负责关闭）
+     * @return 内容指纹
+     * @throws IOException 读取内容失败
+     */
+    String contentHash(InputStream content) throws IOException;
+
+    /**
+     * 若该内容已有处理完成的 COS 对象，则服务端复制到目标对象键，跳过上传、审核与压缩
+     *
+     * @param contentHash 内容指纹
+     * @param objectKey   目标对象键
+     * @return 是否已复用（false 时调用方按正常流程上传）
+     */
+    boolean copyIfKnown(String contentHash, String objectKey);
+
+    /**
+     * 登记审核通过并压缩完成的图片对象，供后续重复上传复用
+     *
+     * @param contentHash 内容指纹
+     * @param objectKey   对象键
+     * @param url         访问URL
+     */
+    void register(String contentHash, String objectKey, String url);
+
+    /**
+     * 记录图片URL对应的内容指纹，使同一内容不同URL的图片共享嵌入缓存
+     *
+     * @param contentHashByUrl URL 到内容指纹的映射
+     */
+    void rememberUrls(Map<String, String> contentHashByUrl);
+
+    /**
+     * 将图片URL转换为嵌入缓存使用的图片标识：已知内容指纹的用指纹，否则保持URL
+     *
+     * @param urls 图片URL列表
+     * @return 图片标识列表，与输入顺序一致
+     */
+    List<String> contentKeysOf(List<String> urls);
+}
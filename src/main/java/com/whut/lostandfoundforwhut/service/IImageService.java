@@ -29,6 +29,13 @@ public interface IImageService {
      */
     String getUrlById(Long imageId);
 
+    /**
+     * 批量获取图片URL
+     * @param imageIds 图片ID列表
+     * @return 图片URL列表，与输入顺序一致，不存在的图片对应 null
+     */
+    List<String> getUrlsByIds(List<Long> imageIds);
+
     /**
      * 根据物品ID获取所有图片ID
      * @param itemId 物品ID
@@ -1,9 +1,11 @@
 package com.whut.lostandfoundforwhut.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.whut.lostandfoundforwhut.model.dto.HybridSearchDTO;
 import com.whut.lostandfoundforwhut.model.dto.ItemDTO;
 import com.whut.lostandfoundforwhut.model.dto.ItemFilterDTO;
 import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.model.vo.HybridSearchHitVO;
 import com.whut.lostandfoundforwhut.model.vo.PageResultVO;
 import java.util.List;
 
@@ -56,9 +58,18 @@ public interface IItemService extends IService<Item> {
      * @param query      查询文本
      * @param imageIds   图片ID列表
      * @param maxResults 最大返回结果数
-     * @return 相似的物品列表
+     * @param minScore   最低相似度（余弦相似度，可空，空时使用配置的默认阈值）
+     * @return 相似的物品列表，按相似度降序并携带相似度得分
      */
-    List<Item> searchSimilarItems(String query, List<Long> imageIds, int maxResults);
+    List<Item> searchSimilarItems(String query, List<Long> imageIds, int maxResults, Double minScore);
+
+    /**
+     * 混合检索：全文检索与向量检索并行执行，按倒数排名融合（RRF）后分页
+     *
+     * @param hybridSearchDTO 检索参数
+     * @return 融合后的分页结果（含融合得分与各路名次）
+     */
+    PageResultVO<HybridSearchHitVO> hybridSearch(HybridSearchDTO hybridSearchDTO);
 
     /**
      * 查询当前用户发布的物品，支持按类型筛选
@@ -68,7 +79,9 @@ public interface IItemService extends IService<Item> {
      * @param pageSize 每页数量
      * @param type     物品类型（可空）
      * @param keyword  关键词（可空，匹配描述和地点）
+     * @param cursor   游标（可空；非空时按游标分页且忽略页码，空字符串表示首页）
      * @return 分页结果
      */
-    PageResultVO<Item> listMyItems(Long userId, Integer pageNo, Integer pageSize, Integer type, String keyword);
+    PageResultVO<Item> listMyItems(Long userId, Integer pageNo, Integer pageSize, Integer type, String keyword,
+            String cursor);
 }
@@ -1,9 +1,14 @@
 package com.whut.lostandfoundforwhut.service;
 
+import org.springframework.data.redis.core.RedisOperations;
+
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * @author DXR
@@ -70,6 +75,17 @@ public interface IRedisService {
      */
     Boolean isExists(String key);
 
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 仅当 key 不存在时写入（SET NX PX），用于分布式互斥/租约
+     * @param key 键
+     * @param value 值
+     * @param ttl 过期时间
+     * @return 是否写入成功
+     */
+    Boolean setIfAbsent(String key, Object value, Duration ttl);
+
     /**
      * @author DXR
      * @date 2026/01/30
@@ -229,9 +245,91 @@ public interface IRedisService {
     /**
      * @author Codex
      * @date 2026/02/09
-     * @description 按前缀删除 key
+     * @description 按前缀删除 key（SCAN 游标遍历 + 分批 UNLINK，不阻塞 Redis）
      * @param prefix 前缀
      * @return 删除数量
      */
     Long removeByPrefix(String prefix);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 异步按前缀删除 key，在独立线程池中执行，不阻塞调用方
+     * @param prefix 前缀
+     * @return 删除数量
+     */
+    CompletableFuture<Long> removeByPrefixAsync(String prefix);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 设置值并将 key 登记到索引集合，之后可通过 removeByIndex 免扫描批量删除
+     * @param indexKey 索引集合 key
+     * @param key 键
+     * @param value 值
+     * @param ttl 过期时间（索引集合同步续期）
+     */
+    void setValueIndexed(String indexKey, String key, Object value, Duration ttl);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 删除索引集合中登记的全部 key
+     * @param indexKey 索引集合 key
+     * @return 删除数量
+     */
+    Long removeByIndex(String indexKey);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 异步删除索引集合中登记的全部 key，在独立线程池中执行，不阻塞调用方
+     * @param indexKey 索引集合 key
+     * @return 删除数量
+     */
+    CompletableFuture<Long> removeByIndexAsync(String indexKey);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 批量获取值（MGET），结果与 keys 顺序一致，不存在的 key 对应 null
+     * @param keys 键列表
+     * @return 值列表
+     */
+    List<Object> multiGet(List<String> keys);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 批量设置值（MSET，不过期）
+     * @param values 键值映射
+     */
+    void multiSet(Map<String, Object> values);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 批量设置值并统一过期时间（管道执行，一次往返）
+     * @param values 键值映射
+     * @param ttl 过期时间
+     */
+    void multiSetWithTtl(Map<String, Object> values, Duration ttl);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 批量删除 key（单条 DEL）
+     * @param keys 键集合
+     * @return 删除数量
+     */
+    Long multiRemove(Collection<String> keys);
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 以管道方式执行一组命令，一次网络往返
+     * @param commands 命令组（回调内的操作返回值均为 null，结果从返回列表中按顺序获取）
+     * @return 各命令执行结果
+     */
+    List<Object> executeBatch(Consumer<RedisOperations<String, Object>> commands);
 }
@@ -0,0 +1,23 @@
+package com.whut.lostandfoundforwhut.service;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量索引服务接口：物品写操作通过发件箱登记，由后台任务异步同步到向量库
+ */
+public interface IVectorIndexService {
+
+    /**
+     * 登记物品需要同步向量（须在物品写操作的同一事务中调用）
+     *
+     * @param itemId 物品ID
+     */
+    void enqueue(Long itemId);
+
+    /**
+     * 领取并处理一批到期的发件箱任务
+     *
+     * @return 本次处理的任务数
+     */
+    int processPendingBatch();
+}
@@ -0,0 +1,31 @@
+package com.whut.lostandfoundforwhut.service;
+
+import com.whut.lostandfoundforwhut.model.vo.VectorReindexStatusVO;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量库全量重建服务接口：从 MySQL 游标读取物品，写入影子集合后原子切换别名
+ */
+public interface IVectorReindexService {
+
+    /**
+     * 启动重建（后台执行）
+     *
+     * @param resume 是否从上次中断的位置继续
+     * @return 当前进度
+     */
+    VectorReindexStatusVO start(boolean resume);
+
+    /**
+     * 查询重建进度
+     *
+     * @return 当前进度
+     */
+    VectorReindexStatusVO getStatus();
+
+    /**
+     * 取消本实例正在执行的重建（丢弃影子集合）
+     */
+    void cancel();
+}
@@ -1,7 +1,11 @@
 package com.whut.lostandfoundforwhut.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorFilter;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorMatch;
 import com.whut.lostandfoundforwhut.model.entity.Item;
 
 /**
@@ -37,6 +41,53 @@ public interface IVectorService {
      */
     void removeFromVectorDatabase(Long itemId);
 
+    /**
+     * 写入或覆盖物品向量，失败时抛出异常（供异步索引任务重试）
+     *
+     * @param item      物品实体
+     * @param imageUrls 图片URL列表（不能为空）
+     */
+    void upsertItemVector(Item item, List<String> imageUrls);
+
+    /**
+     * 删除物品向量，失败时抛出异常（供异步索引任务重试）
+     *
+     * @param itemId 物品ID
+     */
+    void deleteItemVector(Long itemId);
+
+    /**
+     * 批量写入或覆盖物品向量（一次 Chroma upsert 请求），失败时抛出异常
+     *
+     * @param items             物品列表
+     * @param imageUrlsByItemId 物品ID到图片URL列表的映射（每个物品不能为空）
+     */
+    void upsertAll(List<Item> items, Map<Long, List<String>> imageUrlsByItemId);
+
+    /**
+     * 生成物品的多模态嵌入向量（描述+图片），失败时抛出异常
+     *
+     * @param item      物品实体
+     * @param imageUrls 图片URL列表
+     * @return 嵌入向量
+     */
+    float[] embedItem(Item item, List<String> imageUrls);
+
+    /**
+     * 批量删除物品向量（一次 Chroma delete 请求），失败时抛出异常
+     *
+     * @param itemIds 物品ID列表
+     */
+    void removeAll(List<Long> itemIds);
+
+    /**
+     * 按 ID 直接查询已写入向量库的物品
+     *
+     * @param itemIds 物品ID列表
+     * @return 已存在向量的物品ID
+     */
+    Set<Long> findIndexedItemIds(List<Long> itemIds);
+
     /**
      * 在向量数据库中搜索相似文本
      *
@@ -47,6 +98,18 @@ public interface IVectorService {
      */
     List<String> searchInCollection(String query, List<String> imageUrls, int maxResults);
 
+    /**
+     * 在向量数据库中搜索相似物品，返回向量ID与余弦相似度（按相似度降序），元数据条件在向量库内先过滤
+     *
+     * @param query      查询文本
+     * @param imageUrls  图片URLs列表
+     * @param maxResults 返回最相近的k个结果
+     * @param filter     元数据过滤条件（可空）
+     * @return 匹配结果
+     */
+    List<VectorMatch> searchScoredInCollection(String query, List<String> imageUrls, int maxResults,
+            VectorFilter filter);
+
     /**
      * 获取集合中的所有条目
      *
@@ -0,0 +1,146 @@
+package com.whut.lostandfoundforwhut.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.whut.lostandfoundforwhut.common.constant.Constants.RedisKey;
+import com.whut.lostandfoundforwhut.common.utils.cos.COS;
+import com.whut.lostandfoundforwhut.mapper.ImageFingerprintMapper;
+import com.whut.lostandfoundforwhut.model.entity.ImageFingerprint;
+import com.whut.lostandfoundforwhut.service.IImageFingerprintService;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片内容指纹服务实现：按原始内容 SHA-256 命中已处理对象后服务端复制；
+ * 来源对象被删除（物品删除、图搜临时图片过期）时惰性清理指纹并回退正常上传流程
+ */
+@Slf4j
+@Service
+public class ImageFingerprintServiceImpl implements IImageFingerprintService {
+    private static final String CONTENT_KEY_PREFIX = "sha256:";
+
+    private final ImageFingerprintMapper fingerprintMapper;
+    private final COS cos;
+    private final IRedisService redisService;
+    private final Duration urlMappingTtl;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param fingerprintMapper 图片内容指纹 Mapper
+     * @param cos COS 客户端
+     * @param redisService Redis 服务
+     * @param urlMappingTtl URL 到内容指纹映射的过期时间（与嵌入缓存一致即可）
+     */
+    public ImageFingerprintServiceImpl(ImageFingerprintMapper fingerprintMapper, COS cos, IRedisService redisService,
+            @Value("${app.cache.embedding.redis-ttl:7d}") Duration urlMappingTtl) {
+        this.fingerprintMapper = fingerprintMapper;
+        this.cos = cos;
+        this.redisService = redisService;
+        this.urlMappingTtl = urlMappingTtl;
+    }
+
+    @Override
+    public String contentHash(InputStream content) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+        DigestInputStream input = new DigestInputStream(content, digest);
+        input.transferTo(OutputStream.nullOutputStream());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    public boolean copyIfKnown(String contentHash, String objectKey) {
+        try {
+            ImageFingerprint fingerprint = fingerprintMapper.selectOne(new LambdaQueryWrapper<ImageFingerprint>()
+                    .eq(ImageFingerprint::getContentHash, contentHash));
+            if (fingerprint == null) {
+                return false;
+            }
+            if (!cos.hasObject(fingerprint.getObjectKey())) {
+                // 来源对象已删除，指纹失效
+                fingerprintMapper.deleteById(fingerprint.getId());
+                return false;
+            }
+            cos.copyObject(fingerprint.getObjectKey(), objectKey);
+            log.info("图片内容重复，复用已处理对象：{} -> {}", fingerprint.getObjectKey(), objectKey);
+            return true;
+        } catch (Exception e) {
+            // 复用失败不影响上传，回退正常流程
+            log.warn("图片指纹复用失败，按正常流程上传，指纹：{}", contentHash, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void register(String contentHash, String objectKey, String url) {
+        try {
+            fingerprintMapper.insert(ImageFingerprint.builder()
+                    .contentHash(contentHash)
+                    .objectKey(objectKey)
+                    .url(url)
+                    .build());
+        } catch (DuplicateKeyException e) {
+            // 并发上传同一内容，保留先登记的来源即可
+            log.debug("图片指纹已存在：{}", contentHash);
+        } catch (Exception e) {
+            log.warn("登记图片指纹失败：{}", contentHash, e);
+        }
+    }
+
+    @Override
+    public void rememberUrls(Map<String, String> contentHashByUrl) {
+        if (contentHashByUrl == null || contentHashByUrl.isEmpty()) {
+            return;
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        contentHashByUrl.forEach((url, contentHash) -> values.put(RedisKey.IMAGE_CONTENT_HASH + url, contentHash));
+        try {
+            redisService.multiSetWithTtl(values, urlMappingTtl);
+        } catch (Exception e) {
+            log.warn("记录图片内容指纹映射失败，数量：{}", values.size(), e);
+        }
+    }
+
+    @Override
+    public List<String> contentKeysOf(List<String> urls) {
+        if (urls == null || urls.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> hashes;
+        try {
+            hashes = redisService.multiGet(urls.stream().map(url -> RedisKey.IMAGE_CONTENT_HASH + url).toList());
+        } catch (Exception e) {
+            log.warn("读取图片内容指纹映射失败，按URL处理", e);
+            return new ArrayList<>(urls);
+        }
+        List<String> keys = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            Object hash = hashes == null || i >= hashes.size() ? null : hashes.get(i);
+            keys.add(hash instanceof String contentHash ? CONTENT_KEY_PREFIX + contentHash : urls.get(i));
+        }
+        return keys;
+    }
+}
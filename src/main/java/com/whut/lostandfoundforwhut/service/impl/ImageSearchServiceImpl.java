@@ -1,13 +1,9 @@
 package com.whut.lostandfoundforwhut.service.impl;
 
-import java.io.File;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
-import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -21,8 +17,8 @@ import com.whut.lostandfoundforwhut.common.constant.Constants.RedisKey;
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
 import com.whut.lostandfoundforwhut.common.exception.AppException;
 import com.whut.lostandfoundforwhut.common.utils.cos.COS;
-import com.whut.lostandfoundforwhut.common.utils.cos.ContentReviewer;
-import com.whut.lostandfoundforwhut.common.utils.cos.ImageProcessor;
+import com.whut.lostandfoundforwhut.common.utils.cos.ImageUploadPipeline;
+import com.whut.lostandfoundforwhut.common.utils.cos.ImageUploadPipeline.UploadedImage;
 import com.whut.lostandfoundforwhut.common.utils.image.ImageValidator;
 import com.whut.lostandfoundforwhut.mapper.ImageMapper;
 import com.whut.lostandfoundforwhut.mapper.ImageSearchMapper;
@@ -51,8 +47,7 @@ public class ImageSearchServiceImpl extends ServiceImpl<ImageSearchMapper, Image
     private List<String> allowedExtensions = Arrays.asList(".jpg", ".jpeg", ".png", ".gif");
 
     private final COS cos; // COS客户端
-    private final ContentReviewer contentReviewer; // 内容审核器
-    private final ImageProcessor imageProcessor; // 图片处理器
+    private final ImageUploadPipeline imageUploadPipeline; // 图片上传流水线
 
     private final IRedisService redisService;
     private final ImageSearchMapper imageSearchMapper;
@@ -82,39 +77,18 @@ public class ImageSearchServiceImpl extends ServiceImpl<ImageSearchMapper, Image
             validateImageFile(file);
         }
 
-        List<String> objectKeys = new ArrayList<>(); // COS 存储对象键列表
+        List<UploadedImage> uploaded = new ArrayList<>(); // 上传完成的图片列表
         List<ImageSearch> imageSearchs = new ArrayList<>(); // 图片实体列表
         try {
-            // 上传所有文件
-            for (MultipartFile file : files) {
-                if (file == null || file.isEmpty()) {
-                    continue;
-                }
-                String objectKey = uploadFileToCOSReturnObjectKey(file, IMAGE_SEARCH_OBJECT_KEY_PREFIX);
-                objectKeys.add(objectKey);
-            }
-
-            // 审核所有图片
-            List<String> messages = contentReviewer.batchReviewImageKey(objectKeys);
-            String message = joinMessages(messages, "; ", (i, msg) -> "图片" + (i + 1) + "审核失败: " + msg);
-            if (message != null) {
-                throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), message);
-            }
-            // 压缩所有图片
-            for (String objectKey : objectKeys) {
-                imageProcessor.processimage(objectKey);
-            }
-            // 设置所有图片为公共读权限
-            for (String objectKey : objectKeys) {
-                cos.setObjectPublicRead(objectKey);
-            }
+            // 并行上传、审核、压缩所有图片，内容与已处理图片相同的直接服务端复制
+            uploaded = imageUploadPipeline.upload(files, IMAGE_SEARCH_OBJECT_KEY_PREFIX);
 
             // 批量保存到数据库
-            for (String objectKey : objectKeys) {
+            for (UploadedImage uploadedImage : uploaded) {
                 // 创建图片对象
                 ImageSearch imageSearch = new ImageSearch();
-                imageSearch.setObjectKey(objectKey);
-                imageSearch.setUrl(cos.getObjectUrl(objectKey));
+                imageSearch.setObjectKey(uploadedImage.objectKey());
+                imageSearch.setUrl(uploadedImage.url());
                 imageSearch.setCreateTime(LocalDateTime.now());
                 imageSearch.setExpireTime(LocalDateTime.now().plus(imageSearchExpireDuration));
                 // 图片对象保存到列表
@@ -134,13 +108,16 @@ public class ImageSearchServiceImpl extends ServiceImpl<ImageSearchMapper, Image
                 redisService.setValue(cacheKey, imageSearch, imageSearchExpireDuration);
             }
 
+            // 登记新处理完成的图片指纹，并记录URL对应的内容指纹供嵌入缓存复用
+            imageUploadPipeline.registerFingerprints(uploaded);
+
             log.info("[ImageSearchServiceImpl] 已上传 {} 张图片搜索", imageSearchs.size());
             return imageSearchs.stream()
                     .map(imageSearch -> new ImageSearchVO(imageSearch.getId(), imageSearch.getUrl()))
                     .collect(Collectors.toList());
         } catch (Exception e) {
-            // 删除COS上的文件
-            cos.batchDeleteObject(objectKeys);
+            // 删除COS上的文件（上传流水线失败时已自行清理）
+            cos.batchDeleteObject(uploaded.stream().map(UploadedImage::objectKey).collect(Collectors.toList()));
 
             // 处理异常
             if (e instanceof AppException)
@@ -228,58 +205,4 @@ public class ImageSearchServiceImpl extends ServiceImpl<ImageSearchMapper, Image
             throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), errorMessage);
         }
     }
-
-    // 生成文件名
-    private String generateFileName(String extension) {
-        return System.currentTimeMillis() + "_" + UUID.randomUUID().toString() + extension;
-    }
-
-    // 上传文件到COS并返回对象键
-    private String uploadFileToCOSReturnObjectKey(MultipartFile file, String prefix) throws IOException {
-        // 获取文件扩展名
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        // 生成对象键
-        String objectKey = prefix + generateFileName(extension);
-
-        // 先保存到临时文件
-        File tempFile = File.createTempFile("temp", extension);
-        file.transferTo(tempFile.toPath());
-        // 上传到COS
-        cos.uploadFile(tempFile, objectKey);
-        tempFile.delete();
-        // 返回对象键
-        return objectKey;
-    }
-
-    // 合并消息列表
-    private String joinMessages(
-            List<String> messages,
-            String separator,
-            BiFunction<Integer, String, String> mapper) {
-        if (messages == null || messages.isEmpty()) {
-            return null;
-        }
-
-        if (separator == null) {
-            separator = ", ";
-        }
-        if (mapper == null) {
-            mapper = (index, message) -> message;
-        }
-
-        List<String> messageItems = new ArrayList<>();
-        for (int i = 0; i < messages.size(); i++) {
-            if (messages.get(i) == null) {
-                continue;
-            }
-
-            String messageItem = mapper.apply(i, messages.get(i));
-            messageItems.add(messageItem);
-        }
-        if (messageItems.isEmpty()) {
-            return null;
-        }
-        return messageItems.stream().collect(Collectors.joining(separator));
-    }
 }
@@ -1,12 +1,14 @@
 package com.whut.lostandfoundforwhut.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.whut.lostandfoundforwhut.common.constant.Constants.RedisKey;
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
 import com.whut.lostandfoundforwhut.common.exception.AppException;
 import com.whut.lostandfoundforwhut.common.utils.cos.COS;
 import com.whut.lostandfoundforwhut.common.utils.cos.ContentRecognizer;
 import com.whut.lostandfoundforwhut.common.utils.cos.ContentReviewer;
-import com.whut.lostandfoundforwhut.common.utils.cos.ImageProcessor;
+import com.whut.lostandfoundforwhut.common.utils.cos.ImageUploadPipeline;
+import com.whut.lostandfoundforwhut.common.utils.cos.ImageUploadPipeline.UploadedImage;
 import com.whut.lostandfoundforwhut.common.utils.image.ImageValidator;
 import com.whut.lostandfoundforwhut.mapper.ImageMapper;
 import com.whut.lostandfoundforwhut.mapper.ItemImageMapper;
@@ -22,17 +24,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import java.util.function.BiFunction;
 import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
@@ -54,9 +56,6 @@ public class ImageServiceImpl extends ServiceImpl<ImageMapper, Image> implements
     // 内容识别器
     @Autowired
     private ContentRecognizer contentRecognizer;
-    // 图片处理器
-    @Autowired
-    private ImageProcessor imageProcessor;
 
     @Autowired
     private ImageMapper imageMapper;
@@ -67,6 +66,14 @@ public class ImageServiceImpl extends ServiceImpl<ImageMapper, Image> implements
 
     @Autowired
     private IRedisService redisService;
+    @Autowired
+    private ImageUploadPipeline imageUploadPipeline;
+    // Redis 值不带类型信息，读出的是 Map，用于转换回图片实体
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 空值缓存过期时间
+    private static final Duration NULL_CACHE_TTL = Duration.ofHours(1);
 
     // 图片对象键前缀
     private String IMAGE_OBJECT_KEY_PREFIX = "images/";
@@ -96,63 +103,42 @@ public class ImageServiceImpl extends ServiceImpl<ImageMapper, Image> implements
             validateImageFile(file);
         }
 
-        List<String> objectKeys = new ArrayList<>(); // COS 存储对象键列表
+        List<UploadedImage> uploaded = new ArrayList<>(); // 上传完成的图片列表
         List<Image> images = new ArrayList<>(); // 图片实体列表
         try {
-            // 上传所有文件
-            for (MultipartFile file : files) {
-                if (file == null || file.isEmpty()) { continue; }
-                // 上传文件到COS并获取唯一文件名
-                String objectKey = uploadFileToCOSReturnObjectKey(file, IMAGE_OBJECT_KEY_PREFIX);
-                // 添加到COS存储对象键列表
-                objectKeys.add(objectKey);
-            }
-
-            // 审核所有图片
-            List<String> messages = contentReviewer.batchReviewImageKey(objectKeys);
-            String message = joinMessages(messages, "; ", (i, msg) -> "图片" + (i + 1) + "审核失败: " + msg);
-            if (message != null) {
-                throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), message);
-            }
-
-            // 压缩所有图片
-            for (String objectKey : objectKeys) {
-                imageProcessor.processimage(objectKey);
-            }
-
-            // 设置所有图片为公共读权限
-            for (String objectKey : objectKeys) {
-                cos.setObjectPublicRead(objectKey);
-            }
+            // 并行上传、审核、压缩所有图片，内容与已处理图片相同的直接服务端复制
+            uploaded = imageUploadPipeline.upload(files, IMAGE_OBJECT_KEY_PREFIX);
 
             // 批量保存到数据库
-            for (String objectKey : objectKeys) {
+            for (UploadedImage uploadedImage : uploaded) {
                 // 创建图片对象
                 Image image = new Image();
-                image.setObjectKey(objectKey);
-                image.setUrl(cos.getObjectUrl(objectKey));
+                image.setObjectKey(uploadedImage.objectKey());
+                image.setUrl(uploadedImage.url());
                 images.add(image);
             }
             imageMapper.insert(images);
 
-            // 缓存所有图片
+            // 缓存所有图片（一次 MSET）
+            Map<String, Object> imageCache = new LinkedHashMap<>();
             for (Image image : images) {
-                String cacheKey = RedisKey.IMAGE_BY_ID + image.getId();
-                redisService.setValue(cacheKey, image);
+                imageCache.put(RedisKey.IMAGE_BY_ID + image.getId(), image);
             }
+            redisService.multiSet(imageCache);
+
+            // 登记新处理完成的图片指纹，并记录URL对应的内容指纹供嵌入缓存复用
+            imageUploadPipeline.registerFingerprints(uploaded);
 
             log.info("[ImageServiceImpl] 已上传 {} 张图片", images.size());
             return images.stream().map(Image::getId).collect(Collectors.toList());
         } catch (Exception e) {
-            // 删除COS上的文件
-            cos.batchDeleteObject(objectKeys);
+            // 删除COS上的文件（上传流水线失败时已自行清理）
+            cos.batchDeleteObject(uploaded.stream().map(UploadedImage::objectKey).collect(Collectors.toList()));
             // 删除所有图片缓存
-            for (Image image : images) {
-                String cacheKey = RedisKey.IMAGE_BY_ID + image.getId();
-                if (redisService.isExists(cacheKey)) {
-                    redisService.remove(cacheKey);
-                }
-            }
+            redisService.multiRemove(images.stream()
+                    .filter(image -> image.getId() != null)
+                    .map(image -> RedisKey.IMAGE_BY_ID + image.getId())
+                    .collect(Collectors.toList()));
 
             // 处理异常
             if (e instanceof AppException) {
@@ -176,7 +162,7 @@ public class ImageServiceImpl extends ServiceImpl<ImageMapper, Image> implements
         validateImageFile(file);
         try {
             // 上传文件到COS并获取唯一文件名
-            objectKey = uploadFileToCOSReturnObjectKey(file, "temp/images/");
+            objectKey = imageUploadPipeline.uploadRaw(file, "temp/images/");
             // 审核图片
             String message = contentReviewer.reviewImageKey(objectKey);
             if (message != null) {
@@ -206,29 +192,81 @@ public class ImageServiceImpl extends ServiceImpl<ImageMapper, Image> implements
      */
     @Override
     public String getUrlById(Long imageId) {
-        // 从缓存中获取图片URL
-                String cacheKey = RedisKey.IMAGE_BY_ID + imageId;
-        if (redisService.isExists(cacheKey)) {
-            // 键存在
-            Image image = (Image) redisService.getValue(cacheKey);
-            if (image != null) {
-                return image.getUrl();
-            } else {
-                return null; // 缓存空值，说明不存在
+        if (imageId == null) {
+            return null;
+        }
+        return getUrlsByIds(List.of(imageId)).get(0);
+    }
+
+    /**
+     * @description 批量获取图片URL：一次 MGET，未命中的一次 selectByIds 回源，并以管道回写（含空值）
+     * @param imageIds 图片ID列表
+     * @return 图片URL列表，与输入顺序一致，不存在的图片对应 null
+     */
+    @Override
+    public List<String> getUrlsByIds(List<Long> imageIds) {
+        if (imageIds == null || imageIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> distinctIds = imageIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        Map<Long, String> urlById = new HashMap<>();
+        List<Long> missedIds = new ArrayList<>();
+        if (!distinctIds.isEmpty()) {
+            List<String> cacheKeys = distinctIds.stream()
+                    .map(imageId -> RedisKey.IMAGE_BY_ID + imageId)
+                    .collect(Collectors.toList());
+            List<Object> cached = redisService.multiGet(cacheKeys);
+            for (int i = 0; i < distinctIds.size(); i++) {
+                Object value = cached.get(i);
+                String url = RedisKey.NULL_CACHE_VALUE.equals(value) ? null : toCachedUrl(value);
+                if (url != null) {
+                    urlById.put(distinctIds.get(i), url);
+                } else if (!RedisKey.NULL_CACHE_VALUE.equals(value)) {
+                    missedIds.add(distinctIds.get(i));
+                }
             }
         }
-        
-        // 从数据库中获取图片
-        Image image = imageMapper.selectById(imageId);
-        if (image == null) {
-            // 数据库也没有，缓存空值
-            redisService.setValue(cacheKey, null, Duration.ofHours(1));
-            return null;
+
+        if (!missedIds.isEmpty()) {
+            Map<Long, Image> loaded = imageMapper.selectByIds(missedIds).stream()
+                    .collect(Collectors.toMap(Image::getId, image -> image, (a, b) -> a));
+            redisService.executeBatch(ops -> {
+                for (Long imageId : missedIds) {
+                    String cacheKey = RedisKey.IMAGE_BY_ID + imageId;
+                    Image image = loaded.get(imageId);
+                    if (image != null) {
+                        ops.opsForValue().set(cacheKey, image);
+                    } else {
+                        // 数据库也没有，缓存空值
+                        ops.opsForValue().set(cacheKey, RedisKey.NULL_CACHE_VALUE, NULL_CACHE_TTL);
+                    }
+                }
+            });
+            loaded.forEach((imageId, image) -> urlById.put(imageId, image.getUrl()));
         }
 
-        // 缓存图片
-        redisService.setValue(cacheKey, image);
-        return image.getUrl();
+        List<String> urls = new ArrayList<>(imageIds.size());
+        for (Long imageId : imageIds) {
+            urls.add(imageId == null ? null : urlById.get(imageId));
+        }
+        return urls;
+    }
+
+    /**
+     * @description 从缓存值中取出图片URL，无法解析时视为未命中
+     * @param value 缓存值
+     * @return 图片URL
+     */
+    private String toCachedUrl(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.convertValue(value, Image.class).getUrl();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     /**
@@ -274,40 +312,13 @@ public class ImageServiceImpl extends ServiceImpl<ImageMapper, Image> implements
         List<String> objectKeys = images.stream().map(Image::getObjectKey).collect(Collectors.toList());
         cos.batchDeleteObject(objectKeys);
         // 删除所有图片缓存
-        for (Long imageId : imageIds) {
-            String cacheKey = RedisKey.IMAGE_BY_ID + imageId;
-            if (redisService.isExists(cacheKey)) {
-                redisService.remove(cacheKey);
-            }
-        }
+        redisService.multiRemove(imageIds.stream()
+                .map(imageId -> RedisKey.IMAGE_BY_ID + imageId)
+                .collect(Collectors.toList()));
         
         log.info("[ImageServiceImpl] 已删除 {} 条图片记录和 {} 个COS文件", imageIds.size(), objectKeys.size());
     }
 
-    /**
-     * 上传文件到COS并返回对象键
-     * 
-     * @param file 上传的文件
-     * @param prefix 路径前缀
-     * @return COS 对象键
-     */
-    private String uploadFileToCOSReturnObjectKey(MultipartFile file, String prefix) throws IOException {
-        // 获取文件扩展名
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        // 生成对象键
-        String objectKey = prefix + generateFileName(extension);
-
-        // 先保存到临时文件
-        File tempFile = File.createTempFile("temp", extension);
-        file.transferTo(tempFile.toPath());
-        // 上传到COS
-        cos.uploadFile(tempFile, objectKey);
-        tempFile.delete();
-        // 返回对象键
-        return objectKey;
-    }
-
     /**
      * 验证文件
      * 
@@ -328,47 +339,4 @@ public class ImageServiceImpl extends ServiceImpl<ImageMapper, Image> implements
             throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), errorMessage);
         }
     }
-
-    private String generateFileName(String extension) {
-        return System.currentTimeMillis() + "_" + UUID.randomUUID().toString() + extension;
-    }
-
-    /**
-     * 合并消息列表
-     * 
-     * @param messages  消息列表
-     * @param separator 分隔符
-     * @param mapper    映射函数
-     * @return 合并后的消息字符串, 若消息列表为空则返回null
-     */
-    private String joinMessages(
-            List<String> messages,
-            String separator,
-            BiFunction<Integer, String, String> mapper) {
-        if (messages == null || messages.isEmpty()) {
-            return null;
-        }
-
-        if (separator == null) {
-            separator = ", ";
-        }
-        if (mapper == null) {
-            mapper = (index, message) -> message;
-        }
-
-        List<String> messageItems = new ArrayList<>();
-        for (int i = 0; i < messages.size(); i++) {
-            if (messages.get(i) == null) {
-                continue;
-            }
-
-            String messageItem = mapper.apply(i, messages.get(i));
-            messageItems.add(messageItem);
-        }
-        if (messageItems.isEmpty()) {
-            return null;
-        }
-
-        return messageItems.stream().collect(Collectors.joining(separator));
-    }
 }
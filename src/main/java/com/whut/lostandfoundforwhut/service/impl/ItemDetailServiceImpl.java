@@ -2,11 +2,12 @@ package com.whut.lostandfoundforwhut.service.impl;
 
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
 import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.common.utils.cache.ItemDetailCache;
+import com.whut.lostandfoundforwhut.mapper.ItemImageMapper;
 import com.whut.lostandfoundforwhut.mapper.ItemMapper;
 import com.whut.lostandfoundforwhut.model.entity.Item;
 import com.whut.lostandfoundforwhut.model.vo.ItemDetailVO;
 import com.whut.lostandfoundforwhut.model.vo.UserPublicVO;
-import com.whut.lostandfoundforwhut.service.IImageService;
 import com.whut.lostandfoundforwhut.service.IItemDetailService;
 import com.whut.lostandfoundforwhut.service.ITagService;
 import com.whut.lostandfoundforwhut.service.IUserService;
@@ -21,16 +22,23 @@ import java.util.List;
 public class ItemDetailServiceImpl implements IItemDetailService {
 
     private final ItemMapper itemMapper;
+    private final ItemImageMapper itemImageMapper;
     private final ITagService tagService;
-    private final IImageService imageService;
     private final IUserService userService;
+    private final ItemDetailCache itemDetailCache;
 
     @Override
     public ItemDetailVO getItemDetailById(Long itemId) {
         if (itemId == null) {
             throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "物品ID不能为空");
         }
+        return itemDetailCache.get(itemId, this::loadItemDetail);
+    }
 
+    /**
+     * 回源组装物品详情（缓存未命中时调用）。
+     */
+    private ItemDetailVO loadItemDetail(Long itemId) {
         Item item = itemMapper.selectById(itemId);
         if (item == null) {
             throw new AppException(ResponseCode.ITEM_NOT_FOUND.getCode(), ResponseCode.ITEM_NOT_FOUND.getInfo());
@@ -41,7 +49,8 @@ public class ItemDetailServiceImpl implements IItemDetailService {
             tags = new ArrayList<>();
         }
 
-        List<String> imageUrls = imageService.getUrlsByItemId(itemId);
+        // 物品已查出，直接查图片关联，避免 imageService 再做一次物品存在性校验
+        List<String> imageUrls = itemImageMapper.getImageUrlsByItemId(itemId);
         if (imageUrls == null) {
             imageUrls = new ArrayList<>();
         }
@@ -50,4 +59,3 @@ public class ItemDetailServiceImpl implements IItemDetailService {
         return ItemDetailVO.from(item, tags, imageUrls, publisher);
     }
 }
-
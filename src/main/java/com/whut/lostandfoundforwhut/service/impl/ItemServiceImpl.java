@@ -4,41 +4,55 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.enums.item.ItemIndexStatus;
 import com.whut.lostandfoundforwhut.common.enums.item.ItemStatus;
 import com.whut.lostandfoundforwhut.common.enums.item.ItemType;
 import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.common.utils.cache.ItemDetailCache;
+import com.whut.lostandfoundforwhut.common.utils.cache.ScoredIdCodec;
+import com.whut.lostandfoundforwhut.common.utils.cache.ScoredIdCodec.ScoredIds;
+import com.whut.lostandfoundforwhut.common.utils.cache.SearchCacheGeneration;
 import com.whut.lostandfoundforwhut.mapper.ItemImageMapper;
 import com.whut.lostandfoundforwhut.mapper.ItemMapper;
-import com.whut.lostandfoundforwhut.mapper.ItemTagMapper;
 import com.whut.lostandfoundforwhut.mapper.TagMapper;
 import com.whut.lostandfoundforwhut.mapper.UserMapper;
+import com.whut.lostandfoundforwhut.model.dto.HybridSearchDTO;
 import com.whut.lostandfoundforwhut.model.dto.ItemDTO;
 import com.whut.lostandfoundforwhut.model.dto.ItemFilterDTO;
+import com.whut.lostandfoundforwhut.model.dto.ItemImageUrlDTO;
 import com.whut.lostandfoundforwhut.model.dto.ItemTagNameDTO;
 import com.whut.lostandfoundforwhut.model.dto.SearchDTO;
 import com.whut.lostandfoundforwhut.model.entity.ImageSearch;
 import com.whut.lostandfoundforwhut.model.entity.Item;
-import com.whut.lostandfoundforwhut.model.entity.ItemTag;
 import com.whut.lostandfoundforwhut.model.entity.Tag;
 import com.whut.lostandfoundforwhut.model.entity.User;
+import com.whut.lostandfoundforwhut.model.vo.HybridSearchHitVO;
 import com.whut.lostandfoundforwhut.model.vo.PageResultVO;
 import com.whut.lostandfoundforwhut.service.IImageSearchService;
 import com.whut.lostandfoundforwhut.service.IImageService;
 import com.whut.lostandfoundforwhut.service.IItemService;
 import com.whut.lostandfoundforwhut.service.ITagService;
+import com.whut.lostandfoundforwhut.service.IVectorIndexService;
 import com.whut.lostandfoundforwhut.service.IVectorService;
+import com.whut.lostandfoundforwhut.common.utils.lock.SingleFlight;
 import com.whut.lostandfoundforwhut.common.utils.page.PageUtils;
+import com.whut.lostandfoundforwhut.common.utils.search.FullTextQueryBuilder;
+import com.whut.lostandfoundforwhut.common.utils.search.ReciprocalRankFusion;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorFilter;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorIds;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorMatch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.Cursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -51,10 +65,13 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import com.whut.lostandfoundforwhut.mapper.ImageMapper;
 
 /**
  * @author Qoder
@@ -65,7 +82,6 @@ import com.whut.lostandfoundforwhut.mapper.ImageMapper;
 @RequiredArgsConstructor
 @Slf4j
 public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements IItemService {
-    private static final String VECTOR_SYNC_RETRY_MESSAGE = "向量建库失败，请稍后重试；若仍失败请在个人中心重新编辑后重试";
     private static final String PRIVATE_TAG_NAMESPACE = "__sys_priv__:";
     private static final String PRIVATE_NO_PREFIX = "__sys_priv__:no:";
     private static final String PRIVATE_TAG_INPUT_PREFIX = "priv:";
@@ -76,16 +92,47 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
     private final TagMapper tagMapper;
-    private final ItemTagMapper itemTagMapper;
     private final ItemImageMapper itemImageMapper;
-    private final ImageMapper imageMapper;
     private final IImageService imageService;
     private final IImageSearchService imageSearchService;
     private final ITagService tagService;
     private final IVectorService vectorService;
+    private final IVectorIndexService vectorIndexService;
+    private final ItemDetailCache itemDetailCache;
+    private final SearchCacheGeneration searchCacheGeneration;
+    private final SingleFlight singleFlight;
 
     @Autowired
-    private RedisTemplate<String, String> redisTemplate;
+    @Qualifier("binaryRedisTemplate")
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Autowired
+    @Qualifier("hybridSearchExecutor")
+    private Executor hybridSearchExecutor;
+
+    @Value("${app.search.fulltext-enabled:true}")
+    private boolean fullTextSearchEnabled;
+
+    @Value("${app.search.vector-over-fetch-factor:3}")
+    private int vectorOverFetchFactor;
+
+    @Value("${app.search.vector-max-candidates:200}")
+    private int vectorMaxCandidates;
+
+    @Value("${app.search.similar-min-score:0}")
+    private double similarMinScore;
+
+    @Value("${app.search.hybrid.candidates-per-leg:100}")
+    private int hybridCandidatesPerLeg;
+
+    @Value("${app.search.hybrid.max-candidates:500}")
+    private int hybridMaxCandidates;
+
+    @Value("${app.search.hybrid.rrf-k:60}")
+    private int hybridRrfK;
+
+    @Value("${app.search.hybrid.leg-timeout:3s}")
+    private Duration hybridLegTimeout;
 
     @Override
     @Transactional
@@ -103,6 +150,7 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
                 .eventTime(itemDTO.getEventTime())
                 .eventPlace(itemDTO.getEventPlace())
                 .status(ItemStatus.ACTIVE.getCode())
+                .indexStatus(ItemIndexStatus.PENDING.getCode())
                 .description(itemDTO.getDescription())
                 .build();
 
@@ -117,16 +165,8 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
             log.warn("物品图片关联失败，物品ID：{}", item.getId());
         }
 
-        // 获取图片的URL
-        List<String> imageUrls = imageMapper.selectUrlsByIds(imageIds);
-
-        // 将物品描述和图片添加到向量数据库
-        try {
-            vectorService.addImagesToVectorDatabase(item, imageUrls);
-        } catch (Exception e) {
-            log.error("新增物品时向量建库失败，物品ID：{}", item.getId(), e);
-            throw new AppException(ResponseCode.UN_ERROR.getCode(), VECTOR_SYNC_RETRY_MESSAGE);
-        }
+        // 与物品同事务登记向量同步任务，由后台索引任务异步建库
+        vectorIndexService.enqueue(item.getId());
 
         // 解析并绑定标签
         List<String> tagNames = tagService.parseTagText(itemDTO.getTagText());
@@ -170,37 +210,22 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
         updateItemFields(existingItem, itemDTO);
         updateItemTags(itemId, itemDTO.getTagText());
 
-        // 结束帖子时，仅清理向量库和相似搜索缓存，保留图片与标签等关联数据
-        if (statusChangedToClosed) {
-            vectorService.removeFromVectorDatabase(existingItem.getId());
-            clearSimilarSearchCache();
-        } else {
-            // 如果描述或图片发生变化，先更新图片关联
-            if (needVectorUpdate) {
-                handleImageUpdate(existingItem, currentImageIds, effectiveImageIds);
-            }
+        // 如果描述或图片发生变化，先更新图片关联；结束帖子时保留图片与标签等关联数据
+        if (!statusChangedToClosed && needVectorUpdate) {
+            handleImageUpdate(existingItem, currentImageIds, effectiveImageIds);
+        }
 
-            // 非关闭状态下，编辑后强制重建向量，避免历史入库失败的帖子无法被图搜命中
-            try {
-                if (effectiveImageIds != null && !effectiveImageIds.isEmpty()) {
-                    List<String> imageUrls = imageMapper.selectUrlsByIds(effectiveImageIds);
-                    vectorService.updateVectorDatabase(existingItem, imageUrls);
-                    log.info("向量数据库已同步，物品ID：{}", existingItem.getId());
-                } else {
-                    vectorService.removeFromVectorDatabase(existingItem.getId());
-                    log.info("无图片可用于向量重建，已移除向量，物品ID：{}", existingItem.getId());
-                }
-            } catch (Exception e) {
-                log.error("更新物品时向量建库失败，物品ID：{}", existingItem.getId(), e);
-                throw new AppException(ResponseCode.UN_ERROR.getCode(), VECTOR_SYNC_RETRY_MESSAGE);
-            }
+        // 编辑后总是登记向量同步：结束的帖子由索引任务移除向量，其余按当前图片重建，
+        // 避免历史入库失败的帖子无法被图搜命中
+        existingItem.setIndexStatus(ItemIndexStatus.PENDING.getCode());
+        vectorIndexService.enqueue(existingItem.getId());
 
-            // 清理相关的Redis缓存
-            clearSimilarSearchCache();
-        }
+        // 清理相关的Redis缓存
+        clearSimilarSearchCache();
 
         // 更新数据库
         itemMapper.updateById(existingItem);
+        itemDetailCache.evict(itemId);
         log.info("物品更新成功，ID：{}", existingItem.getId());
 
         return existingItem;
@@ -348,45 +373,12 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
             throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "卡证模式不支持图搜");
         }
 
-        // 从 Redis 获取相似搜索的物品ID列表
-        if (itemFilterDTO.getSearchDTO() != null) {
-            String redisKey = itemFilterDTO.getSearchDTO().toRedisKey();
-            String cachedIds = redisTemplate.opsForValue().get(redisKey);
-            List<Long> similarItemIds = new ArrayList<>();
-
-            if (cachedIds != null && !cachedIds.isEmpty()) {
-                similarItemIds = parseItemIds(cachedIds);
-                if (!similarItemIds.isEmpty()) {
-                    log.info("使用Redis缓存的相似搜索结果进行过滤，物品数量：{}", similarItemIds.size());
-                }
-            } else {
-                // 如果 Redis 中没有缓存，执行相似物品查询
-                log.info("Redis中未找到相似搜索缓存，执行相似物品查询，键：{}", redisKey);
-
-                // 执行相似物品搜索
-                List<Item> similarItems = searchSimilarItems(
-                        itemFilterDTO.getSearchDTO().getQuery(),
-                        itemFilterDTO.getSearchDTO().getImageIds(),
-                        itemFilterDTO.getSearchDTO().getMaxResults());
-
-                // 提取物品ID
-                similarItemIds = similarItems.stream()
-                        .map(Item::getId)
-                        .collect(Collectors.toList());
-
-                log.info("执行相似物品查询完成，获取到{}个相似物品", similarItemIds.size());
-
-                // 将结果缓存到Redis
-                if (!similarItemIds.isEmpty()) {
-                    String idsJson = similarItemIds.stream()
-                            .map(String::valueOf)
-                            .collect(Collectors.joining(","));
-                    redisTemplate.opsForValue().set(redisKey, idsJson, 1, TimeUnit.HOURS);
-                    log.info("相似物品ID已缓存到Redis，键：{}，数量：{}", redisKey, similarItemIds.size());
-                }
-            }
+        // 标签先解析为标签ID，相似搜索的候选校验与主查询共用
+        List<Long> tagIds = resolveFilterTagIds(itemFilterDTO.getTags());
 
-            // 应用相似物品ID过滤条件
+        // 相似搜索：类型/状态/时间条件下推到向量库，返回的候选再与其余条件一起在主查询中过滤
+        if (itemFilterDTO.getSearchDTO() != null) {
+            List<Long> similarItemIds = searchFilteredSimilarItemIds(itemFilterDTO, tagIds);
             if (!similarItemIds.isEmpty()) {
                 queryWrapper.in(Item::getId, similarItemIds);
             } else {
@@ -395,10 +387,67 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
             }
         }
 
+        String fullTextQuery = applyAttributeFilters(queryWrapper, itemFilterDTO, tagIds);
+
+        // 按相关度排序：排序表达式由自定义 SQL 提供，条件中需显式带上逻辑删除
+        if (fullTextQuery != null && Boolean.TRUE.equals(itemFilterDTO.getSortByRelevance())
+                && itemFilterDTO.getCursor() == null) {
+            queryWrapper.eq(Item::getIsDeleted, 0);
+            itemMapper.selectPageByRelevance(page, queryWrapper, fullTextQuery);
+            fillListFields(page.getRecords());
+            return PageUtils.toPageResult(page);
+        }
+
+        // 按创建时间倒序排列（ID 兜底，保证顺序稳定）
+        queryWrapper.orderByDesc(Item::getCreatedAt).orderByDesc(Item::getId);
+
+        // 游标分页：不统计总数，翻页耗时与深度无关
+        if (itemFilterDTO.getCursor() != null) {
+            return selectPageByCursor(queryWrapper, itemFilterDTO.getCursor(), itemFilterDTO.getPageSize());
+        }
+
+        // 执行查询
+        itemMapper.selectPage(page, queryWrapper);
+
+        // 封装分页结果（填充标签与图片）
+        fillListFields(page.getRecords());
+
+        return PageUtils.toPageResult(page);
+    }
+
+    /**
+     * 解析筛选标签为标签ID
+     *
+     * @param tags 请求中的标签名（可空）
+     * @return 未指定标签时返回 null；指定了但均不存在时返回空列表
+     */
+    private List<Long> resolveFilterTagIds(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+        List<String> requestedTags = expandPrivateNoAliases(tags);
+        return tagMapper.selectList(
+                new LambdaQueryWrapper<Tag>().select(Tag::getId).in(Tag::getName, requestedTags))
+                .stream()
+                .map(Tag::getId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 应用类型、状态、时间段、关键词与标签筛选条件
+     *
+     * @param queryWrapper  查询条件
+     * @param itemFilterDTO 筛选参数
+     * @param tagIds        已解析的标签ID（null 表示不按标签筛选）
+     * @return 实际使用的全文检索查询串，未使用全文检索时返回 null
+     */
+    private String applyAttributeFilters(LambdaQueryWrapper<Item> queryWrapper, ItemFilterDTO itemFilterDTO,
+            List<Long> tagIds) {
+        Integer type = itemFilterDTO.getType();
         Integer status = itemFilterDTO.getStatus();
         LocalDateTime startTime = itemFilterDTO.getStartTime();
         LocalDateTime endTime = itemFilterDTO.getEndTime();
-        String keyword = itemFilterDTO.getKeyword();
         // 类型筛选
         queryWrapper.eq(type != null, Item::getType, type);
 
@@ -408,83 +457,174 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
         // 时间段筛选
         queryWrapper.ge(startTime != null, Item::getCreatedAt, startTime);
         queryWrapper.le(endTime != null, Item::getCreatedAt, endTime);
-        queryWrapper.and(StringUtils.hasText(keyword), wrapper -> wrapper
-                .like(Item::getDescription, keyword)
-                .or()
-                .like(Item::getEventPlace, keyword));
-
-        // 标签筛选
-        if (itemFilterDTO.getTags() != null && !itemFilterDTO.getTags().isEmpty()) {
-            List<String> requestedTags = expandPrivateNoAliases(itemFilterDTO.getTags());
-            List<Tag> tags = tagMapper.selectList(
-                    new LambdaQueryWrapper<Tag>().in(Tag::getName, requestedTags));
+        String fullTextQuery = applyKeywordFilter(queryWrapper, itemFilterDTO.getKeyword());
 
-            if (!tags.isEmpty()) {
-                List<Long> tagIds = tags.stream()
-                        .map(Tag::getId)
-                        .collect(Collectors.toList());
-
-                List<Long> itemIds = itemTagMapper.selectList(
-                        new LambdaQueryWrapper<ItemTag>().in(ItemTag::getTagId, tagIds))
-                        .stream()
-                        .collect(Collectors.collectingAndThen(Collectors.toList(), itemTags -> {
-                            if (Boolean.TRUE.equals(itemFilterDTO.getPreciseTagMatch())) {
-                                Map<Long, Set<Long>> itemToTagSet = new HashMap<>();
-                                for (ItemTag itemTag : itemTags) {
-                                    itemToTagSet.computeIfAbsent(itemTag.getItemId(), key -> new HashSet<>())
-                                            .add(itemTag.getTagId());
-                                }
-                                return itemToTagSet.entrySet().stream()
-                                        .filter(entry -> entry.getValue().containsAll(tagIds))
-                                        .map(Map.Entry::getKey)
-                                        .collect(Collectors.toList());
-                            }
-                            return itemTags.stream()
-                                    .map(ItemTag::getItemId)
-                                    .distinct()
-                                    .collect(Collectors.toList());
-                        }));
-
-                if (!itemIds.isEmpty()) {
-                    queryWrapper.in(Item::getId, itemIds);
-                } else {
-                    queryWrapper.eq(Item::getId, -1L);
-                }
+        // 标签筛选：以 item_tags 子查询（半连接）下推到主分页查询，精确匹配用 GROUP BY + HAVING 计数
+        if (tagIds != null) {
+            if (!tagIds.isEmpty()) {
+                queryWrapper.inSql(Item::getId,
+                        buildTagFilterSubquery(tagIds, Boolean.TRUE.equals(itemFilterDTO.getPreciseTagMatch())));
             } else {
                 queryWrapper.eq(Item::getId, -1L);
             }
         }
+        return fullTextQuery;
+    }
 
-        // 按创建时间倒序排列
-        queryWrapper.orderByDesc(Item::getCreatedAt);
+    /**
+     * 带筛选条件的相似搜索
+     * 类型/状态/时间作为元数据条件在向量库内先过滤；标签与关键词只能在数据库校验，
+     * 存在这类条件时多取候选并按本轮通过率自适应扩大，直到凑满 maxResults 个或候选耗尽
+     *
+     * @param itemFilterDTO 筛选参数（searchDTO 非空）
+     * @param tagIds        已解析的标签ID（null 表示不按标签筛选）
+     * @return 按相似度排序的物品ID，最多 maxResults 个
+     */
+    private List<Long> searchFilteredSimilarItemIds(ItemFilterDTO itemFilterDTO, List<Long> tagIds) {
+        SearchDTO searchDTO = itemFilterDTO.getSearchDTO();
+        int maxResults = searchDTO.getMaxResults() == null ? 10 : searchDTO.getMaxResults();
+        VectorFilter filter = VectorFilter.of(itemFilterDTO.getType(), itemFilterDTO.getStatus(),
+                itemFilterDTO.getStartTime(), itemFilterDTO.getEndTime());
+        boolean hasResidualFilter = tagIds != null || StringUtils.hasText(itemFilterDTO.getKeyword());
+        if (!hasResidualFilter) {
+            return searchSimilarItemIds(searchDTO.getQuery(), searchDTO.getImageIds(), maxResults, filter).idList();
+        }
 
-        // 执行查询
+        int candidates = Math.min(vectorMaxCandidates, Math.max(maxResults, maxResults * vectorOverFetchFactor));
+        while (true) {
+            List<Long> candidateIds = searchSimilarItemIds(searchDTO.getQuery(), searchDTO.getImageIds(),
+                    candidates, filter).idList();
+            if (candidateIds.isEmpty()) {
+                return candidateIds;
+            }
+            LambdaQueryWrapper<Item> probe = new LambdaQueryWrapper<Item>()
+                    .select(Item::getId)
+                    .in(Item::getId, candidateIds);
+            applyAttributeFilters(probe, itemFilterDTO, tagIds);
+            Set<Long> passed = itemMapper.selectList(probe).stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toSet());
+            List<Long> matched = candidateIds.stream()
+                    .filter(passed::contains)
+                    .limit(maxResults)
+                    .collect(Collectors.toList());
+            boolean exhausted = candidateIds.size() < candidates || candidates >= vectorMaxCandidates;
+            if (matched.size() >= maxResults || exhausted) {
+                log.info("带筛选的相似搜索完成，候选数：{}，通过数：{}，返回数：{}", candidateIds.size(), passed.size(),
+                        matched.size());
+                return matched;
+            }
+            // 按本轮通过率估算所需候选数（至少翻倍），不超过上限
+            int estimated = passed.isEmpty() ? candidates * 4
+                    : (int) Math.ceil(candidates * 1.5 * maxResults / passed.size());
+            candidates = Math.min(vectorMaxCandidates, Math.max(candidates * 2, estimated));
+            log.info("带筛选的相似搜索候选不足，通过数：{}，扩大候选数到：{}", passed.size(), candidates);
+        }
+    }
+
+    /**
+     * 构造标签筛选子查询，走 item_tags(tag_id, item_id) 覆盖索引
+     * 标签ID均为数据库查出的 Long 值，直接拼接不存在注入风险
+     *
+     * @param tagIds  标签ID列表
+     * @param precise 是否要求命中全部标签
+     * @return 返回 item_id 的子查询 SQL
+     */
+    private String buildTagFilterSubquery(List<Long> tagIds, boolean precise) {
+        String inClause = tagIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        String subquery = "SELECT item_id FROM item_tags WHERE tag_id IN (" + inClause + ")";
+        if (precise) {
+            subquery += " GROUP BY item_id HAVING COUNT(DISTINCT tag_id) = " + tagIds.size();
+        }
+        return subquery;
+    }
+
+    /**
+     * 关键词筛选：优先走全文索引（ngram），关键词过短或未启用全文检索时回退到 LIKE
+     *
+     * @param queryWrapper 查询条件
+     * @param keyword      关键词（可空）
+     * @return 实际使用的全文检索查询串，未使用全文检索时返回 null
+     */
+    private String applyKeywordFilter(LambdaQueryWrapper<Item> queryWrapper, String keyword) {
+        if (!StringUtils.hasText(keyword)) {
+            return null;
+        }
+        String fullTextQuery = fullTextSearchEnabled ? FullTextQueryBuilder.toBooleanQuery(keyword) : null;
+        if (fullTextQuery != null) {
+            queryWrapper.apply("MATCH(description, event_place) AGAINST({0} IN BOOLEAN MODE)", fullTextQuery);
+            return fullTextQuery;
+        }
+        queryWrapper.and(wrapper -> wrapper
+                .like(Item::getDescription, keyword)
+                .or()
+                .like(Item::getEventPlace, keyword));
+        return null;
+    }
+
+    /**
+     * 按 (created_at, id) 游标查询一页，多取一条判断是否还有下一页，不执行 COUNT
+     *
+     * @param queryWrapper 已包含筛选条件与排序的查询条件
+     * @param cursor       上一页返回的游标，空字符串表示首页
+     * @param pageSize     每页数量
+     * @return 游标分页结果
+     */
+    private PageResultVO<Item> selectPageByCursor(LambdaQueryWrapper<Item> queryWrapper, String cursor, int pageSize) {
+        PageUtils.KeysetCursor position = PageUtils.decodeCursor(cursor);
+        if (position != null) {
+            queryWrapper.and(wrapper -> wrapper
+                    .lt(Item::getCreatedAt, position.createdAt())
+                    .or(inner -> inner
+                            .eq(Item::getCreatedAt, position.createdAt())
+                            .lt(Item::getId, position.id())));
+        }
+
+        Page<Item> page = new Page<>(1, pageSize + 1L, false);
         itemMapper.selectPage(page, queryWrapper);
 
-        // 封装分页结果（填充标签）
-        List<Item> records = page.getRecords();
-        if (records != null && !records.isEmpty()) {
-            List<Long> itemIds = records.stream()
-                    .map(Item::getId)
-                    .distinct()
-                    .toList();
+        PageResultVO<Item> result = PageUtils.toCursorPageResult(page.getRecords(), pageSize,
+                item -> PageUtils.encodeCursor(item.getCreatedAt(), item.getId()));
+        fillListFields(result.getRecords());
+        return result;
+    }
 
-            List<ItemTagNameDTO> mappings = tagMapper.selectNamesByItemIds(itemIds);
-            Map<Long, List<String>> tagMap = new HashMap<>();
-            for (ItemTagNameDTO mapping : mappings) {
-                if (mapping.getName() != null && mapping.getName().startsWith(PRIVATE_TAG_NAMESPACE)) {
-                    continue;
-                }
-                tagMap.computeIfAbsent(mapping.getItemId(), key -> new ArrayList<>())
-                        .add(mapping.getName());
-            }
+    /**
+     * 批量填充列表展示字段（标签、图片URL），每页各一次查询，避免 N+1
+     *
+     * @param records 当前页物品
+     */
+    private void fillListFields(List<Item> records) {
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = records.stream()
+                .map(Item::getId)
+                .distinct()
+                .toList();
 
-            for (Item item : records) {
-                item.setTags(tagMap.getOrDefault(item.getId(), new ArrayList<>()));
+        List<ItemTagNameDTO> mappings = tagMapper.selectNamesByItemIds(itemIds);
+        Map<Long, List<String>> tagMap = new HashMap<>();
+        for (ItemTagNameDTO mapping : mappings) {
+            if (mapping.getName() != null && mapping.getName().startsWith(PRIVATE_TAG_NAMESPACE)) {
+                continue;
             }
+            tagMap.computeIfAbsent(mapping.getItemId(), key -> new ArrayList<>())
+                    .add(mapping.getName());
         }
 
-        return PageUtils.toPageResult(page);
+        Map<Long, List<String>> imageUrlMap = new HashMap<>();
+        for (ItemImageUrlDTO mapping : itemImageMapper.selectUrlsByItemIds(itemIds)) {
+            imageUrlMap.computeIfAbsent(mapping.getItemId(), key -> new ArrayList<>())
+                    .add(mapping.getUrl());
+        }
+
+        for (Item item : records) {
+            item.setTags(tagMap.getOrDefault(item.getId(), new ArrayList<>()));
+            item.setImageUrls(imageUrlMap.getOrDefault(item.getId(), new ArrayList<>()));
+        }
     }
 
     private void validateItemTypeRequired(Integer type) {
@@ -620,16 +760,18 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
             imageService.deleteImagesByIds(imageIds);
         }
 
-        // 从向量数据库中删除物品描述
-        vectorService.removeFromVectorDatabase(itemId);
+        // 登记向量同步，索引任务发现物品已删除后移除其向量
+        vectorIndexService.enqueue(itemId);
         // 清理相似搜索缓存，避免继续命中已删除物品
         clearSimilarSearchCache();
+        itemDetailCache.evict(itemId);
 
         return true;
     }
 
     @Override
-    public PageResultVO<Item> listMyItems(Long userId, Integer pageNo, Integer pageSize, Integer type, String keyword) {
+    public PageResultVO<Item> listMyItems(Long userId, Integer pageNo, Integer pageSize, Integer type, String keyword,
+            String cursor) {
         if (userId == null) {
             throw new AppException(ResponseCode.NOT_LOGIN.getCode(), ResponseCode.NOT_LOGIN.getInfo());
         }
@@ -641,148 +783,283 @@ public class ItemServiceImpl extends ServiceImpl<ItemMapper, Item> implements II
         LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(Item::getUserId, userId);
         queryWrapper.eq(type != null, Item::getType, type);
-        queryWrapper.and(StringUtils.hasText(keyword), wrapper -> wrapper
-                .like(Item::getDescription, keyword)
-                .or()
-                .like(Item::getEventPlace, keyword));
-        queryWrapper.orderByDesc(Item::getCreatedAt);
+        applyKeywordFilter(queryWrapper, keyword);
+        queryWrapper.orderByDesc(Item::getCreatedAt).orderByDesc(Item::getId);
+
+        if (cursor != null) {
+            return selectPageByCursor(queryWrapper, cursor, normalizedPageSize);
+        }
 
         itemMapper.selectPage(page, queryWrapper);
 
-        List<Item> records = page.getRecords();
-        if (records != null && !records.isEmpty()) {
-            List<Long> itemIds = records.stream().map(Item::getId).distinct().toList();
-            List<ItemTagNameDTO> mappings = tagMapper.selectNamesByItemIds(itemIds);
-            Map<Long, List<String>> tagMap = new HashMap<>();
-            for (ItemTagNameDTO mapping : mappings) {
-                if (mapping.getName() != null && mapping.getName().startsWith(PRIVATE_TAG_NAMESPACE)) {
-                    continue;
-                }
-                tagMap.computeIfAbsent(mapping.getItemId(), key -> new ArrayList<>()).add(mapping.getName());
-            }
-            for (Item item : records) {
-                item.setTags(tagMap.getOrDefault(item.getId(), new ArrayList<>()));
-            }
-        }
+        fillListFields(page.getRecords());
 
         return PageUtils.toPageResult(page);
     }
 
     @Override
-    public List<Item> searchSimilarItems(String query, List<Long> imageIds, int maxResults) {
+    public List<Item> searchSimilarItems(String query, List<Long> imageIds, int maxResults, Double minScore) {
         try {
-            // 创建 DTO
-            SearchDTO searchDTO = new SearchDTO(query, imageIds, maxResults);
-            String redisKey = searchDTO.toRedisKey();
-
-            // 尝试从 Redis 获取缓存
-            String cachedIds = redisTemplate.opsForValue().get(redisKey);
-            List<Long> itemIds;
-
-            if (cachedIds != null) {
-                // 缓存命中
-                log.info("从 Redis 缓存获取相似物品ID，键：{}", redisKey);
-                itemIds = parseItemIds(cachedIds);
-            } else {
-                // 缓存未命中，执行向量搜索
-                log.info("Redis 缓存未命中，执行向量搜索，键：{}", redisKey);
-
-                // 处理查询文本为空的情况
-                if (query == null) {
-                    query = "";
-                }
-
-                // 获取图片Url列表
-                List<String> imageUrls = new ArrayList<>();
-                if (imageIds != null && !imageIds.isEmpty()) {
-                    List<ImageSearch> imageList = imageSearchService.listByIds(imageIds);
-                    imageUrls = imageList.stream()
-                            .map(ImageSearch::getUrl)
-                            .collect(Collectors.toList());
-                }
-
-                // 使用向量数据库搜索相似的物品ID
-                List<String> similarItemIds = vectorService.searchInCollection(query, imageUrls, maxResults);
-                log.info("向量服务返回的ID列表: {}", similarItemIds);
-                log.info("向量服务返回ID数量: {}", similarItemIds.size());
-
-                // 将向量数据库返回的ID转换为Long类型的物品ID
-                itemIds = similarItemIds.stream()
-                        .filter(id -> id.startsWith("item_"))
-                        .map(id -> Long.parseLong(id.substring(5)))
-                        .collect(Collectors.toList());
-
-                // 存入 Redis，设置过期时间（例如 1 小时）
-                if (!itemIds.isEmpty()) {
-                    String idsJson = itemIds.stream()
-                            .map(String::valueOf)
-                            .collect(Collectors.joining(","));
-                    redisTemplate.opsForValue().set(redisKey, idsJson, 1, TimeUnit.HOURS);
-                    log.info("相似物品ID已缓存到 Redis，键：{}，数量：{}", redisKey, itemIds.size());
-                }
+            double threshold = minScore != null ? minScore : similarMinScore;
+            // 结果按相似度降序，遇到第一个低于阈值的即可截断，尾部低分物品不再回表
+            ScoredIds matches = searchSimilarItemIds(query, imageIds, maxResults, null);
+            int kept = 0;
+            while (kept < matches.size() && matches.scores()[kept] >= threshold) {
+                kept++;
             }
-
-            if (itemIds.isEmpty()) {
+            if (kept == 0) {
                 return new ArrayList<>();
             }
 
-            // 根据ID列表查询物品信息
-            LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<>();
-            queryWrapper.in(Item::getId, itemIds)
-                    .orderByDesc(Item::getCreatedAt);
-
-            List<Item> items = itemMapper.selectList(queryWrapper);
-            log.info("搜索相似物品完成，查询：{}，返回结果数量：{}", query, items.size());
+            // 根据ID列表查询物品信息，并按相似度顺序返回
+            Map<Long, Item> itemsById = itemMapper.selectByIds(matches.idList().subList(0, kept))
+                    .stream()
+                    .collect(Collectors.toMap(Item::getId, item -> item));
+            List<Item> items = new ArrayList<>(kept);
+            for (int i = 0; i < kept; i++) {
+                Item item = itemsById.get(matches.ids()[i]);
+                if (item != null) {
+                    item.setSimilarityScore((double) matches.scores()[i]);
+                    items.add(item);
+                }
+            }
+            log.info("搜索相似物品完成，查询：{}，阈值：{}，返回结果数量：{}", query, threshold, items.size());
             return items;
+        } catch (AppException e) {
+            throw e;
         } catch (Exception e) {
             log.error("搜索相似物品失败，查询：{}", query, e);
             throw new AppException(ResponseCode.UN_ERROR.getCode(), "搜索相似物品失败：" + e.getMessage());
         }
     }
 
+    @Override
+    public PageResultVO<HybridSearchHitVO> hybridSearch(HybridSearchDTO hybridSearchDTO) {
+        String query = hybridSearchDTO.getQuery() == null ? "" : hybridSearchDTO.getQuery().trim();
+        List<Long> imageIds = hybridSearchDTO.getImageIds() == null ? List.of() : hybridSearchDTO.getImageIds();
+        if (query.isEmpty() && imageIds.isEmpty()) {
+            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "查询文本和图片不能同时为空");
+        }
+        int pageNo = hybridSearchDTO.getPageNo() == null || hybridSearchDTO.getPageNo() < 1 ? 1
+                : hybridSearchDTO.getPageNo();
+        int pageSize = hybridSearchDTO.getPageSize() == null || hybridSearchDTO.getPageSize() < 1 ? 10
+                : Math.min(hybridSearchDTO.getPageSize(), 100);
+        Integer type = hybridSearchDTO.getType();
+        Integer status = hybridSearchDTO.getStatus();
+        // 每路最多取回 hybridMaxCandidates 条，超出该范围的页直接返回空页，避免深翻页放大两路检索开销
+        long offset = (long) (pageNo - 1) * pageSize;
+        if (offset >= hybridMaxCandidates) {
+            PageResultVO<HybridSearchHitVO> empty = new PageResultVO<>();
+            empty.setPageNo(pageNo);
+            empty.setPageSize(pageSize);
+            empty.setTotal(0);
+            empty.setRecords(new ArrayList<>());
+            return empty;
+        }
+        // 每路候选数覆盖到当前页末尾，融合结果之外的物品不再分页
+        int candidates = (int) Math.min(hybridMaxCandidates,
+                Math.max(hybridCandidatesPerLeg, offset + pageSize));
+
+        // 两路并行：全文检索（MySQL ngram 全文索引）与向量检索（条件下推到向量库），单路失败或超时按空结果处理
+        CompletableFuture<List<Long>> lexicalLeg = hybridLeg("全文",
+                () -> searchLexicalItemIds(query, type, status, candidates));
+        CompletableFuture<List<Long>> vectorLeg = hybridLeg("向量",
+                () -> searchSimilarItemIds(query, imageIds, candidates, VectorFilter.of(type, status, null, null))
+                        .idList());
+        List<Long> lexicalIds = lexicalLeg.join();
+        List<Long> vectorIds = vectorLeg.join();
+        if (lexicalIds == null && vectorIds == null) {
+            throw new AppException(ResponseCode.UN_ERROR.getCode(), "混合检索失败：全文与向量检索均不可用");
+        }
+
+        List<ReciprocalRankFusion.FusedHit<Long>> fused = ReciprocalRankFusion.fuse(hybridRrfK,
+                Arrays.asList(lexicalIds, vectorIds));
+        // 向量库可能滞后于数据库（删除或状态变更尚未同步），融合后统一按当前数据校验一次
+        if (!fused.isEmpty()) {
+            Set<Long> alive = itemMapper.selectList(new LambdaQueryWrapper<Item>()
+                    .select(Item::getId)
+                    .in(Item::getId, fused.stream().map(ReciprocalRankFusion.FusedHit::getId).toList())
+                    .eq(type != null, Item::getType, type)
+                    .eq(status != null, Item::getStatus, status))
+                    .stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toSet());
+            fused = fused.stream().filter(hit -> alive.contains(hit.getId())).toList();
+        }
+
+        int from = Math.min((pageNo - 1) * pageSize, fused.size());
+        List<ReciprocalRankFusion.FusedHit<Long>> pageHits = fused.subList(from,
+                Math.min(from + pageSize, fused.size()));
+        Map<Long, Item> items = pageHits.isEmpty() ? Map.of()
+                : itemMapper.selectByIds(pageHits.stream().map(ReciprocalRankFusion.FusedHit::getId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(Item::getId, item -> item));
+        fillListFields(new ArrayList<>(items.values()));
+
+        List<HybridSearchHitVO> records = new ArrayList<>(pageHits.size());
+        for (ReciprocalRankFusion.FusedHit<Long> hit : pageHits) {
+            Item item = items.get(hit.getId());
+            if (item == null) {
+                continue;
+            }
+            HybridSearchHitVO vo = new HybridSearchHitVO();
+            vo.setItem(item);
+            vo.setScore(hit.getScore());
+            vo.setLexicalRank(hit.getRank(0));
+            vo.setVectorRank(hit.getRank(1));
+            records.add(vo);
+        }
+        log.info("混合检索完成，查询：{}，全文命中：{}，向量命中：{}，融合后：{}", query,
+                lexicalIds == null ? -1 : lexicalIds.size(), vectorIds == null ? -1 : vectorIds.size(), fused.size());
+
+        PageResultVO<HybridSearchHitVO> result = new PageResultVO<>();
+        result.setPageNo(pageNo);
+        result.setPageSize(pageSize);
+        result.setTotal(fused.size());
+        result.setRecords(records);
+        return result;
+    }
+
     /**
-     * 解析 Redis 中存储的 ID 字符串
+     * 提交混合检索的一路到专用线程池，失败或超时返回 null（由融合逻辑视为该路无结果）
      */
-    private List<Long> parseItemIds(String idsStr) {
-        if (idsStr == null || idsStr.isEmpty()) {
-            return new ArrayList<>();
+    private CompletableFuture<List<Long>> hybridLeg(String name, Supplier<List<Long>> leg) {
+        return CompletableFuture.supplyAsync(leg, hybridSearchExecutor)
+                .orTimeout(hybridLegTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("混合检索{}检索失败，按无结果参与融合：{}", name, e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * 全文检索物品ID：优先按 ngram 全文索引相关度排序，关键词过短或未启用全文检索时回退到 LIKE（按创建时间排序）
+     *
+     * @param query  查询文本
+     * @param type   物品类型（可空）
+     * @param status 物品状态（可空）
+     * @param limit  返回条数
+     * @return 物品ID列表
+     */
+    private List<Long> searchLexicalItemIds(String query, Integer type, Integer status, int limit) {
+        if (!StringUtils.hasText(query)) {
+            return List.of();
         }
-        return Arrays.stream(idsStr.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
+        LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<Item>()
+                .eq(type != null, Item::getType, type)
+                .eq(status != null, Item::getStatus, status);
+        String fullTextQuery = applyKeywordFilter(queryWrapper, query);
+        if (fullTextQuery != null) {
+            queryWrapper.eq(Item::getIsDeleted, 0);
+            return itemMapper.selectIdsByRelevance(queryWrapper, fullTextQuery, limit);
+        }
+        queryWrapper.select(Item::getId)
+                .orderByDesc(Item::getCreatedAt)
+                .orderByDesc(Item::getId)
+                .last("LIMIT " + limit);
+        return itemMapper.selectList(queryWrapper).stream().map(Item::getId).toList();
     }
 
     /**
-     * 清理相似搜索缓存
-     * 
+     * 向量检索相似物品ID与相似度（按相似度降序），结果连同得分按查询参数与过滤条件缓存到 Redis
      *
+     * @param query    查询文本
+     * @param imageIds 搜索图片ID列表
+     * @param topK     返回条数
+     * @param filter   下推到向量库的元数据过滤条件（可空）
+     * @return 物品ID与相似度
      */
-    private void clearSimilarSearchCache() {
+    private ScoredIds searchSimilarItemIds(String query, List<Long> imageIds, int topK,
+            VectorFilter filter) {
         try {
-            Set<String> keysToDelete = new HashSet<>();
-            ScanOptions options = ScanOptions.scanOptions()
-                    .match("similar:search:*")
-                    .count(100)
-                    .build();
-
-            // 使用SCAN命令遍历匹配的键
-            try (Cursor<String> cursor = redisTemplate.scan(options)) {
-                while (cursor.hasNext()) {
-                    keysToDelete.add(cursor.next());
+            SearchDTO searchDTO = new SearchDTO(query, imageIds, topK);
+            String redisKey = searchDTO.toRedisKey(searchCacheGeneration.current(),
+                    filter == null ? null : filter.cacheKey());
+
+            // 同一键的并发请求合并为一次向量搜索，其余请求等待缓存结果
+            return singleFlight.execute(redisKey, () -> readCachedSimilarItemIds(redisKey),
+                    () -> loadSimilarItemIds(redisKey, query, imageIds, topK, filter));
+        } catch (AppException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("搜索相似物品失败，查询：{}", query, e);
+            throw new AppException(ResponseCode.UN_ERROR.getCode(), "搜索相似物品失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 缓存未命中时执行向量搜索，并将结果（含空结果，避免等待中的请求重复计算）写入 Redis
+     */
+    private ScoredIds loadSimilarItemIds(String redisKey, String query, List<Long> imageIds, int topK,
+            VectorFilter filter) {
+        try {
+            log.info("Redis 缓存未命中，执行向量搜索，键：{}", redisKey);
+
+            // 获取图片Url列表
+            List<String> imageUrls = new ArrayList<>();
+            if (imageIds != null && !imageIds.isEmpty()) {
+                List<ImageSearch> imageList = imageSearchService.listByIds(imageIds);
+                imageUrls = imageList.stream()
+                        .map(ImageSearch::getUrl)
+                        .collect(Collectors.toList());
+            }
+
+            // 使用向量数据库搜索相似的物品ID
+            List<VectorMatch> similarItems = vectorService.searchScoredInCollection(query == null ? "" : query,
+                    imageUrls, topK, filter);
+            log.info("向量服务返回ID数量: {}", similarItems.size());
+
+            // 将向量数据库返回的ID转换为Long类型的物品ID
+            long[] ids = new long[similarItems.size()];
+            float[] scores = new float[similarItems.size()];
+            int size = 0;
+            for (VectorMatch match : similarItems) {
+                Long itemId = VectorIds.toItemId(match.id());
+                if (itemId != null) {
+                    ids[size] = itemId;
+                    scores[size++] = (float) match.score();
                 }
             }
+            ScoredIds matches = new ScoredIds(Arrays.copyOf(ids, size), Arrays.copyOf(scores, size));
 
-            if (!keysToDelete.isEmpty()) {
-                Long deletedCount = redisTemplate.delete(keysToDelete);
-                log.info("已清理{}个相似搜索缓存", deletedCount);
+            // 以紧凑二进制存入 Redis，设置过期时间（例如 1 小时），空结果只短暂缓存
+            byte[] encoded = ScoredIdCodec.encode(matches);
+            if (!matches.isEmpty()) {
+                binaryRedisTemplate.opsForValue().set(redisKey, encoded, 1, TimeUnit.HOURS);
+                log.info("相似物品ID已缓存到 Redis，键：{}，数量：{}，字节数：{}", redisKey, size, encoded.length);
             } else {
-                log.info("未找到需要清理的相似搜索缓存");
+                binaryRedisTemplate.opsForValue().set(redisKey, encoded, 1, TimeUnit.MINUTES);
             }
-
+            return matches;
         } catch (Exception e) {
-            log.warn("清理相似搜索缓存时出现异常", e);
+            log.error("搜索相似物品失败，查询：{}", query, e);
+            throw new AppException(ResponseCode.UN_ERROR.getCode(), "搜索相似物品失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 读取 Redis 中二进制编码的相似搜索结果，未命中或格式不符（如旧版字符串缓存）时返回 null
+     */
+    private ScoredIds readCachedSimilarItemIds(String redisKey) {
+        byte[] cached = binaryRedisTemplate.opsForValue().get(redisKey);
+        if (cached == null) {
+            return null;
+        }
+        try {
+            ScoredIds matches = ScoredIdCodec.decode(cached);
+            log.info("从 Redis 缓存获取相似物品ID，键：{}", redisKey);
+            return matches;
+        } catch (IllegalArgumentException e) {
+            log.warn("相似搜索缓存格式无法解析，重新计算，键：{}", redisKey);
+            return null;
         }
     }
+
+    /**
+     * 清理相似搜索缓存
+     * 递增缓存代数即可让所有旧键失效，耗时与缓存规模无关，旧键依赖 TTL 过期
+     */
+    private void clearSimilarSearchCache() {
+        searchCacheGeneration.bump();
+    }
 }
@@ -1,31 +1,51 @@
 package com.whut.lostandfoundforwhut.service.impl;
 
 import com.whut.lostandfoundforwhut.service.IRedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * @author DXR
  * @date 2026/01/30
  * @description Redis 服务实现，封装常用操作
  */
+@Slf4j
 @Service
 public class RedisService implements IRedisService {
+    // 单次 SCAN 的建议返回数量与单条 UNLINK 携带的 key 数量
+    private static final int SCAN_BATCH_SIZE = 500;
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final Executor maintenanceExecutor;
 
     /**
      * @author DXR
      * @date 2026/01/30
      * @description 构造函数注入 RedisTemplate
      * @param redisTemplate RedisTemplate
+     * @param maintenanceExecutor 批量清理等维护任务专用线程池
      */
-    public RedisService(RedisTemplate<String, Object> redisTemplate) {
+    public RedisService(RedisTemplate<String, Object> redisTemplate,
+            @Qualifier("redisMaintenanceExecutor") Executor maintenanceExecutor) {
         this.redisTemplate = redisTemplate;
+        this.maintenanceExecutor = maintenanceExecutor;
     }
 
     @Override
@@ -58,6 +78,11 @@ public class RedisService implements IRedisService {
         return redisTemplate.hasKey(key);
     }
 
+    @Override
+    public Boolean setIfAbsent(String key, Object value, Duration ttl) {
+        return redisTemplate.opsForValue().setIfAbsent(key, value, ttl);
+    }
+
     @Override
     public Boolean expire(String key, Duration ttl) {
         return redisTemplate.expire(key, ttl);
@@ -143,10 +168,130 @@ public class RedisService implements IRedisService {
         if (prefix == null || prefix.isEmpty()) {
             return 0L;
         }
-        Set<String> keys = redisTemplate.keys(prefix + "*");
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_BATCH_SIZE).build();
+        long removed = 0L;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    removed += unlinkBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        removed += unlinkBatch(batch);
+        log.debug("按前缀清理 Redis key 完成，prefix={}，数量={}", prefix, removed);
+        return removed;
+    }
+
+    @Override
+    public CompletableFuture<Long> removeByPrefixAsync(String prefix) {
+        return CompletableFuture.supplyAsync(() -> removeByPrefix(prefix), maintenanceExecutor)
+                .whenComplete((removed, e) -> {
+                    if (e != null) {
+                        log.warn("异步按前缀清理 Redis key 失败，prefix={}", prefix, e);
+                    }
+                });
+    }
+
+    @Override
+    public void setValueIndexed(String indexKey, String key, Object value, Duration ttl) {
+        executeBatch(ops -> {
+            ops.opsForValue().set(key, value, ttl);
+            ops.opsForSet().add(indexKey, key);
+            // 索引随最新写入续期，至少与其登记的 key 存活一样久
+            ops.expire(indexKey, ttl);
+        });
+    }
+
+    @Override
+    public Long removeByIndex(String indexKey) {
+        long removed = 0L;
+        // SPOP 逐批弹出，并发登记的新 key 不会因为删除索引而丢失
+        while (true) {
+            List<Object> members = redisTemplate.opsForSet().pop(indexKey, SCAN_BATCH_SIZE);
+            if (members == null || members.isEmpty()) {
+                break;
+            }
+            List<String> batch = new ArrayList<>(members.size());
+            for (Object member : members) {
+                if (member != null) {
+                    batch.add(member.toString());
+                }
+            }
+            removed += unlinkBatch(batch);
+            if (members.size() < SCAN_BATCH_SIZE) {
+                break;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public CompletableFuture<Long> removeByIndexAsync(String indexKey) {
+        return CompletableFuture.supplyAsync(() -> removeByIndex(indexKey), maintenanceExecutor)
+                .whenComplete((removed, e) -> {
+                    if (e != null) {
+                        log.warn("异步按索引清理 Redis key 失败，indexKey={}", indexKey, e);
+                    }
+                });
+    }
+
+    @Override
+    public List<Object> multiGet(List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            // 管道/事务中返回 null，按未命中处理
+            return new ArrayList<>(Collections.nCopies(keys.size(), null));
+        }
+        return values;
+    }
+
+    @Override
+    public void multiSet(Map<String, Object> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForValue().multiSet(values);
+    }
+
+    @Override
+    public void multiSetWithTtl(Map<String, Object> values, Duration ttl) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        executeBatch(ops -> values.forEach((key, value) -> ops.opsForValue().set(key, value, ttl)));
+    }
+
+    @Override
+    public Long multiRemove(Collection<String> keys) {
         if (keys == null || keys.isEmpty()) {
             return 0L;
         }
         return redisTemplate.delete(keys);
     }
+
+    @Override
+    public List<Object> executeBatch(Consumer<RedisOperations<String, Object>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
+    private long unlinkBatch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        Long unlinked = redisTemplate.unlink(keys);
+        return unlinked == null ? 0L : unlinked;
+    }
 }
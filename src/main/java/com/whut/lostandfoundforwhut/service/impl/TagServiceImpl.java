@@ -5,7 +5,10 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.whut.lostandfoundforwhut.common.constant.Constants;
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
 import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.common.utils.cache.CacheInvalidationBus;
+import com.whut.lostandfoundforwhut.common.utils.cache.ItemDetailCache;
 import com.whut.lostandfoundforwhut.common.utils.page.PageUtils;
 import com.whut.lostandfoundforwhut.mapper.ItemTagMapper;
 import com.whut.lostandfoundforwhut.mapper.TagMapper;
@@ -53,6 +56,8 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements ITagS
     private final TagMapper tagMapper;
     private final ItemTagMapper itemTagMapper;
     private final IRedisService redisService;
+    private final ItemDetailCache itemDetailCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     public PageResultVO<Tag> listTags(String keyword, Integer pageNo, Integer pageSize) {
@@ -80,7 +85,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements ITagS
         tagMapper.selectPage(page, queryWrapper);
 
         PageResultVO<Tag> result = PageUtils.toPageResult(page);
-        redisService.setValue(cacheKey, result, TAG_LIST_CACHE_TTL);
+        redisService.setValueIndexed(Constants.RedisKey.TAG_LIST_INDEX, cacheKey, result, TAG_LIST_CACHE_TTL);
         return result;
     }
 
@@ -163,8 +168,10 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements ITagS
             }
         }
 
+        // 标签字典仅在 getOrCreateTags 新建标签时变化，那里已失效标签列表缓存
         redisService.remove(buildItemTagsKey(itemId));
-        evictTagListCache();
+        itemDetailCache.evict(itemId);
+        cacheInvalidationBus.publish(CacheEventType.TAGS_CHANGED, itemId);
     }
 
     @Override
@@ -258,6 +265,8 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements ITagS
     }
 
     private void evictTagListCache() {
-        redisService.removeByPrefix(Constants.RedisKey.TAG_LIST);
+        // 标签列表缓存可能很多页，放到 Redis 维护线程池中清理，不阻塞创建标签的请求
+        redisService.removeByIndexAsync(Constants.RedisKey.TAG_LIST_INDEX);
+        cacheInvalidationBus.publish(CacheEventType.TAGS_CHANGED, null);
     }
 }
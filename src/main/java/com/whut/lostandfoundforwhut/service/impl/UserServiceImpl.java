@@ -4,8 +4,10 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.whut.lostandfoundforwhut.common.constant.Constants;
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
 import com.whut.lostandfoundforwhut.common.enums.user.UserStatus;
 import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.common.utils.cache.CacheInvalidationBus;
 import com.whut.lostandfoundforwhut.common.utils.security.jwt.JwtUtil;
 import com.whut.lostandfoundforwhut.mapper.UserMapper;
 import com.whut.lostandfoundforwhut.model.dto.UserCreateDTO;
@@ -25,6 +27,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author DXR
@@ -39,6 +45,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final IRedisService redisService;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     private static final Duration USER_CACHE_TTL = Duration.ofMinutes(30);
     private static final String WHUT_EMAIL_SUFFIX = "@whut.edu.cn";
@@ -330,18 +337,25 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
         if (user == null || user.getId() == null || !StringUtils.hasText(user.getEmail())) {
             return;
         }
-        redisService.setValue(buildUserProfileByEmailKey(user.getEmail()), user, USER_CACHE_TTL);
-        redisService.setValue(buildUserIdByEmailKey(user.getEmail()), user.getId(), USER_CACHE_TTL);
-        redisService.setValue(buildUserEmailByIdKey(user.getId()), user.getEmail(), USER_CACHE_TTL);
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(buildUserProfileByEmailKey(user.getEmail()), user);
+        values.put(buildUserIdByEmailKey(user.getEmail()), user.getId());
+        values.put(buildUserEmailByIdKey(user.getId()), user.getEmail());
+        redisService.multiSetWithTtl(values, USER_CACHE_TTL);
     }
 
     private void evictUserCache(String email, Long userId) {
+        List<String> keys = new ArrayList<>(3);
         if (StringUtils.hasText(email)) {
-            redisService.remove(buildUserProfileByEmailKey(email));
-            redisService.remove(buildUserIdByEmailKey(email));
+            keys.add(buildUserProfileByEmailKey(email));
+            keys.add(buildUserIdByEmailKey(email));
         }
         if (userId != null) {
-            redisService.remove(buildUserEmailByIdKey(userId));
+            keys.add(buildUserEmailByIdKey(userId));
+        }
+        redisService.multiRemove(keys);
+        if (userId != null) {
+            cacheInvalidationBus.publish(CacheEventType.USER_CHANGED, userId);
         }
     }
 
@@ -0,0 +1,229 @@
+package com.whut.lostandfoundforwhut.service.impl;
+
+import com.whut.lostandfoundforwhut.common.enums.item.ItemIndexStatus;
+import com.whut.lostandfoundforwhut.common.enums.item.ItemStatus;
+import com.whut.lostandfoundforwhut.common.enums.vector.VectorIndexTaskStatus;
+import com.whut.lostandfoundforwhut.common.utils.cache.SearchCacheGeneration;
+import com.whut.lostandfoundforwhut.mapper.ItemImageMapper;
+import com.whut.lostandfoundforwhut.mapper.ItemMapper;
+import com.whut.lostandfoundforwhut.mapper.VectorIndexOutboxMapper;
+import com.whut.lostandfoundforwhut.model.dto.ItemImageUrlDTO;
+import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.model.entity.VectorIndexOutbox;
+import com.whut.lostandfoundforwhut.service.IVectorIndexService;
+import com.whut.lostandfoundforwhut.service.IVectorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量索引服务实现：发件箱任务以租约方式领取，同一物品的多条任务合并为一次对齐，
+ * 按物品当前数据库状态写入或删除向量，失败按指数退避重试
+ */
+@Slf4j
+@Service
+public class VectorIndexServiceImpl implements IVectorIndexService {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final VectorIndexOutboxMapper outboxMapper;
+    private final ItemMapper itemMapper;
+    private final ItemImageMapper itemImageMapper;
+    private final IVectorService vectorService;
+    private final SearchCacheGeneration searchCacheGeneration;
+    private final Executor executor;
+    private final int batchSize;
+    private final Duration leaseTtl;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param outboxMapper 发件箱 Mapper
+     * @param itemMapper 物品 Mapper
+     * @param itemImageMapper 物品图片 Mapper
+     * @param vectorService 向量库服务
+     * @param searchCacheGeneration 相似搜索缓存代数
+     * @param executor 向量索引线程池
+     * @param batchSize 单批领取任务数
+     * @param leaseTtl 领取租约时长
+     * @param maxAttempts 最大尝试次数
+     * @param backoffBase 首次重试间隔
+     * @param backoffMax 最大重试间隔
+     */
+    public VectorIndexServiceImpl(VectorIndexOutboxMapper outboxMapper, ItemMapper itemMapper,
+            ItemImageMapper itemImageMapper, IVectorService vectorService,
+            SearchCacheGeneration searchCacheGeneration,
+            @Qualifier("vectorIndexExecutor") Executor executor,
+            @Value("${app.vector-index.batch-size:32}") int batchSize,
+            @Value("${app.vector-index.lease-ttl:5m}") Duration leaseTtl,
+            @Value("${app.vector-index.max-attempts:8}") int maxAttempts,
+            @Value("${app.vector-index.backoff-base:5s}") Duration backoffBase,
+            @Value("${app.vector-index.backoff-max:10m}") Duration backoffMax) {
+        this.outboxMapper = outboxMapper;
+        this.itemMapper = itemMapper;
+        this.itemImageMapper = itemImageMapper;
+        this.vectorService = vectorService;
+        this.searchCacheGeneration = searchCacheGeneration;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.leaseTtl = leaseTtl;
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+    }
+
+    @Override
+    public void enqueue(Long itemId) {
+        if (itemId == null) {
+            return;
+        }
+        outboxMapper.insert(VectorIndexOutbox.builder()
+                .itemId(itemId)
+                .status(VectorIndexTaskStatus.PENDING.getCode())
+                .attempts(0)
+                .build());
+    }
+
+    @Override
+    public int processPendingBatch() {
+        String owner = UUID.randomUUID().toString();
+        int claimed = outboxMapper.claimBatch(owner, leaseTtl.toSeconds(), batchSize);
+        if (claimed <= 0) {
+            return 0;
+        }
+        List<VectorIndexOutbox> tasks = outboxMapper.selectClaimed(owner);
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        // 同一物品的多条任务只需按最新数据库状态对齐一次
+        Map<Long, List<VectorIndexOutbox>> tasksByItem = tasks.stream()
+                .collect(Collectors.groupingBy(VectorIndexOutbox::getItemId, LinkedHashMap::new,
+                        Collectors.toList()));
+        List<Long> itemIds = new ArrayList<>(tasksByItem.keySet());
+        // 物品与图片URL各一次批量查询；已逻辑删除的物品查不到，按删除处理
+        Map<Long, Item> items = itemMapper.selectByIds(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<String>> urlsByItem = itemImageMapper.selectUrlsByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(ItemImageUrlDTO::getItemId,
+                        Collectors.mapping(ItemImageUrlDTO::getUrl, Collectors.toList())));
+
+        // 需要移除向量的物品（已删除、已结束或无图片）合并为一次批量删除
+        List<Long> removals = itemIds.stream()
+                .filter(itemId -> needsRemoval(items.get(itemId), urlsByItem.get(itemId)))
+                .toList();
+        long synced = 0;
+        if (!removals.isEmpty()) {
+            try {
+                vectorService.removeAll(removals);
+                for (Long itemId : removals) {
+                    complete(owner, itemId, items.get(itemId), tasksByItem.get(itemId));
+                }
+                synced += removals.size();
+            } catch (Exception e) {
+                for (Long itemId : removals) {
+                    fail(owner, itemId, items.get(itemId), tasksByItem.get(itemId), e);
+                }
+            }
+        }
+
+        // 需要写入向量的物品逐个生成嵌入（受线程池并发度限制），互不影响重试
+        List<CompletableFuture<Boolean>> futures = itemIds.stream()
+                .filter(itemId -> !removals.contains(itemId))
+                .map(itemId -> CompletableFuture.supplyAsync(() -> upsertItem(owner, itemId, items.get(itemId),
+                        urlsByItem.get(itemId), tasksByItem.get(itemId)), executor))
+                .toList();
+        synced += futures.stream().filter(CompletableFuture::join).count();
+
+        if (synced > 0) {
+            // 向量库内容已变化，使相似搜索缓存整体失效
+            searchCacheGeneration.bump();
+        }
+        log.info("向量索引批次完成，任务数：{}，物品数：{}，成功：{}", tasks.size(), itemIds.size(), synced);
+        return tasks.size();
+    }
+
+    private boolean needsRemoval(Item item, List<String> imageUrls) {
+        return item == null || ItemStatus.CLOSED.getCode().equals(item.getStatus())
+                || imageUrls == null || imageUrls.isEmpty();
+    }
+
+    private boolean upsertItem(String owner, Long itemId, Item item, List<String> imageUrls,
+            List<VectorIndexOutbox> tasks) {
+        try {
+            vectorService.upsertItemVector(item, imageUrls);
+            complete(owner, itemId, item, tasks);
+            return true;
+        } catch (Exception e) {
+            fail(owner, itemId, item, tasks, e);
+            return false;
+        }
+    }
+
+    private void complete(String owner, Long itemId, Item item, List<VectorIndexOutbox> tasks) {
+        outboxMapper.deleteClaimed(tasks.stream().map(VectorIndexOutbox::getId).toList(), owner);
+        if (item != null) {
+            itemMapper.updateIndexStatus(itemId, ItemIndexStatus.SYNCED.getCode(), true);
+        }
+    }
+
+    private void fail(String owner, Long itemId, Item item, List<VectorIndexOutbox> tasks, Exception error) {
+        List<Long> taskIds = tasks.stream().map(VectorIndexOutbox::getId).toList();
+        int attempts = tasks.stream().mapToInt(task -> task.getAttempts() == null ? 1 : task.getAttempts())
+                .max().orElse(1);
+        boolean exhausted = attempts >= maxAttempts;
+        long delaySeconds = backoffSeconds(attempts);
+        try {
+            outboxMapper.releaseFailed(taskIds, owner,
+                    exhausted ? VectorIndexTaskStatus.FAILED.getCode() : VectorIndexTaskStatus.PENDING.getCode(),
+                    delaySeconds, truncate(error.getMessage()));
+            if (exhausted && item != null) {
+                itemMapper.updateIndexStatus(itemId, ItemIndexStatus.FAILED.getCode(), false);
+            }
+        } catch (Exception releaseError) {
+            // 释放失败时任务会在租约到期后被重新领取
+            log.warn("释放向量索引任务失败，物品ID：{}", itemId, releaseError);
+        }
+        if (exhausted) {
+            log.error("物品向量同步失败且已达最大重试次数，物品ID：{}，尝试次数：{}", itemId, attempts, error);
+        } else {
+            log.warn("物品向量同步失败，{} 秒后重试，物品ID：{}，尝试次数：{}", delaySeconds, itemId, attempts, error);
+        }
+    }
+
+    /**
+     * 指数退避并加入 ±20% 抖动，避免大量失败任务在同一时刻集中重试
+     */
+    private long backoffSeconds(int attempts) {
+        long base = Math.max(1, backoffBase.toSeconds());
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);
+        long delay = Math.min(base << shift, Math.max(base, backoffMax.toSeconds()));
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Math.max(1, Math.round(delay * jitter));
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,428 @@
+package com.whut.lostandfoundforwhut.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.enums.item.ItemStatus;
+import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.common.utils.cache.SearchCacheGeneration;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorCollectionAlias;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorIds;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorMetadata;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorStore;
+import com.whut.lostandfoundforwhut.mapper.ItemImageMapper;
+import com.whut.lostandfoundforwhut.mapper.ItemMapper;
+import com.whut.lostandfoundforwhut.model.dto.ItemImageUrlDTO;
+import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.model.vo.VectorReindexStatusVO;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import com.whut.lostandfoundforwhut.service.IVectorIndexService;
+import com.whut.lostandfoundforwhut.service.IVectorReindexService;
+import com.whut.lostandfoundforwhut.service.IVectorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量库全量重建：按物品ID游标分批读取有效物品，限速并发生成嵌入后批量 upsert 到影子集合；
+ * 重建期间在线写入同步双写到影子集合，完成后原子切换集合别名。进度保存在 Redis，中断后可续跑
+ */
+@Slf4j
+@Service
+public class VectorReindexServiceImpl implements IVectorReindexService {
+    private static final String STATUS_IDLE = "IDLE";
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+    private static final String STATUS_CANCELLED = "CANCELLED";
+    private static final DateTimeFormatter COLLECTION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ItemMapper itemMapper;
+    private final ItemImageMapper itemImageMapper;
+    private final IVectorService vectorService;
+    private final IVectorIndexService vectorIndexService;
+    private final VectorStore vectorStore;
+    private final VectorCollectionAlias collectionAlias;
+    private final SearchCacheGeneration searchCacheGeneration;
+    private final IRedisService redisService;
+    private final Executor executor;
+    private final String baseCollectionName;
+    private final int batchSize;
+    private final int ratePerSecond;
+    private final Duration lockTtl;
+    private final boolean dropPrevious;
+    private final Duration dropGrace;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean cancelRequested = false;
+    private long nextPermitNanos = 0L;
+
+    /**
+     * @author DXR
+     * @date 2026/10/17
+     * @description 构造函数
+     * @param itemMapper 物品 Mapper
+     * @param itemImageMapper 物品图片 Mapper
+     * @param vectorService 向量库服务
+     * @param vectorIndexService 向量索引发件箱服务（失败物品转交重试）
+     * @param vectorStore 向量存储
+     * @param collectionAlias 向量集合别名
+     * @param searchCacheGeneration 相似搜索缓存代数
+     * @param redisService Redis 服务
+     * @param executor 重建嵌入线程池
+     * @param baseCollectionName 集合基础名称
+     * @param batchSize 每批读取物品数
+     * @param ratePerSecond 每秒最多发起的嵌入请求数（0 表示不限速）
+     * @param lockTtl 互斥锁过期时间（每批续期）
+     * @param dropPrevious 切换后是否删除旧集合
+     * @param dropGrace 删除旧集合前的等待时间（至少为别名刷新间隔的两倍，保证其他实例已切换且在途请求结束）
+     */
+    public VectorReindexServiceImpl(ItemMapper itemMapper, ItemImageMapper itemImageMapper,
+            IVectorService vectorService, IVectorIndexService vectorIndexService, VectorStore vectorStore,
+            VectorCollectionAlias collectionAlias, SearchCacheGeneration searchCacheGeneration,
+            IRedisService redisService,
+            @Qualifier("vectorReindexExecutor") Executor executor,
+            @Value("${app.vector-store.collection-name:item_image_vector}") String baseCollectionName,
+            @Value("${app.vector-reindex.batch-size:100}") int batchSize,
+            @Value("${app.vector-reindex.rate-per-second:10}") int ratePerSecond,
+            @Value("${app.vector-reindex.lock-ttl:2m}") Duration lockTtl,
+            @Value("${app.vector-reindex.drop-previous:true}") boolean dropPrevious,
+            @Value("${app.vector-reindex.drop-grace:10s}") Duration dropGrace) {
+        this.itemMapper = itemMapper;
+        this.itemImageMapper = itemImageMapper;
+        this.vectorService = vectorService;
+        this.vectorIndexService = vectorIndexService;
+        this.vectorStore = vectorStore;
+        this.collectionAlias = collectionAlias;
+        this.searchCacheGeneration = searchCacheGeneration;
+        this.redisService = redisService;
+        this.executor = executor;
+        this.baseCollectionName = baseCollectionName;
+        this.batchSize = batchSize;
+        this.ratePerSecond = ratePerSecond;
+        this.lockTtl = lockTtl;
+        this.dropPrevious = dropPrevious;
+        Duration minGrace = collectionAlias.refreshInterval().multipliedBy(2);
+        if (dropGrace.compareTo(minGrace) < 0) {
+            log.warn("drop-grace={} 小于别名刷新间隔的两倍，调整为 {}", dropGrace, minGrace);
+            dropGrace = minGrace;
+        }
+        this.dropGrace = dropGrace;
+    }
+
+    @Override
+    public VectorReindexStatusVO start(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            throw new AppException(ResponseCode.DUPLICATE_OPERATION.getCode(), "向量重建正在进行中");
+        }
+        try {
+            if (!Boolean.TRUE.equals(redisService.setIfAbsent(Constants.RedisKey.VECTOR_REINDEX_LOCK, nodeId, lockTtl))) {
+                throw new AppException(ResponseCode.DUPLICATE_OPERATION.getCode(), "其他实例正在执行向量重建");
+            }
+
+            Map<String, Object> state = loadState();
+            String previousStatus = asString(state.get("status"));
+            String target = asString(state.get("targetCollection"));
+            boolean resumable = resume && target != null
+                    && (STATUS_RUNNING.equals(previousStatus) || STATUS_FAILED.equals(previousStatus));
+            if (resumable) {
+                log.info("向量重建从物品ID {} 之后继续，影子集合：{}", state.get("lastItemId"), target);
+            } else {
+                target = baseCollectionName + "_" + LocalDateTime.now().format(COLLECTION_SUFFIX);
+                vectorStore.createCollection(target);
+                long now = System.currentTimeMillis();
+                state = new HashMap<>();
+                state.put("sourceCollection", collectionAlias.active());
+                state.put("targetCollection", target);
+                state.put("lastItemId", 0L);
+                state.put("processed", 0L);
+                state.put("indexed", 0L);
+                state.put("skipped", 0L);
+                state.put("failed", 0L);
+                state.put("startedAt", now);
+                log.info("开始向量全量重建，影子集合：{}", target);
+            }
+            // 先开启双写再开始扫描，保证扫描过程中的在线变更同样进入影子集合
+            collectionAlias.startDualWrite(target);
+            state.put("status", STATUS_RUNNING);
+            state.put("lastError", "");
+            state.put("finishedAt", 0L);
+            saveState(state);
+
+            cancelRequested = false;
+            Map<String, Object> initialState = state;
+            Thread coordinator = new Thread(() -> run(initialState), "vector-reindex-coordinator");
+            coordinator.setDaemon(true);
+            coordinator.start();
+            return getStatus();
+        } catch (RuntimeException e) {
+            releaseLock();
+            running.set(false);
+            throw e;
+        }
+    }
+
+    @Override
+    public VectorReindexStatusVO getStatus() {
+        Map<String, Object> state = loadState();
+        VectorReindexStatusVO vo = new VectorReindexStatusVO();
+        String status = asString(state.get("status"));
+        vo.setStatus(status == null ? STATUS_IDLE : status);
+        vo.setRunningOnThisNode(running.get());
+        vo.setSourceCollection(asString(state.get("sourceCollection")));
+        vo.setTargetCollection(asString(state.get("targetCollection")));
+        vo.setLastItemId(asLong(state.get("lastItemId")));
+        vo.setProcessed(asLong(state.get("processed")));
+        vo.setIndexed(asLong(state.get("indexed")));
+        vo.setSkipped(asLong(state.get("skipped")));
+        vo.setFailed(asLong(state.get("failed")));
+        String lastError = asString(state.get("lastError"));
+        vo.setLastError(lastError == null || lastError.isEmpty() ? null : lastError);
+        long startedAt = asLong(state.get("startedAt"));
+        long updatedAt = asLong(state.get("updatedAt"));
+        vo.setStartedAt(toDateTime(startedAt));
+        vo.setUpdatedAt(toDateTime(updatedAt));
+        vo.setFinishedAt(toDateTime(asLong(state.get("finishedAt"))));
+        if (startedAt > 0 && updatedAt > startedAt) {
+            vo.setThroughputPerSecond(vo.getProcessed() * 1000.0 / (updatedAt - startedAt));
+        }
+        return vo;
+    }
+
+    @Override
+    public void cancel() {
+        if (!running.get()) {
+            throw new AppException(ResponseCode.RESOURCE_NOT_FOUND.getCode(), "本实例没有正在执行的向量重建");
+        }
+        cancelRequested = true;
+    }
+
+    private void run(Map<String, Object> state) {
+        String target = asString(state.get("targetCollection"));
+        try {
+            // 等待一个别名刷新间隔，确保错过广播的实例也已开始双写，再开始扫描
+            TimeUnit.MILLISECONDS.sleep(collectionAlias.refreshInterval().toMillis());
+            long lastItemId = asLong(state.get("lastItemId"));
+            while (!cancelRequested) {
+                LocalDateTime batchReadAt = LocalDateTime.now();
+                List<Item> items = itemMapper.selectList(new LambdaQueryWrapper<Item>()
+                        .gt(Item::getId, lastItemId)
+                        .eq(Item::getStatus, ItemStatus.ACTIVE.getCode())
+                        .orderByAsc(Item::getId)
+                        .last("LIMIT " + batchSize));
+                if (items.isEmpty()) {
+                    break;
+                }
+                indexBatch(target, items, batchReadAt, state);
+                lastItemId = items.get(items.size() - 1).getId();
+                state.put("lastItemId", lastItemId);
+                saveState(state);
+                redisService.expire(Constants.RedisKey.VECTOR_REINDEX_LOCK, lockTtl);
+            }
+
+            if (cancelRequested) {
+                collectionAlias.stopDualWrite();
+                state.put("status", STATUS_CANCELLED);
+                state.put("finishedAt", System.currentTimeMillis());
+                saveState(state);
+                // 同样等待其他实例停止双写后再删除影子集合
+                TimeUnit.MILLISECONDS.sleep(dropGrace.toMillis());
+                dropCollectionQuietly(target);
+                log.info("向量重建已取消，影子集合已删除：{}", target);
+                return;
+            }
+
+            String previous = collectionAlias.active();
+            collectionAlias.switchTo(target);
+            searchCacheGeneration.bump();
+            state.put("status", STATUS_COMPLETED);
+            state.put("finishedAt", System.currentTimeMillis());
+            saveState(state);
+            log.info("向量重建完成，已切换到集合：{}，处理：{}，写入：{}，跳过：{}，失败：{}", target,
+                    state.get("processed"), state.get("indexed"), state.get("skipped"), state.get("failed"));
+
+            if (dropPrevious && !Objects.equals(previous, target)) {
+                TimeUnit.MILLISECONDS.sleep(dropGrace.toMillis());
+                dropCollectionQuietly(previous);
+            }
+        } catch (Exception e) {
+            // 保留双写与进度，便于续跑
+            log.error("向量重建失败，影子集合：{}", target, e);
+            state.put("status", STATUS_FAILED);
+            state.put("lastError", truncate(e.getMessage()));
+            saveStateQuietly(state);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            releaseLock();
+            running.set(false);
+        }
+    }
+
+    private void indexBatch(String target, List<Item> items, LocalDateTime batchReadAt, Map<String, Object> state) {
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        Map<Long, List<String>> urlsByItem = itemImageMapper.selectUrlsByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(ItemImageUrlDTO::getItemId,
+                        Collectors.mapping(ItemImageUrlDTO::getUrl, Collectors.toList())));
+        List<Item> withImages = items.stream()
+                .filter(item -> urlsByItem.containsKey(item.getId()))
+                .toList();
+
+        List<CompletableFuture<float[]>> futures = withImages.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> embedQuietly(item, urlsByItem.get(item.getId())),
+                        executor))
+                .toList();
+        List<Long> indexedIds = new ArrayList<>();
+        List<String> vectorIds = new ArrayList<>();
+        List<float[]> embeddings = new ArrayList<>();
+        List<VectorMetadata> metadatas = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        for (int i = 0; i < withImages.size(); i++) {
+            Item item = withImages.get(i);
+            Long itemId = item.getId();
+            float[] embedding = futures.get(i).join();
+            if (embedding == null) {
+                failedIds.add(itemId);
+            } else {
+                indexedIds.add(itemId);
+                vectorIds.add(VectorIds.ofItem(itemId));
+                embeddings.add(embedding);
+                metadatas.add(VectorMetadata.of(item));
+            }
+        }
+        vectorStore.upsert(target, vectorIds, embeddings, metadatas);
+
+        // 读取后被修改或删除的物品可能被本批旧数据覆盖，交给发件箱按最新状态再对齐一次（双写会同步到影子集合）
+        Set<Long> requeue = new HashSet<>(failedIds);
+        if (!indexedIds.isEmpty()) {
+            Set<Long> unchanged = itemMapper.selectList(new LambdaQueryWrapper<Item>()
+                    .select(Item::getId)
+                    .in(Item::getId, indexedIds)
+                    .le(Item::getUpdatedAt, batchReadAt))
+                    .stream().map(Item::getId).collect(Collectors.toSet());
+            indexedIds.stream().filter(id -> !unchanged.contains(id)).forEach(requeue::add);
+        }
+        requeue.forEach(vectorIndexService::enqueue);
+
+        state.put("processed", asLong(state.get("processed")) + items.size());
+        state.put("indexed", asLong(state.get("indexed")) + embeddings.size());
+        state.put("skipped", asLong(state.get("skipped")) + (items.size() - withImages.size()));
+        state.put("failed", asLong(state.get("failed")) + failedIds.size());
+    }
+
+    private float[] embedQuietly(Item item, List<String> imageUrls) {
+        try {
+            acquirePermit();
+            return vectorService.embedItem(item, imageUrls);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("重建时生成物品嵌入失败，转交发件箱重试，物品ID：{}", item.getId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 简单的匀速限流：按固定间隔发放许可，多个工作线程共享
+     */
+    private void acquirePermit() throws InterruptedException {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextPermitNanos);
+            nextPermitNanos = slot + interval;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void dropCollectionQuietly(String collection) {
+        try {
+            vectorStore.deleteCollection(collection);
+            log.info("已删除向量集合：{}", collection);
+        } catch (Exception e) {
+            log.warn("删除向量集合失败：{}", collection, e);
+        }
+    }
+
+    private void releaseLock() {
+        try {
+            if (nodeId.equals(redisService.getValue(Constants.RedisKey.VECTOR_REINDEX_LOCK))) {
+                redisService.remove(Constants.RedisKey.VECTOR_REINDEX_LOCK);
+            }
+        } catch (Exception e) {
+            log.warn("释放向量重建锁失败", e);
+        }
+    }
+
+    private Map<String, Object> loadState() {
+        Map<String, Object> state = new HashMap<>();
+        redisService.getAllFromMap(Constants.RedisKey.VECTOR_REINDEX_STATE)
+                .forEach((key, value) -> state.put(String.valueOf(key), value));
+        return state;
+    }
+
+    private void saveState(Map<String, Object> state) {
+        state.put("updatedAt", System.currentTimeMillis());
+        redisService.putAllToMap(Constants.RedisKey.VECTOR_REINDEX_STATE, state);
+    }
+
+    private void saveStateQuietly(Map<String, Object> state) {
+        try {
+            saveState(state);
+        } catch (Exception e) {
+            log.warn("保存向量重建进度失败", e);
+        }
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return epochMillis <= 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
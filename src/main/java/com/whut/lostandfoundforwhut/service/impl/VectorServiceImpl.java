@@ -1,30 +1,37 @@
 package com.whut.lostandfoundforwhut.service.impl;
 
+import com.whut.lostandfoundforwhut.common.utils.ai.DashScopeEmbeddingParser;
+import com.whut.lostandfoundforwhut.common.utils.ai.RemoteModelClient;
+import com.whut.lostandfoundforwhut.common.utils.cache.EmbeddingCache;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorCollectionAlias;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorIds;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorFilter;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorMatch;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorMetadata;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorStore;
+import com.whut.lostandfoundforwhut.service.IImageFingerprintService;
 import com.whut.lostandfoundforwhut.service.IVectorService;
 import dev.langchain4j.data.embedding.Embedding;
-import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.store.embedding.EmbeddingMatch;
-import dev.langchain4j.store.embedding.chroma.ChromaEmbeddingStore;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.net.URI;
-import java.time.Duration;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.whut.lostandfoundforwhut.model.entity.Item;
 
 /**
@@ -33,38 +40,50 @@ import com.whut.lostandfoundforwhut.model.entity.Item;
 @Slf4j
 @Service
 public class VectorServiceImpl implements IVectorService {
-
-    @Value("${app.vector-store.collection-name:item_image_vector}")
-    private String collectionName;
-
-    @Value("${app.vector-store.chroma-url:http://localhost:8000}")
-    private String chromaUrl;
+    private static final String EMBEDDING_MODEL = "qwen3-vl-embedding";
+    private static final int EMBEDDING_DIMENSION = 1024;
+    private static final DashScopeEmbeddingParser EMBEDDING_PARSER = new DashScopeEmbeddingParser(EMBEDDING_DIMENSION);
 
     @Value("${ai.ali.api-key:}")
     private String dashScopeApiKey;
 
-    private ChromaEmbeddingStore embeddingStore;
-    private boolean initialized = false; // 标记是否已初始化
-    private HttpClient httpClient;
+    @Value("${app.ai.dashscope.embedding-url:https://dashscope.aliyuncs.com/api/v1/services/embeddings/multimodal-embedding/multimodal-embedding}")
+    private String dashScopeEmbeddingUrl;
+
+    @Autowired
+    private EmbeddingCache embeddingCache;
+
+    @Autowired
+    private RemoteModelClient remoteModelClient;
+
+    @Autowired
+    private IImageFingerprintService imageFingerprintService;
+
+    @Autowired
+    private VectorStore vectorStore;
+
+    @Autowired
+    private VectorCollectionAlias collectionAlias;
+
+    private volatile boolean initialized = false; // 标记是否已初始化
+    private boolean aliasListenerRegistered = false;
 
     @PostConstruct
     public void initializeCollection() {
-        // 初始化HTTP客户端
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
-
+        if (!aliasListenerRegistered) {
+            // 集合别名切换（重建完成）后，检索改用新集合
+            collectionAlias.onActiveChanged(name -> initializeCollection());
+            aliasListenerRegistered = true;
+        }
+        String collectionName = collectionAlias.active();
         try {
-            // 创建 ChromaDB 存储实例
-            this.embeddingStore = ChromaEmbeddingStore.builder()
-                    .baseUrl(chromaUrl)
-                    .collectionName(collectionName)
-                    .build();
+            // 确保当前集合存在（Chroma 或本地 HNSW，由 app.vector-store.type 决定）
+            vectorStore.createCollection(collectionName);
 
             this.initialized = true;
-            log.info("ChromaDB向量数据库初始化成功，集合名称：{}，连接地址：{}", collectionName, chromaUrl);
+            log.info("向量数据库初始化成功，集合名称：{}，存储实现：{}", collectionName, vectorStore.getClass().getSimpleName());
         } catch (Exception e) {
-            log.error("ChromaDB向量数据库初始化失败: {}", e.getMessage(), e);
+            log.error("向量数据库初始化失败: {}", e.getMessage(), e);
             this.initialized = false;
         }
     }
@@ -78,27 +97,6 @@ public class VectorServiceImpl implements IVectorService {
         }
     }
 
-    /**
-     * 检查指定ID的向量是否已存在
-     * 
-     * @param itemId 向量ID（格式：item_123）
-     * @return 是否存在
-     */
-    private boolean isVectorExists(String itemId) {
-        try {
-            // 直接尝试查询该ID，如果抛出异常或返回空则认为不存在
-            Embedding dummyEmbedding = Embedding.from(new float[1]);
-            List<EmbeddingMatch<TextSegment>> results = embeddingStore.findRelevant(dummyEmbedding, 1000);
-
-            return results.stream()
-                    .map(EmbeddingMatch::embeddingId)
-                    .anyMatch(id -> id.equals(itemId));
-        } catch (Exception e) {
-            log.debug("检查向量是否存在时出现异常: {}", itemId, e);
-            return false;
-        }
-    }
-
     @Override
     public void addImagesToVectorDatabase(Item item, List<String> imageUrls) {
         // 空值检查
@@ -108,32 +106,8 @@ public class VectorServiceImpl implements IVectorService {
         }
 
         try {
-            checkInitialized();
-
-            // 处理多模态嵌入：结合文本描述和所有图片信息
-            String itemDescription = item.getDescription() != null ? item.getDescription() : "";
-            String itemId = "item_" + item.getId();
-
-            // 创建多模态嵌入（文本+所有图片）
-            Embedding embedding = generateMultimodalEmbedding(itemDescription, imageUrls);
-            if (embedding == null) {
-                log.warn("生成多模态嵌入失败，物品ID：{}", item.getId());
-                return;
-            }
-
-            // 检查并删除已存在的ID
-            if (isVectorExists(itemId)) {
-                try {
-                    embeddingStore.removeAll(List.of(itemId));
-                    log.debug("已删除已存在的向量ID: {}", itemId);
-                } catch (Exception e) {
-                    log.warn("删除已存在的向量ID失败: {}", itemId, e);
-                }
-            }
-
-            embeddingStore.add(itemId, embedding);
-            log.info("物品多模态信息已添加到向量数据库，物品ID：{}，图片数量：{}", item.getId(), imageUrls.size());
-
+            // 原生 upsert 一次请求完成覆盖写入，无需先查存在性再删除
+            upsertItemVector(item, imageUrls);
         } catch (Exception e) {
             log.error("添加物品图片到向量数据库时发生异常，物品ID：{}", item.getId(), e);
             // 不抛出异常，因为向量数据库的失败不应影响主业务流程
@@ -143,13 +117,11 @@ public class VectorServiceImpl implements IVectorService {
     @Override
     public void updateVectorDatabase(Item item, List<String> imageUrls) {
         try {
-            checkInitialized();
-
-            // 先删除旧的向量数据
-            removeFromVectorDatabase(item.getId());
-            // 添加新的向量数据
-            addImagesToVectorDatabase(item, imageUrls);
-
+            if (imageUrls == null || imageUrls.isEmpty()) {
+                deleteItemVector(item.getId());
+            } else {
+                upsertItemVector(item, imageUrls);
+            }
             log.info("向量数据库中物品信息已更新，ID：{}，图片URLs：{}", item.getId(), imageUrls != null ? imageUrls.size() : 0);
         } catch (Exception e) {
             log.error("更新向量数据库时发生异常，物品ID：{}", item.getId(), e);
@@ -160,25 +132,97 @@ public class VectorServiceImpl implements IVectorService {
     @Override
     public void removeFromVectorDatabase(Long itemId) {
         try {
-            checkInitialized();
-
-            String id = "item_" + itemId;
-
-            // 直接尝试删除，不预先检查存在性
-            try {
-                embeddingStore.removeAll(List.of(id));
-                log.info("向量数据库中物品信息已删除，ID：{}", itemId);
-            } catch (Exception e) {
-                log.debug("删除向量条目时出现异常（可能不存在），ID：{}，错误：{}", id, e.getMessage());
-            }
+            deleteItemVector(itemId);
         } catch (Exception e) {
             log.error("删除向量数据库条目时发生异常，物品ID：{}", itemId, e);
             // 不抛出异常，因为向量数据库的失败不应影响主业务流程
         }
     }
 
+    @Override
+    public void upsertItemVector(Item item, List<String> imageUrls) {
+        upsertAll(List.of(item), Map.of(item.getId(), imageUrls == null ? List.of() : imageUrls));
+    }
+
+    @Override
+    public void deleteItemVector(Long itemId) {
+        removeAll(List.of(itemId));
+    }
+
+    @Override
+    public void upsertAll(List<Item> items, Map<Long, List<String>> imageUrlsByItemId) {
+        checkInitialized();
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        List<String> ids = new ArrayList<>(items.size());
+        List<float[]> embeddings = new ArrayList<>(items.size());
+        List<VectorMetadata> metadatas = new ArrayList<>(items.size());
+        for (Item item : items) {
+            List<String> imageUrls = imageUrlsByItemId.get(item.getId());
+            if (imageUrls == null || imageUrls.isEmpty()) {
+                throw new IllegalArgumentException("图片URL列表为空，无法生成物品向量，物品ID：" + item.getId());
+            }
+            // 嵌入生成失败时直接抛出，由调用方决定是否重试
+            ids.add(VectorIds.ofItem(item.getId()));
+            embeddings.add(embedItem(item, imageUrls));
+            metadatas.add(VectorMetadata.of(item));
+        }
+
+        vectorStore.upsert(collectionAlias.active(), ids, embeddings, metadatas);
+        // 重建期间同步写入影子集合，避免重建过程中的变更在切换后丢失
+        String dualWriteTarget = collectionAlias.dualWriteTarget();
+        if (dualWriteTarget != null) {
+            vectorStore.upsert(dualWriteTarget, ids, embeddings, metadatas);
+        }
+        log.info("物品向量已批量写入，数量：{}", ids.size());
+    }
+
+    @Override
+    public float[] embedItem(Item item, List<String> imageUrls) {
+        String itemDescription = item.getDescription() != null ? item.getDescription() : "";
+        return generateMultimodalEmbedding(itemDescription, imageUrls).vector();
+    }
+
+    @Override
+    public void removeAll(List<Long> itemIds) {
+        checkInitialized();
+        if (itemIds == null || itemIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = itemIds.stream().map(VectorIds::ofItem).toList();
+        vectorStore.delete(collectionAlias.active(), ids);
+        String dualWriteTarget = collectionAlias.dualWriteTarget();
+        if (dualWriteTarget != null) {
+            vectorStore.delete(dualWriteTarget, ids);
+        }
+        log.info("物品向量已批量删除，数量：{}", itemIds.size());
+    }
+
+    @Override
+    public Set<Long> findIndexedItemIds(List<Long> itemIds) {
+        checkInitialized();
+        if (itemIds == null || itemIds.isEmpty()) {
+            return Set.of();
+        }
+        return vectorStore.getExistingIds(collectionAlias.active(), itemIds.stream().map(VectorIds::ofItem).toList())
+                .stream()
+                .map(VectorIds::toItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
     @Override
     public List<String> searchInCollection(String query, List<String> imageUrls, int maxResults) {
+        return searchScoredInCollection(query, imageUrls, maxResults, null).stream()
+                .map(VectorMatch::id)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<VectorMatch> searchScoredInCollection(String query, List<String> imageUrls, int maxResults,
+            VectorFilter filter) {
         try {
             checkInitialized();
 
@@ -208,12 +252,12 @@ public class VectorServiceImpl implements IVectorService {
             }
 
             // 执行搜索
-            List<EmbeddingMatch<TextSegment>> relevant = embeddingStore.findRelevant(queryEmbedding, maxResults);
-            List<String> results = relevant.stream()
-                    .map(EmbeddingMatch::embeddingId)
-                    .collect(Collectors.toList());
+            // 元数据过滤下推到向量库，先过滤再取前 maxResults，避免取回后再过滤导致结果不足
+            List<VectorMatch> results = vectorStore.query(collectionAlias.active(), queryEmbedding.vector(),
+                    maxResults, filter);
 
-            log.info("向量搜索完成，查询：{}，图片数量：{}，返回结果数量：{}", searchQuery, searchImages.size(), results.size());
+            log.info("向量搜索完成，查询：{}，图片数量：{}，过滤条件：{}，返回结果数量：{}", searchQuery, searchImages.size(),
+                    filter, results.size());
             return results;
         } catch (Exception e) {
             log.error("向量搜索失败，查询：{}，图片URLs：{}", query, imageUrls, e);
@@ -225,45 +269,9 @@ public class VectorServiceImpl implements IVectorService {
     public int getCollectionSize() {
         checkInitialized();
         try {
-            // 首先获取集合的UUID
-            String collectionId = getCollectionIdByName(collectionName);
-            if (collectionId == null) {
-                log.warn("无法获取集合的ID，集合名称：{}", collectionName);
-                return 0;
-            }
-
-            // 使用集合UUID获取集合信息
-            String infoUrl = chromaUrl + "/api/v1/collections/" + collectionId + "/count";
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(infoUrl))
-                    .GET() // 使用GET请求获取计数
-                    .header("Content-Type", "application/json")
-                    .timeout(Duration.ofSeconds(10))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                String responseBody = response.body().trim();
-                log.info("集合统计响应体: {}", responseBody);
-
-                // 直接解析纯数字格式
-                int size = 0;
-                try {
-                    size = Integer.parseInt(responseBody);
-                    log.info("响应体为纯数字，集合大小：{}", size);
-                } catch (NumberFormatException e) {
-                    log.warn("无法解析集合统计响应中的数字，响应体：{}，错误：{}", responseBody, e.getMessage());
-                    return 0;
-                }
-
-                log.info("获取集合大小完成，当前大小：{}", size);
-                return size;
-            } else {
-                log.warn("获取集合统计信息失败，状态码: {}，响应: {}", response.statusCode(), response.body());
-                return 0;
-            }
+            int size = vectorStore.count(collectionAlias.active());
+            log.info("获取集合大小完成，当前大小：{}", size);
+            return size;
         } catch (Exception e) {
             log.error("获取集合大小失败", e);
             return 0;
@@ -275,74 +283,16 @@ public class VectorServiceImpl implements IVectorService {
         try {
             checkInitialized();
 
-            String deleteUrl = chromaUrl + "/api/v1/collections/" + collectionName;
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(deleteUrl))
-                    .DELETE()
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                log.info("集合 {} 删除成功！", collectionName);
-                // 删除集合后重新初始化
-                initializeCollection();
-            } else {
-                log.error("删除失败，状态码：{}，响应：{}", response.statusCode(), response.body());
-            }
+            String collectionName = collectionAlias.active();
+            vectorStore.deleteCollection(collectionName);
+            log.info("集合 {} 删除成功！", collectionName);
+            // 删除集合后重新初始化
+            initializeCollection();
         } catch (Exception e) {
             log.error("清空集合时发生异常", e);
         }
     }
 
-    /**
-     * 根据集合名称获取集合的 UUID（改进版，使用 Jackson）
-     */
-    private String getCollectionIdByName(String collectionName) {
-        try {
-            String listUrl = chromaUrl + "/api/v1/collections";
-            log.info("获取集合列表URL: {}", listUrl);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(listUrl))
-                    .GET()
-                    .timeout(Duration.ofSeconds(10))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request,
-                    HttpResponse.BodyHandlers.ofString());
-
-            log.info("获取集合列表状态码: {}", response.statusCode());
-            log.info("获取集合列表响应体: {}", response.body());
-
-            if (response.statusCode() != 200) {
-                log.warn("获取集合列表失败，状态码: {}", response.statusCode());
-                return null;
-            }
-
-            // 使用 Jackson 解析 JSON
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(response.body());
-
-            // ChromaDB 返回的是数组
-            for (JsonNode node : root) {
-                String name = node.get("name").asText();
-                if (collectionName.equals(name)) {
-                    String id = node.get("id").asText();
-                    log.info("找到集合 {} 的ID: {}", collectionName, id);
-                    return id;
-                }
-            }
-
-            log.warn("未找到名称为 {} 的集合", collectionName);
-            return null;
-
-        } catch (Exception e) {
-            log.error("获取集合ID时发生异常", e);
-            return null;
-        }
-    }
-
     /**
      * 生成多模态嵌入向量（文本+图像列表）
      * 使用HTTP API方式
@@ -355,7 +305,7 @@ public class VectorServiceImpl implements IVectorService {
         List<String> validImages = imageUrls == null ? List.of()
                 : imageUrls.stream().filter(url -> url != null && !url.trim().isEmpty()).map(String::trim).toList();
 
-        Embedding httpResult = generateMultimodalEmbeddingsViaHttp(text, validImages);
+        Embedding httpResult = generateMultimodalEmbeddingCached(text, validImages);
         if (httpResult != null) {
             log.debug("多图片多模态嵌入生成成功（HTTP方式）");
             return httpResult;
@@ -364,7 +314,7 @@ public class VectorServiceImpl implements IVectorService {
         if (validImages.size() > 1) {
             List<String> fallbackImages = List.of(validImages.get(0));
             log.warn("多图嵌入失败，降级为单图重试，原图片数：{}，重试图片：{}", validImages.size(), fallbackImages.get(0));
-            Embedding fallbackResult = generateMultimodalEmbeddingsViaHttp(text, fallbackImages);
+            Embedding fallbackResult = generateMultimodalEmbeddingCached(text, fallbackImages);
             if (fallbackResult != null) {
                 log.info("单图重试成功，继续向量检索");
                 return fallbackResult;
@@ -375,12 +325,34 @@ public class VectorServiceImpl implements IVectorService {
         throw new RuntimeException("通过HTTP API生成多图片多模态嵌入失败");
     }
 
+    /**
+     * 优先从嵌入缓存读取，未命中时调用HTTP API并写回缓存
+     *
+     * @param text      输入文本
+     * @param imageUrls 有效图片URL列表
+     * @return 嵌入向量，失败返回 null
+     */
+    private Embedding generateMultimodalEmbeddingCached(String text, List<String> imageUrls) {
+        // 已知内容指纹的图片按内容计键，同一张图片以不同URL重复上传时共享嵌入
+        String cacheKey = embeddingCache.keyOf(EMBEDDING_MODEL + ":" + EMBEDDING_DIMENSION, text,
+                imageFingerprintService.contentKeysOf(imageUrls));
+        float[] cached = embeddingCache.get(cacheKey);
+        if (cached != null) {
+            log.debug("命中向量嵌入缓存，图片数量：{}", imageUrls.size());
+            return Embedding.from(cached);
+        }
+        Embedding embedding = generateMultimodalEmbeddingsViaHttp(text, imageUrls);
+        if (embedding != null) {
+            embeddingCache.put(cacheKey, embedding.vector());
+        }
+        return embedding;
+    }
+
     /**
      * 通过HTTP API生成多模态嵌入向量
      */
     private Embedding generateMultimodalEmbeddingsViaHttp(String text, List<String> imageUrls) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
             List<Map<String, String>> contents = new ArrayList<>();
 
             if (text != null && !text.trim().isEmpty()) {
@@ -401,79 +373,40 @@ public class VectorServiceImpl implements IVectorService {
             }
 
             Map<String, Object> requestMap = new LinkedHashMap<>();
-            requestMap.put("model", "qwen3-vl-embedding");
+            requestMap.put("model", EMBEDDING_MODEL);
             requestMap.put("input", Map.of("contents", contents));
-            requestMap.put("parameters", Map.of("dimension", 1024, "output_type", "dense", "fps", 0.5));
+            requestMap.put("parameters", Map.of("dimension", EMBEDDING_DIMENSION, "output_type", "dense", "fps", 0.5));
 
-            String jsonBody = objectMapper.writeValueAsString(requestMap);
+            String jsonBody = remoteModelClient.getObjectMapper().writeValueAsString(requestMap);
             log.info("HTTP请求体（正确格式）: {}", jsonBody);
-            // 构建HTTP请求
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(
-                            "https://dashscope.aliyuncs.com/api/v1/services/embeddings/multimodal-embedding/multimodal-embedding"))
+            // 构建HTTP请求（使用共享客户端的默认超时）
+            HttpRequest request = remoteModelClient.newRequest(dashScopeEmbeddingUrl)
                     .header("Authorization", "Bearer " + dashScopeApiKey)
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                    .timeout(Duration.ofSeconds(30))
                     .build();
 
-            // 发送请求
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            // 发送请求，响应体以流的形式交给解析器，避免整体读入字符串
+            HttpResponse<InputStream> response = remoteModelClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
 
             log.info("HTTP响应状态码: {}", response.statusCode());
 
-            if (response.statusCode() == 200) {
-                String responseBody = response.body();
-                log.debug("HTTP响应体: {}", responseBody);
-
-                // 计算向量个数
-                int numVectors = 0;
-                int pos = 0;
-                while ((pos = responseBody.indexOf("\"embedding\":[", pos)) != -1) {
-                    numVectors++;
-                    pos += 13; // 跳过 "\"embedding\":["
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    log.warn("HTTP API调用失败，状态码: {}，响应: {}", response.statusCode(),
+                            new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                    return null;
                 }
-                log.info("输出结果中的向量个数: {}", numVectors);
-
-                // 解析响应中的embeddings数组
-                int embeddingsStart = responseBody.indexOf("\"embeddings\":[");
-                if (embeddingsStart != -1) {
-                    int embeddingsEnd = responseBody.lastIndexOf("]");
-                    if (embeddingsEnd != -1) {
-                        String embeddingsPart = responseBody.substring(embeddingsStart + 14, embeddingsEnd);
-
-                        // 提取第一个embedding
-                        int firstEmbeddingStart = embeddingsPart.indexOf("\"embedding\":[");
-                        if (firstEmbeddingStart != -1) {
-                            firstEmbeddingStart = embeddingsPart.indexOf("[", firstEmbeddingStart);
-                            int firstEmbeddingEnd = findMatchingBracket(embeddingsPart, firstEmbeddingStart);
-                            if (firstEmbeddingEnd != -1) {
-                                String embeddingStr = embeddingsPart.substring(firstEmbeddingStart + 1,
-                                        firstEmbeddingEnd);
-                                String[] values = embeddingStr.split(",");
-
-                                float[] embeddingArray = new float[values.length];
-                                for (int i = 0; i < values.length; i++) {
-                                    try {
-                                        embeddingArray[i] = Float.parseFloat(values[i].trim());
-                                    } catch (NumberFormatException e) {
-                                        log.warn("解析嵌入向量数值失败: {}", values[i]);
-                                        return null;
-                                    }
-                                }
-
-                                log.info("通过HTTP API成功生成多图片多模态嵌入向量，维度: {}", embeddingArray.length);
-                                return Embedding.from(embeddingArray);
-                            }
-                        }
-                    }
+
+                List<float[]> embeddings = EMBEDDING_PARSER.parse(body);
+                log.info("输出结果中的向量个数: {}", embeddings.size());
+                if (embeddings.isEmpty()) {
+                    log.warn("无法从HTTP响应中提取嵌入向量");
+                    return null;
                 }
 
-                log.warn("无法从HTTP响应中提取嵌入向量");
-                return null;
-            } else {
-                log.warn("HTTP API调用失败，状态码: {}，响应: {}", response.statusCode(), response.body());
-                return null;
+                log.info("通过HTTP API成功生成多图片多模态嵌入向量，维度: {}", embeddings.get(0).length);
+                return Embedding.from(embeddings.get(0));
             }
 
         } catch (Exception e) {
@@ -481,33 +414,4 @@ public class VectorServiceImpl implements IVectorService {
             return null;
         }
     }
-
-    /**
-     * 查找字符串中匹配的括号位置
-     * 
-     * @param str        字符串
-     * @param startIndex 开始查找的位置（应指向第一个左括号）
-     * @return 匹配的右括号位置，未找到则返回-1
-     */
-    private int findMatchingBracket(String str, int startIndex) {
-        if (str == null || startIndex < 0 || startIndex >= str.length() || str.charAt(startIndex) != '[') {
-            return -1;
-        }
-
-        int bracketCount = 0;
-        for (int i = startIndex; i < str.length(); i++) {
-            char c = str.charAt(i);
-            if (c == '[') {
-                bracketCount++;
-            } else if (c == ']') {
-                bracketCount--;
-                if (bracketCount == 0) {
-                    return i;
-                }
-            }
-        }
-
-        return -1; // 未找到匹配的右括号
-    }
-
 }
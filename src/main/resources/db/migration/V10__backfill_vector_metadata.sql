@@ -0,0 +1,13 @@
+-- 向量元数据回填：过滤条件下推到向量库之前写入的向量不带 type/status/created_at/is_deleted 元数据，
+-- 带过滤条件的相似搜索会把这些物品全部过滤掉。将所有未删除物品重新入队，由后台索引任务按当前数据库状态重写向量与元数据
+INSERT INTO vector_index_outbox (item_id)
+SELECT i.id
+FROM items i
+WHERE i.is_deleted = 0
+  AND NOT EXISTS (
+      SELECT 1
+      FROM vector_index_outbox o
+      WHERE o.item_id = i.id
+        AND o.status IN (0, 1)
+  )
+ORDER BY i.id;
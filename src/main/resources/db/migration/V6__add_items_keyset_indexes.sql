@@ -0,0 +1,33 @@
+-- 游标分页索引：按 (created_at, id) 倒序翻页，避免深分页 OFFSET 扫描
+SET @sql_add_idx_feed = (
+    SELECT 'CREATE INDEX idx_items_deleted_created_id ON items(is_deleted, created_at, id)'
+    WHERE NOT EXISTS (
+        SELECT 1
+        FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE()
+          AND TABLE_NAME = 'items'
+          AND INDEX_NAME = 'idx_items_deleted_created_id'
+    )
+    LIMIT 1
+);
+SET @sql_add_idx_feed = IFNULL(@sql_add_idx_feed, 'SELECT 1');
+PREPARE stmt_add_idx_feed FROM @sql_add_idx_feed;
+EXECUTE stmt_add_idx_feed;
+DEALLOCATE PREPARE stmt_add_idx_feed;
+
+-- “我的物品”游标分页索引
+SET @sql_add_idx_user_feed = (
+    SELECT 'CREATE INDEX idx_items_user_deleted_created_id ON items(user_id, is_deleted, created_at, id)'
+    WHERE NOT EXISTS (
+        SELECT 1
+        FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE()
+          AND TABLE_NAME = 'items'
+          AND INDEX_NAME = 'idx_items_user_deleted_created_id'
+    )
+    LIMIT 1
+);
+SET @sql_add_idx_user_feed = IFNULL(@sql_add_idx_user_feed, 'SELECT 1');
+PREPARE stmt_add_idx_user_feed FROM @sql_add_idx_user_feed;
+EXECUTE stmt_add_idx_user_feed;
+DEALLOCATE PREPARE stmt_add_idx_user_feed;
@@ -0,0 +1,16 @@
+-- 关键词检索全文索引（ngram 解析器，支持中文），替代 description/event_place 上的 LIKE '%kw%' 全表扫描
+SET @sql_add_ft_items = (
+    SELECT 'ALTER TABLE items ADD FULLTEXT INDEX ft_items_description_place (description, event_place) WITH PARSER ngram'
+    WHERE NOT EXISTS (
+        SELECT 1
+        FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE()
+          AND TABLE_NAME = 'items'
+          AND INDEX_NAME = 'ft_items_description_place'
+    )
+    LIMIT 1
+);
+SET @sql_add_ft_items = IFNULL(@sql_add_ft_items, 'SELECT 1');
+PREPARE stmt_add_ft_items FROM @sql_add_ft_items;
+EXECUTE stmt_add_ft_items;
+DEALLOCATE PREPARE stmt_add_ft_items;
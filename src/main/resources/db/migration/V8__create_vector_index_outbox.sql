@@ -0,0 +1,33 @@
+-- 向量索引发件箱：与物品写操作同事务落库，由后台索引任务异步同步到向量库
+CREATE TABLE IF NOT EXISTS vector_index_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '自增主键',
+    item_id BIGINT NOT NULL COMMENT '待同步的物品ID',
+    status TINYINT NOT NULL DEFAULT 0 COMMENT '状态：0-待处理，1-处理中，2-失败（超过最大重试次数）',
+    attempts INT NOT NULL DEFAULT 0 COMMENT '已尝试次数',
+    next_attempt_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次可处理时间（退避重试）',
+    lease_owner VARCHAR(64) NULL COMMENT '当前领取者标识',
+    lease_until DATETIME NULL COMMENT '领取租约到期时间，过期后可被重新领取',
+    last_error VARCHAR(500) NULL COMMENT '最近一次失败原因',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    INDEX idx_outbox_status_next (status, next_attempt_at, id),
+    INDEX idx_outbox_item (item_id),
+    INDEX idx_outbox_lease_owner (lease_owner)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='向量索引发件箱';
+
+-- 物品向量索引状态；历史数据均为同步建库，默认视为已同步
+SET @sql_add_index_status = (
+    SELECT 'ALTER TABLE items ADD COLUMN index_status TINYINT NOT NULL DEFAULT 1 COMMENT ''向量索引状态：0-待同步，1-已同步，2-同步失败'''
+    WHERE NOT EXISTS (
+        SELECT 1
+        FROM INFORMATION_SCHEMA.COLUMNS
+        WHERE TABLE_SCHEMA = DATABASE()
+          AND TABLE_NAME = 'items'
+          AND COLUMN_NAME = 'index_status'
+    )
+    LIMIT 1
+);
+SET @sql_add_index_status = IFNULL(@sql_add_index_status, 'SELECT 1');
+PREPARE stmt_add_index_status FROM @sql_add_index_status;
+EXECUTE stmt_add_index_status;
+DEALLOCATE PREPARE stmt_add_index_status;
@@ -0,0 +1,9 @@
+-- 图片内容指纹：记录已审核、已压缩的图片对象，重复上传同一张图片时直接服务端复制，跳过上传、审核与压缩
+CREATE TABLE IF NOT EXISTS image_fingerprints (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '自增主键',
+    content_hash CHAR(64) NOT NULL COMMENT '原始文件内容 SHA-256（十六进制）',
+    object_key VARCHAR(255) NOT NULL COMMENT '已处理完成的 COS 对象键（复制来源）',
+    url VARCHAR(500) NOT NULL COMMENT '复制来源的访问URL',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    UNIQUE KEY uk_image_fingerprints_content_hash (content_hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='图片内容指纹';
@@ -0,0 +1,86 @@
+package com.whut.lostandfoundforwhut.benchmark;
+
+import com.whut.lostandfoundforwhut.common.utils.ai.DashScopeEmbeddingParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description DashScope 嵌入响应解析基准：旧的 indexOf/split 字符串解析 vs Jackson 流式解析。
+ * 运行方式：mvn test-compile 后执行本类 main 方法（不参与单元测试）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmbeddingParseBenchmark {
+    private static final int DIMENSION = 1024;
+
+    private final DashScopeEmbeddingParser parser = new DashScopeEmbeddingParser(DIMENSION);
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder("{\"output\":{\"embeddings\":[{\"index\":0,\"embedding\":[");
+        for (int i = 0; i < DIMENSION; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(random.nextGaussian() * 0.05);
+        }
+        sb.append("],\"type\":\"text\"}]},\"usage\":{\"input_tokens\":12},\"request_id\":\"bench\"}");
+        body = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public float[] legacyStringSplit() {
+        return legacyParse(new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public float[] jacksonStreaming() throws IOException {
+        return parser.parse(new ByteArrayInputStream(body)).get(0);
+    }
+
+    /**
+     * 原 VectorServiceImpl 中的字符串解析逻辑（仅作对照）
+     */
+    private static float[] legacyParse(String responseBody) {
+        int embeddingsStart = responseBody.indexOf("\"embeddings\":[");
+        int embeddingsEnd = responseBody.lastIndexOf("]");
+        String embeddingsPart = responseBody.substring(embeddingsStart + 14, embeddingsEnd);
+        int start = embeddingsPart.indexOf("[", embeddingsPart.indexOf("\"embedding\":["));
+        int end = embeddingsPart.indexOf("]", start);
+        String[] values = embeddingsPart.substring(start + 1, end).split(",");
+        float[] embedding = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            embedding[i] = Float.parseFloat(values[i].trim());
+        }
+        return embedding;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmbeddingParseBenchmark.class.getSimpleName()).build()).run();
+    }
+}
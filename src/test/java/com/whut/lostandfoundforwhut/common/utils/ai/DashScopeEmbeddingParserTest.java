@@ -0,0 +1,53 @@
+package com.whut.lostandfoundforwhut.common.utils.ai;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description DashScope 嵌入响应流式解析单元测试
+ */
+class DashScopeEmbeddingParserTest {
+
+    private final DashScopeEmbeddingParser parser = new DashScopeEmbeddingParser(3);
+
+    @Test
+    void parse_readsAllEmbeddingsInOrderAndSkipsUnknownFields() throws Exception {
+        String body = "{\"request_id\":\"r1\",\"usage\":{\"input_tokens\":[1,2]},"
+                + "\"output\":{\"embeddings\":["
+                + "{\"index\":0,\"embedding\":[0.5,-1,2.25E-1],\"type\":\"text\"},"
+                + "{\"type\":\"image\",\"extra\":{\"a\":[[]]},\"embedding\":[1,2,3]}]}}";
+
+        List<float[]> embeddings = parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(2, embeddings.size());
+        Assertions.assertArrayEquals(new float[]{0.5f, -1f, 0.225f}, embeddings.get(0));
+        Assertions.assertArrayEquals(new float[]{1f, 2f, 3f}, embeddings.get(1));
+    }
+
+    @Test
+    void parse_rejectsDimensionMismatchWithLocation() {
+        String body = "{\"output\":{\"embeddings\":[{\"embedding\":[1,2]}]}}";
+
+        JsonParseException e = Assertions.assertThrows(JsonParseException.class,
+                () -> parser.parse(body.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertTrue(e.getOriginalMessage().contains("embeddings[0].embedding"));
+        Assertions.assertNotNull(e.getLocation());
+    }
+
+    @Test
+    void parse_rejectsNonNumericValueAndMissingOutput() {
+        Assertions.assertThrows(JsonParseException.class, () -> parser.parse(
+                "{\"output\":{\"embeddings\":[{\"embedding\":[1,\"x\",3]}]}}".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(JsonParseException.class, () -> parser.parse(
+                "{\"code\":\"InvalidParameter\"}".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(JsonParseException.class, () -> parser.parse(
+                "{\"output\":{\"embeddings\":[{\"embedding\":[1,2,3]".getBytes(StandardCharsets.UTF_8)));
+    }
+}
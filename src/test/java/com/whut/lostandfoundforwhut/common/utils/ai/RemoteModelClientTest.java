@@ -0,0 +1,70 @@
+package com.whut.lostandfoundforwhut.common.utils.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 远程模型调用客户端单元测试：流式响应在关闭前持续占用在途许可
+ */
+class RemoteModelClientTest {
+    private HttpServer server;
+    private ExecutorService executor;
+    private RemoteModelClient client;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/embed", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/embed";
+        executor = Executors.newFixedThreadPool(2);
+        client = new RemoteModelClient(new ObjectMapper(), executor, Duration.ofSeconds(2), Duration.ofSeconds(2), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void send_holdsPermitUntilStreamingBodyIsClosed() throws Exception {
+        HttpResponse<InputStream> first = client.send(request(), HttpResponse.BodyHandlers.ofInputStream());
+
+        Assertions.assertThrows(HttpTimeoutException.class,
+                () -> client.send(request(), HttpResponse.BodyHandlers.ofString()));
+
+        first.body().close();
+        first.body().close();
+        Assertions.assertEquals("ok", client.send(request(), HttpResponse.BodyHandlers.ofString()).body());
+        Assertions.assertEquals("ok", client.send(request(), HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private HttpRequest request() {
+        return client.newRequest(url, Duration.ofMillis(300)).GET().build();
+    }
+}
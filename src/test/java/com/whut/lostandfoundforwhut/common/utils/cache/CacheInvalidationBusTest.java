@@ -0,0 +1,94 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
+import com.whut.lostandfoundforwhut.model.dto.CacheInvalidationEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 缓存失效总线单元测试：广播消息经真实序列化后由其他实例解析并分发
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private RedisConnection connection;
+
+    private CacheInvalidationBus publisher;
+    private CacheInvalidationBus subscriber;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        publisher = new CacheInvalidationBus(redisTemplate, listenerContainer);
+        subscriber = new CacheInvalidationBus(redisTemplate, listenerContainer);
+    }
+
+    @Test
+    void publish_deliversEventToOtherNodes() {
+        List<CacheInvalidationEvent> received = new ArrayList<>();
+        subscriber.subscribe(CacheEventType.ITEM_CHANGED, received::add);
+
+        publisher.publish(CacheEventType.ITEM_CHANGED, 42L, 7L);
+
+        DefaultMessage message = publishedMessage();
+        subscriber.onMessage(message, null);
+
+        Assertions.assertEquals(1, received.size());
+        CacheInvalidationEvent event = received.get(0);
+        Assertions.assertEquals(CacheEventType.ITEM_CHANGED, event.getType());
+        Assertions.assertEquals(42L, event.getTargetId());
+        Assertions.assertEquals(7L, event.getVersion());
+        Assertions.assertTrue(publisher.isLocal(event));
+    }
+
+    @Test
+    void onMessage_ignoresLoopbackAndMalformedMessages() {
+        List<CacheInvalidationEvent> received = new ArrayList<>();
+        publisher.subscribe(CacheEventType.ITEM_CHANGED, received::add);
+
+        publisher.publish(CacheEventType.ITEM_CHANGED, 42L);
+        publisher.onMessage(publishedMessage(), null);
+        publisher.onMessage(new DefaultMessage(new byte[0], "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        // 仅本地发布时的一次分发
+        Assertions.assertEquals(1, received.size());
+    }
+
+    private DefaultMessage publishedMessage() {
+        ArgumentCaptor<byte[]> channel = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(connection).publish(channel.capture(), body.capture());
+        Assertions.assertEquals(Constants.RedisKey.CACHE_INVALIDATION_CHANNEL,
+                new String(channel.getValue(), StandardCharsets.UTF_8));
+        return new DefaultMessage(channel.getValue(), body.getValue());
+    }
+}
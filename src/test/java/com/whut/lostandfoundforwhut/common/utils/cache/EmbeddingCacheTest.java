@@ -0,0 +1,75 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量嵌入缓存单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class EmbeddingCacheTest {
+
+    @Mock
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    private EmbeddingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EmbeddingCache(binaryRedisTemplate, 100, Duration.ofDays(1));
+    }
+
+    @Test
+    void keyOf_normalizesWhitespaceButKeepsImageOrder() {
+        String key = cache.keyOf("m", "  黑色   钱包 ", List.of("a", "b"));
+        Assertions.assertEquals(key, cache.keyOf("m", "黑色 钱包", List.of("a", "b")));
+        Assertions.assertNotEquals(key, cache.keyOf("m", "黑色 钱包", List.of("b", "a")));
+        Assertions.assertNotEquals(key, cache.keyOf("other", "黑色 钱包", List.of("a", "b")));
+    }
+
+    @Test
+    void get_readsBinaryFromRedisOnceThenServesLocally() {
+        float[] vector = {0.25f, -1.5f, 3.0f};
+        String key = cache.keyOf("m", "q", List.of());
+        when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(Constants.RedisKey.EMBEDDING + key)).thenReturn(EmbeddingCache.encode(vector));
+
+        Assertions.assertArrayEquals(vector, cache.get(key));
+        Assertions.assertArrayEquals(vector, cache.get(key));
+
+        verify(valueOperations, times(1)).get(Constants.RedisKey.EMBEDDING + key);
+        Assertions.assertEquals(1L, cache.stats().get("redisHits"));
+    }
+
+    @Test
+    void put_writesCompactFloatBytes() {
+        float[] vector = new float[1024];
+        when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache.put("k", vector);
+
+        verify(valueOperations).set(eq(Constants.RedisKey.EMBEDDING + "k"),
+                any(byte[].class), eq(Duration.ofDays(1)));
+        Assertions.assertEquals(4096, EmbeddingCache.encode(vector).length);
+    }
+}
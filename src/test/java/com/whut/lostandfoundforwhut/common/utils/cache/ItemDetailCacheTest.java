@@ -0,0 +1,176 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
+import com.whut.lostandfoundforwhut.config.RedisConfig;
+import com.whut.lostandfoundforwhut.mapper.ItemMapper;
+import com.whut.lostandfoundforwhut.model.dto.CacheInvalidationEvent;
+import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.model.vo.ItemDetailVO;
+import com.whut.lostandfoundforwhut.model.vo.UserPublicVO;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 物品详情二级缓存单元测试（Redis 值经真实 JSON 序列化器往返）
+ */
+@ExtendWith(MockitoExtension.class)
+class ItemDetailCacheTest {
+
+    private final GenericJackson2JsonRedisSerializer serializer = RedisConfig.jsonValueSerializer();
+
+    @Mock
+    private IRedisService redisService;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    private ItemDetailCache cache;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Item.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemDetailCache(redisService, invalidationBus, itemMapper, Jackson2ObjectMapperBuilder.json().build(),
+                100, Duration.ofMinutes(1), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void get_returnsFromRedisWithoutLoading() {
+        ItemDetailVO stored = new ItemDetailVO();
+        stored.setId(1L);
+        stored.setEventTime(LocalDateTime.of(2026, 10, 1, 8, 30));
+        stored.setTags(List.of("校园卡"));
+        UserPublicVO publisher = new UserPublicVO();
+        publisher.setId(9L);
+        stored.setPublisher(publisher);
+        when(redisService.getValue(Constants.RedisKey.ITEM_DETAIL + 1L)).thenReturn(roundTrip(stored));
+
+        ItemDetailVO result = cache.get(1L, id -> Assertions.fail("不应回源"));
+
+        Assertions.assertEquals(stored, result);
+    }
+
+    @Test
+    void get_fallsBackToSourceWhenRedisValueIsUnreadable() {
+        when(redisService.getValue(Constants.RedisKey.ITEM_DETAIL + 5L)).thenReturn(roundTrip("legacy"));
+        ItemDetailVO loaded = new ItemDetailVO();
+        loaded.setId(5L);
+
+        Assertions.assertSame(loaded, cache.get(5L, id -> loaded));
+    }
+
+    @Test
+    void get_loadsOnceThenServesFromLocalCache() {
+        String cacheKey = Constants.RedisKey.ITEM_DETAIL + 2L;
+        when(redisService.getValue(cacheKey)).thenReturn(null);
+        AtomicInteger loads = new AtomicInteger();
+
+        ItemDetailVO first = cache.get(2L, id -> {
+            loads.incrementAndGet();
+            ItemDetailVO vo = new ItemDetailVO();
+            vo.setId(id);
+            return vo;
+        });
+        ItemDetailVO second = cache.get(2L, id -> Assertions.fail("应命中本地缓存"));
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertSame(first, second);
+        verify(redisService, times(1)).getValue(cacheKey);
+        verify(redisService).setValue(eq(cacheKey), eq(first), any(Duration.class));
+    }
+
+    @Test
+    void evict_dropsLocalAndRedisEntries() {
+        String cacheKey = Constants.RedisKey.ITEM_DETAIL + 3L;
+        ItemDetailVO vo = new ItemDetailVO();
+        vo.setId(3L);
+        when(redisService.getValue(cacheKey)).thenReturn(roundTrip(vo));
+        cache.get(3L, id -> vo);
+
+        cache.evict(3L);
+        cache.get(3L, id -> vo);
+
+        verify(redisService).remove(cacheKey);
+        verify(redisService, times(2)).getValue(cacheKey);
+        verify(invalidationBus).publish(CacheEventType.ITEM_CHANGED, 3L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void remoteUserChanged_dropsLocalEntriesOfPublisher() {
+        ArgumentCaptor<Consumer<CacheInvalidationEvent>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(eq(CacheEventType.USER_CHANGED), handler.capture());
+        String cacheKey = Constants.RedisKey.ITEM_DETAIL + 4L;
+        when(redisService.getValue(cacheKey)).thenReturn(null);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, ItemDetailVO> loader = id -> {
+            loads.incrementAndGet();
+            ItemDetailVO vo = new ItemDetailVO();
+            vo.setId(id);
+            vo.setUserId(9L);
+            return vo;
+        };
+        cache.get(4L, loader);
+
+        handler.getValue().accept(new CacheInvalidationEvent(CacheEventType.USER_CHANGED, 9L, null, "other-node", 0L));
+        cache.get(4L, loader);
+
+        Assertions.assertEquals(2, loads.get());
+        verify(redisService, never()).multiRemove(anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void localUserChanged_dropsRedisEntriesOfPublisherItems() {
+        ArgumentCaptor<Consumer<CacheInvalidationEvent>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(eq(CacheEventType.USER_CHANGED), handler.capture());
+        CacheInvalidationEvent event = new CacheInvalidationEvent(CacheEventType.USER_CHANGED, 9L, null, "this-node", 0L);
+        when(invalidationBus.isLocal(event)).thenReturn(true);
+        when(itemMapper.selectObjs(any())).thenReturn(List.of(4L, 6L));
+
+        handler.getValue().accept(event);
+
+        verify(redisService).multiRemove(List.of(Constants.RedisKey.ITEM_DETAIL + 4L,
+                Constants.RedisKey.ITEM_DETAIL + 6L));
+    }
+
+    private Object roundTrip(Object value) {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+}
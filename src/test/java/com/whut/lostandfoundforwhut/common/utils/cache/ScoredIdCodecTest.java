@@ -0,0 +1,58 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.whut.lostandfoundforwhut.common.utils.cache.ScoredIdCodec.ScoredIds;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 相似搜索结果二进制编码单元测试
+ */
+class ScoredIdCodecTest {
+
+    @Test
+    void roundTrip_keepsOrderScoresAndExtremeIds() {
+        long[] ids = {1024L, 17L, 1025L, Long.MAX_VALUE, 0L, Long.MIN_VALUE, 3L};
+        float[] scores = {0.98f, 0.91f, 0.9f, 0.5f, 0.25f, -0.1f, 0f};
+
+        ScoredIds decoded = ScoredIdCodec.decode(ScoredIdCodec.encode(new ScoredIds(ids, scores)));
+
+        Assertions.assertArrayEquals(ids, decoded.ids());
+        Assertions.assertArrayEquals(scores, decoded.scores());
+        Assertions.assertEquals(Arrays.stream(ids).boxed().toList(), decoded.idList());
+        Assertions.assertTrue(ScoredIdCodec.decode(ScoredIdCodec.encode(ScoredIds.EMPTY)).isEmpty());
+    }
+
+    @Test
+    void encode_isSmallerThanCommaJoinedText() {
+        long[] ids = new long[100];
+        float[] scores = new float[100];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1_000_000L + (i * 37L) % 500;
+            scores[i] = 0.9f - i * 0.001f;
+        }
+        String text = Arrays.stream(ids).mapToObj(id -> id + ":" + 0.123456f).collect(Collectors.joining(","));
+
+        byte[] encoded = ScoredIdCodec.encode(new ScoredIds(ids, scores));
+
+        Assertions.assertTrue(encoded.length * 2 < text.getBytes(StandardCharsets.UTF_8).length,
+                "encoded = " + encoded.length);
+    }
+
+    @Test
+    void decode_rejectsLegacyTextAndTruncatedData() {
+        byte[] encoded = ScoredIdCodec.encode(new ScoredIds(new long[] {5L, 6L}, new float[] {0.8f, 0.7f}));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ScoredIdCodec.decode("1:0.9,2:0.8".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ScoredIdCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ScoredIds(new long[] {1L}, new float[0]));
+    }
+}
@@ -0,0 +1,60 @@
+package com.whut.lostandfoundforwhut.common.utils.cache;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.enums.cache.CacheEventType;
+import com.whut.lostandfoundforwhut.model.dto.SearchDTO;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 相似搜索缓存代数单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchCacheGenerationTest {
+
+    @Mock
+    private IRedisService redisService;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Test
+    void current_readsRedisOnceWithinRefreshInterval() {
+        when(redisService.getValue(Constants.RedisKey.SIMILAR_SEARCH_GENERATION)).thenReturn(3);
+        SearchCacheGeneration generation = new SearchCacheGeneration(redisService, invalidationBus, Duration.ofMinutes(1));
+
+        Assertions.assertEquals(3L, generation.current());
+        Assertions.assertEquals(3L, generation.current());
+        verify(redisService, times(1)).getValue(Constants.RedisKey.SIMILAR_SEARCH_GENERATION);
+    }
+
+    @Test
+    void bump_changesSearchKeyAndBroadcasts() {
+        when(redisService.getValue(Constants.RedisKey.SIMILAR_SEARCH_GENERATION)).thenReturn(null);
+        when(redisService.increment(Constants.RedisKey.SIMILAR_SEARCH_GENERATION)).thenReturn(1L);
+        SearchCacheGeneration generation = new SearchCacheGeneration(redisService, invalidationBus, Duration.ofMinutes(1));
+        SearchDTO searchDTO = new SearchDTO("黑色钱包", List.of(2L, 1L), 10);
+
+        String before = searchDTO.toRedisKey(generation.current());
+        generation.bump();
+        String after = searchDTO.toRedisKey(generation.current());
+
+        Assertions.assertNotEquals(before, after);
+        verify(invalidationBus).publishNow(CacheEventType.SEARCH_INDEX_CHANGED, null, 1L);
+        verify(redisService).removeByPrefixAsync(SearchDTO.redisKeyPrefix(0L));
+        Assertions.assertTrue(before.startsWith(SearchDTO.redisKeyPrefix(0L)));
+    }
+}
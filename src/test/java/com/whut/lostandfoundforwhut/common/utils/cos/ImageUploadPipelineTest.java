@@ -0,0 +1,125 @@
+package com.whut.lostandfoundforwhut.common.utils.cos;
+
+import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.service.IImageFingerprintService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片上传流水线单元测试：复用跳过审核压缩、审核失败时清理全部已创建对象
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageUploadPipelineTest {
+
+    @Mock
+    private COS cos;
+
+    @Mock
+    private ContentReviewer contentReviewer;
+
+    @Mock
+    private ImageProcessor imageProcessor;
+
+    @Mock
+    private IImageFingerprintService imageFingerprintService;
+
+    private ExecutorService executor;
+    private ImageUploadPipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        executor = Executors.newFixedThreadPool(4);
+        pipeline = new ImageUploadPipeline(cos, contentReviewer, imageProcessor, imageFingerprintService, executor,
+                Duration.ofSeconds(5));
+        lenient().when(imageFingerprintService.contentHash(any())).thenAnswer(invocation ->
+                new String(invocation.<InputStream>getArgument(0).readAllBytes()));
+        lenient().when(cos.getObjectUrl(anyString())).thenAnswer(invocation -> "https://cos/" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void upload_reusesKnownContentAndProcessesNewOnes() {
+        when(imageFingerprintService.copyIfKnown(any(), anyString()))
+                .thenAnswer(invocation -> "known".equals(invocation.getArgument(0)));
+
+        List<ImageUploadPipeline.UploadedImage> uploaded = pipeline.upload(
+                List.of(file("a.jpg", "known"), file("b.png", "fresh")), "images/");
+
+        Assertions.assertEquals(2, uploaded.size());
+        Assertions.assertTrue(uploaded.get(0).reused());
+        Assertions.assertFalse(uploaded.get(1).reused());
+        Assertions.assertTrue(uploaded.get(1).objectKey().startsWith("images/") && uploaded.get(1).objectKey().endsWith(".png"));
+        verify(cos).uploadStream(any(InputStream.class), eq(5L), eq("image/png"), argThat(key -> key.equals(uploaded.get(1).objectKey())));
+        verify(contentReviewer).reviewImageKey(uploaded.get(1).objectKey());
+        verify(contentReviewer, never()).reviewImageKey(uploaded.get(0).objectKey());
+        verify(imageProcessor).processimage(uploaded.get(1).objectKey());
+        verify(cos).setObjectPublicRead(uploaded.get(0).objectKey());
+        verify(cos).setObjectPublicRead(uploaded.get(1).objectKey());
+    }
+
+    @Test
+    void upload_rejectedImageCleansUpAllCreatedObjects() {
+        when(imageFingerprintService.copyIfKnown(any(), anyString())).thenReturn(false);
+        when(contentReviewer.reviewImageKey(anyString())).thenAnswer(invocation ->
+                invocation.<String>getArgument(0).endsWith(".png") ? "涉黄" : null);
+
+        AppException e = Assertions.assertThrows(AppException.class, () -> pipeline.upload(
+                List.of(file("a.jpg", "ok"), file("b.png", "bad")), "images/"));
+
+        Assertions.assertEquals(ResponseCode.ILLEGAL_PARAMETER.getCode(), e.getCode());
+        Assertions.assertEquals("图片2审核失败: 涉黄", e.getMessage());
+        ArgumentCaptor<String> uploadedKeys = ArgumentCaptor.forClass(String.class);
+        verify(cos, atLeastOnce()).uploadStream(any(InputStream.class), anyLong(), anyString(), uploadedKeys.capture());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(cos).batchDeleteObject(deleted.capture());
+        // 另一张图片可能在上传前就被取消，但凡已上传的对象都必须被清理
+        Assertions.assertTrue(new HashSet<>(deleted.getValue()).containsAll(uploadedKeys.getAllValues()));
+    }
+
+    @Test
+    void uploadRaw_derivesContentTypeFromExtension() throws Exception {
+        String objectKey = pipeline.uploadRaw(file("photo.JPG", "raw"), "temp/images/");
+
+        Assertions.assertTrue(objectKey.startsWith("temp/images/") && objectKey.endsWith(".JPG"));
+        verify(cos).uploadStream(any(InputStream.class), eq(3L), eq("image/jpeg"), eq(objectKey));
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        // 客户端声明的类型不可信，上传时应按扩展名确定
+        return new MockMultipartFile("files", name, "text/html", content.getBytes());
+    }
+}
@@ -0,0 +1,124 @@
+package com.whut.lostandfoundforwhut.common.utils.lock;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 单飞回源单元测试：本节点并发合并、跨节点等待租约持有者结果与等待超时退化
+ */
+@ExtendWith(MockitoExtension.class)
+class SingleFlightTest {
+    private static final String KEY = "similar:search:test";
+
+    @Mock
+    private IRedisService redisService;
+
+    private final Map<String, Object> redis = new ConcurrentHashMap<>();
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisService.setIfAbsent(anyString(), any(), any(Duration.class)))
+                .thenAnswer(invocation -> redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        lenient().when(redisService.getValue(anyString()))
+                .thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        lenient().when(redisService.remove(anyString()))
+                .thenAnswer(invocation -> redis.remove(invocation.<String>getArgument(0)) != null);
+    }
+
+    @Test
+    void execute_concurrentCallersOnSameNodeLoadOnce() throws Exception {
+        SingleFlight singleFlight = newSingleFlight(Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return singleFlight.execute(KEY, () -> cache.get(KEY), () -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        cache.put(KEY, "1:0.9,2:0.8");
+                        return "1:0.9,2:0.8";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> future : futures) {
+                Assertions.assertEquals("1:0.9,2:0.8", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertFalse(redis.containsKey(Constants.RedisKey.SINGLE_FLIGHT_LEASE + KEY));
+    }
+
+    @Test
+    void execute_waitsForOtherNodeResultInsteadOfLoading() {
+        SingleFlight singleFlight = newSingleFlight(Duration.ofSeconds(5));
+        redis.put(Constants.RedisKey.SINGLE_FLIGHT_LEASE + KEY, "other-node");
+        new Thread(() -> {
+            sleep(100);
+            cache.put(KEY, "3:0.7");
+        }).start();
+
+        String result = singleFlight.execute(KEY, () -> cache.get(KEY),
+                () -> Assertions.fail("租约由其他节点持有时不应回源"));
+
+        Assertions.assertEquals("3:0.7", result);
+        verify(redisService, never()).remove(anyString());
+    }
+
+    @Test
+    void execute_loadsLocallyWhenWaitTimesOut() {
+        SingleFlight singleFlight = newSingleFlight(Duration.ofMillis(100));
+        redis.put(Constants.RedisKey.SINGLE_FLIGHT_LEASE + KEY, "stuck-node");
+
+        String result = singleFlight.execute(KEY, () -> cache.get(KEY), () -> "4:0.6");
+
+        Assertions.assertEquals("4:0.6", result);
+        Assertions.assertEquals("stuck-node", redis.get(Constants.RedisKey.SINGLE_FLIGHT_LEASE + KEY));
+    }
+
+    private SingleFlight newSingleFlight(Duration waitTimeout) {
+        return new SingleFlight(redisService, Duration.ofSeconds(10), waitTimeout, Duration.ofMillis(10));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
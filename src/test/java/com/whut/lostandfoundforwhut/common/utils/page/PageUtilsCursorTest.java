@@ -0,0 +1,43 @@
+package com.whut.lostandfoundforwhut.common.utils.page;
+
+import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.model.vo.PageResultVO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 游标分页工具单元测试
+ */
+class PageUtilsCursorTest {
+
+    @Test
+    void encodeAndDecode_roundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 12, 30, 5);
+
+        PageUtils.KeysetCursor cursor = PageUtils.decodeCursor(PageUtils.encodeCursor(createdAt, 42L));
+
+        Assertions.assertEquals(createdAt, cursor.createdAt());
+        Assertions.assertEquals(42L, cursor.id());
+    }
+
+    @Test
+    void decode_blankMeansFirstPageAndGarbageIsRejected() {
+        Assertions.assertNull(PageUtils.decodeCursor(""));
+        Assertions.assertThrows(AppException.class, () -> PageUtils.decodeCursor("not-a-cursor"));
+    }
+
+    @Test
+    void toCursorPageResult_trimsExtraRowAndReturnsNextCursor() {
+        PageResultVO<Integer> page = PageUtils.toCursorPageResult(List.of(1, 2, 3), 2, value -> "c" + value);
+        Assertions.assertEquals(List.of(1, 2), page.getRecords());
+        Assertions.assertEquals("c2", page.getNextCursor());
+
+        PageResultVO<Integer> last = PageUtils.toCursorPageResult(List.of(1, 2), 2, value -> "c" + value);
+        Assertions.assertNull(last.getNextCursor());
+    }
+}
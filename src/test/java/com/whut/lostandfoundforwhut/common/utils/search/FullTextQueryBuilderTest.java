@@ -0,0 +1,25 @@
+package com.whut.lostandfoundforwhut.common.utils.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 全文检索查询串构造单元测试
+ */
+class FullTextQueryBuilderTest {
+
+    @Test
+    void toBooleanQuery_stripsOperatorsAndRequiresEachTerm() {
+        Assertions.assertEquals("+\"黑色钱包\" +\"图书馆\"", FullTextQueryBuilder.toBooleanQuery(" 黑色钱包 -图书馆* "));
+        Assertions.assertEquals("+\"drop\" +\"table\"", FullTextQueryBuilder.toBooleanQuery("'drop\" table"));
+    }
+
+    @Test
+    void toBooleanQuery_returnsNullForShortOrBlankKeyword() {
+        Assertions.assertNull(FullTextQueryBuilder.toBooleanQuery("卡"));
+        Assertions.assertNull(FullTextQueryBuilder.toBooleanQuery("校园 卡"));
+        Assertions.assertNull(FullTextQueryBuilder.toBooleanQuery("+-()"));
+    }
+}
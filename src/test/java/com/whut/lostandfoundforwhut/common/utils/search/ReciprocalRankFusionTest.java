@@ -0,0 +1,44 @@
+package com.whut.lostandfoundforwhut.common.utils.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 倒数排名融合单元测试
+ */
+class ReciprocalRankFusionTest {
+
+    @Test
+    void fuse_ranksItemsFoundByBothLegsFirstAndKeepsPerLegRanks() {
+        List<ReciprocalRankFusion.FusedHit<Long>> fused = ReciprocalRankFusion.fuse(60,
+                List.of(List.of(1L, 2L, 3L), List.of(3L, 4L, 1L)));
+
+        Assertions.assertEquals(List.of(1L, 3L, 2L, 4L),
+                fused.stream().map(ReciprocalRankFusion.FusedHit::getId).toList());
+        ReciprocalRankFusion.FusedHit<Long> first = fused.get(0);
+        Assertions.assertEquals(1.0 / 61 + 1.0 / 63, first.getScore(), 1e-12);
+        Assertions.assertEquals(1, first.getRank(0));
+        Assertions.assertEquals(3, first.getRank(1));
+        // 同分且最好名次相同时按首次出现顺序
+        Assertions.assertEquals(first.getScore(), fused.get(1).getScore(), 1e-12);
+        Assertions.assertEquals(fused.get(2).getScore(), fused.get(3).getScore(), 1e-12);
+        Assertions.assertEquals(Arrays.asList(2, null), fused.get(2).getRanks());
+        Assertions.assertEquals(Arrays.asList(null, 2), fused.get(3).getRanks());
+    }
+
+    @Test
+    void fuse_skipsMissingLegsAndDuplicateIds() {
+        List<ReciprocalRankFusion.FusedHit<String>> fused = ReciprocalRankFusion.fuse(60,
+                Arrays.asList(null, List.of("a", "b", "a")));
+
+        Assertions.assertEquals(List.of("a", "b"), fused.stream().map(ReciprocalRankFusion.FusedHit::getId).toList());
+        Assertions.assertEquals(1.0 / 61, fused.get(0).getScore(), 1e-12);
+        Assertions.assertEquals(Arrays.asList(null, 1), fused.get(0).getRanks());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReciprocalRankFusion.fuse(0, List.of()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.whut.lostandfoundforwhut.common.utils.ai.RemoteModelClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description Chroma REST 客户端单元测试：请求体格式、集合 UUID 缓存，以及集合重建后（404）重新解析 UUID
+ */
+class ChromaClientTest {
+    private static final String COLLECTIONS = "/api/v1/collections";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<JsonNode> bodies = new CopyOnWriteArrayList<>();
+    private volatile String liveCollectionId = "uuid-1";
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ChromaClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(COLLECTIONS, this::handle);
+        server.start();
+        executor = Executors.newFixedThreadPool(2);
+        RemoteModelClient remoteModelClient = new RemoteModelClient(objectMapper, executor, Duration.ofSeconds(2),
+                Duration.ofSeconds(2), 4);
+        client = new ChromaClient(remoteModelClient, "http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void batchOperations_sendChromaRequestBodiesAndResolveCollectionOnce() {
+        client.upsert("items", List.of("item_1", "item_2"), List.of(new float[] {1f, 0f}, new float[] {0f, 1f}),
+                List.of(new VectorMetadata(1, 0, 100L, 0), new VectorMetadata(0, 2, null, 0)));
+        Set<String> existing = client.getExistingIds("items", List.of("item_1", "item_3"));
+        client.delete("items", List.of("item_2"));
+        int count = client.count("items");
+
+        Assertions.assertEquals(List.of(
+                "GET " + COLLECTIONS + "/items",
+                "POST " + COLLECTIONS + "/uuid-1/upsert",
+                "POST " + COLLECTIONS + "/uuid-1/get",
+                "POST " + COLLECTIONS + "/uuid-1/delete",
+                "GET " + COLLECTIONS + "/uuid-1/count"), requests);
+
+        JsonNode upsert = bodies.get(1);
+        Assertions.assertEquals("[\"item_1\",\"item_2\"]", upsert.path("ids").toString());
+        Assertions.assertEquals("[[1.0,0.0],[0.0,1.0]]", upsert.path("embeddings").toString());
+        Assertions.assertEquals("{\"type\":1,\"status\":0,\"created_at\":100,\"is_deleted\":0}",
+                upsert.path("metadatas").path(0).toString());
+        Assertions.assertFalse(upsert.path("metadatas").path(1).has("created_at"));
+
+        JsonNode get = bodies.get(2);
+        Assertions.assertEquals("[\"item_1\",\"item_3\"]", get.path("ids").toString());
+        Assertions.assertEquals("[]", get.path("include").toString());
+        Assertions.assertEquals(Set.of("item_1"), existing);
+
+        Assertions.assertEquals("{\"ids\":[\"item_2\"]}", bodies.get(3).toString());
+        Assertions.assertEquals(3, count);
+    }
+
+    @Test
+    void notFound_evictsCachedCollectionIdAndNextCallResolvesAgain() {
+        Assertions.assertEquals(3, client.count("items"));
+        // 集合被删除重建：旧 UUID 返回 404
+        liveCollectionId = "uuid-2";
+
+        Assertions.assertThrows(IllegalStateException.class, () -> client.count("items"));
+        Assertions.assertEquals(3, client.count("items"));
+
+        Assertions.assertEquals(List.of(
+                "GET " + COLLECTIONS + "/items",
+                "GET " + COLLECTIONS + "/uuid-1/count",
+                "GET " + COLLECTIONS + "/uuid-1/count",
+                "GET " + COLLECTIONS + "/items",
+                "GET " + COLLECTIONS + "/uuid-2/count"), requests);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requests.add(exchange.getRequestMethod() + " " + path);
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] body = input.readAllBytes();
+            bodies.add(body.length == 0 ? objectMapper.nullNode() : objectMapper.readTree(body));
+        }
+        String[] segments = path.substring(COLLECTIONS.length() + 1).split("/");
+        if (segments.length == 1) {
+            respond(exchange, 200, "{\"id\":\"" + liveCollectionId + "\",\"name\":\"" + segments[0] + "\"}");
+        } else if (!segments[0].equals(liveCollectionId)) {
+            respond(exchange, 404, "{\"error\":\"collection not found\"}");
+        } else {
+            switch (segments[1]) {
+                case "get" -> respond(exchange, 200, "{\"ids\":[\"item_1\"]}");
+                case "count" -> respond(exchange, 200, "3");
+                case "delete" -> respond(exchange, 200, "[\"item_2\"]");
+                default -> respond(exchange, 200, "true");
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
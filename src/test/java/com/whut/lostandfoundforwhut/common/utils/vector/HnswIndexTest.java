@@ -0,0 +1,222 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 进程内 HNSW 索引单元测试：召回率、覆盖/删除语义、元数据过滤与快照 + 追加日志恢复
+ */
+class HnswIndexTest {
+    private static final int DIMENSION = 32;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void search_recallAgainstBruteForce() throws Exception {
+        Random random = new Random(7);
+        List<float[]> data = randomVectors(random, 2000);
+        List<String> ids = IntStream.range(0, data.size()).mapToObj(i -> "item_" + i).toList();
+
+        try (HnswIndex index = newIndex(100_000)) {
+            index.upsert(ids, data, metadata(data.size()));
+            int hits = 0;
+            int queries = 50;
+            for (int q = 0; q < queries; q++) {
+                float[] query = randomVectors(random, 1).get(0);
+                Set<String> expected = bruteForce(data, ids, query, 10);
+                Set<String> actual = index.search(query, 10, null).stream()
+                        .map(VectorMatch::id)
+                        .collect(Collectors.toSet());
+                actual.retainAll(expected);
+                hits += actual.size();
+            }
+            double recall = hits / (queries * 10.0);
+            Assertions.assertTrue(recall >= 0.95, "recall@10 = " + recall);
+        }
+    }
+
+    @Test
+    void upsertAndRemove_replaceAndHideEntries() throws Exception {
+        float[] a = unit(0);
+        float[] b = unit(1);
+        try (HnswIndex index = newIndex(100_000)) {
+            index.upsert(List.of("item_1", "item_2"), List.of(a, b), metadata(2));
+            index.upsert(List.of("item_1"), List.of(b), metadata(1));
+
+            List<VectorMatch> matches = index.search(b, 2, null);
+            Assertions.assertEquals(2, index.size());
+            Assertions.assertEquals(2, matches.size());
+            Assertions.assertEquals(1.0, matches.get(0).score(), 1e-5);
+            Assertions.assertEquals(1.0, matches.get(1).score(), 1e-5);
+
+            index.remove(List.of("item_2", "missing"));
+            Assertions.assertEquals(Set.of("item_1"), index.existing(List.of("item_1", "item_2")));
+            Assertions.assertEquals(List.of("item_1"), index.search(a, 5, null).stream().map(VectorMatch::id).toList());
+        }
+    }
+
+    @Test
+    void reopen_restoresFromSnapshotAndReplaysAppendLog() throws Exception {
+        Random random = new Random(11);
+        List<float[]> data = randomVectors(random, 300);
+        List<String> ids = IntStream.range(0, data.size()).mapToObj(i -> "item_" + i).toList();
+        float[] query = data.get(42);
+
+        // 每 100 条落一次快照，剩余写入只存在于追加日志中；不调用 close 模拟进程中断
+        HnswIndex crashed = newIndex(100);
+        crashed.upsert(ids.subList(0, 150), data.subList(0, 150), metadata(150));
+        crashed.upsert(ids.subList(150, 250), data.subList(150, 250), metadata(100));
+        crashed.upsert(ids.subList(250, 300), data.subList(250, 300), metadata(50));
+        crashed.remove(List.of("item_7"));
+        List<VectorMatch> before = crashed.search(query, 5, null);
+        Assertions.assertTrue(Files.size(directory.resolve(HnswIndex.LOG_FILE)) > 0);
+
+        try (HnswIndex reopened = newIndex(100)) {
+            Assertions.assertEquals(299, reopened.size());
+            Assertions.assertFalse(reopened.existing(List.of("item_7")).contains("item_7"));
+            Assertions.assertEquals(before.stream().map(VectorMatch::id).toList(),
+                    reopened.search(query, 5, null).stream().map(VectorMatch::id).toList());
+            Assertions.assertEquals("item_42", reopened.search(query, 1, null).get(0).id());
+        }
+        Assertions.assertEquals(0, Files.size(directory.resolve(HnswIndex.LOG_FILE)));
+    }
+
+    @Test
+    void search_filterKeepsOnlyMatchingMetadataAndSurvivesReopen() throws Exception {
+        Random random = new Random(3);
+        List<float[]> data = randomVectors(random, 1000);
+        List<String> ids = IntStream.range(0, data.size()).mapToObj(i -> "item_" + i).toList();
+        // 仅 2% 的物品满足 type=1 且在时间窗口内
+        List<VectorMetadata> metadatas = IntStream.range(0, data.size())
+                .mapToObj(i -> new VectorMetadata(i % 50 == 0 ? 1 : 0, 0, 1_000L + i, 0))
+                .toList();
+        VectorFilter filter = new VectorFilter(1, null, 1_100L, null);
+        float[] query = randomVectors(random, 1).get(0);
+        Set<String> expected = new HashSet<>();
+        for (int i = 100; i < data.size(); i += 50) {
+            expected.add(ids.get(i));
+        }
+
+        try (HnswIndex index = newIndex(100_000)) {
+            index.upsert(ids, data, metadatas);
+            List<VectorMatch> matches = index.search(query, 50, filter::matches);
+            Assertions.assertEquals(expected, matches.stream().map(VectorMatch::id).collect(Collectors.toSet()));
+        }
+        try (HnswIndex reopened = newIndex(100_000)) {
+            Assertions.assertEquals(expected.size(), reopened.search(query, 50, filter::matches).size());
+        }
+    }
+
+    @Test
+    void snapshot_compactsTombstonesIntoFreshDirectory() throws Exception {
+        Random random = new Random(5);
+        List<float[]> data = randomVectors(random, 200);
+        List<String> ids = IntStream.range(0, data.size()).mapToObj(i -> "item_" + i).toList();
+        float[] query = data.get(150);
+
+        try (HnswIndex index = newIndex(100_000)) {
+            index.upsert(ids, data, metadata(data.size()));
+            // 覆盖 50 条、删除 30 条：共 80 个墓碑，占比 80 / 250 超过阈值
+            index.upsert(ids.subList(100, 150), data.subList(100, 150), metadata(50));
+            index.remove(ids.subList(0, 30));
+            Assertions.assertEquals(80, index.tombstones());
+
+            index.snapshot();
+
+            Assertions.assertEquals(0, index.tombstones());
+            Assertions.assertEquals(170, index.size());
+            Assertions.assertEquals("item_150", index.search(query, 1, null).get(0).id());
+            Assertions.assertTrue(index.existing(ids.subList(0, 30)).isEmpty());
+            Assertions.assertFalse(Files.exists(directory.resolveSibling(directory.getFileName() + HnswIndex.COMPACT_SUFFIX)));
+            Assertions.assertFalse(Files.exists(directory.resolveSibling(directory.getFileName() + HnswIndex.RETIRED_SUFFIX)));
+
+            // 压缩后的索引继续可写
+            index.upsert(List.of("item_0"), List.of(data.get(0)), metadata(1));
+        }
+        try (HnswIndex reopened = newIndex(100_000)) {
+            Assertions.assertEquals(171, reopened.size());
+            Assertions.assertEquals("item_0", reopened.search(data.get(0), 1, null).get(0).id());
+        }
+    }
+
+    @Test
+    void open_restoresPreviousDirectoryAfterInterruptedCompaction() throws Exception {
+        Random random = new Random(9);
+        List<float[]> data = randomVectors(random, 20);
+        List<String> ids = IntStream.range(0, data.size()).mapToObj(i -> "item_" + i).toList();
+        try (HnswIndex index = newIndex(100_000)) {
+            index.upsert(ids, data, metadata(data.size()));
+        }
+        // 模拟原目录已移走、重建目录尚未移入时进程中断
+        Path retired = directory.resolveSibling(directory.getFileName() + HnswIndex.RETIRED_SUFFIX);
+        Path fresh = Files.createDirectories(directory.resolveSibling(directory.getFileName() + HnswIndex.COMPACT_SUFFIX));
+        Files.move(directory, retired);
+
+        try (HnswIndex reopened = newIndex(100_000)) {
+            Assertions.assertEquals(20, reopened.size());
+        }
+        Assertions.assertFalse(Files.exists(retired));
+        Assertions.assertFalse(Files.exists(fresh));
+    }
+
+    private HnswIndex newIndex(int snapshotEvery) throws Exception {
+        return new HnswIndex(directory, DIMENSION, 16, 200, 64, snapshotEvery, 0.3);
+    }
+
+    private static List<VectorMetadata> metadata(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new VectorMetadata(0, 0, 0L, 0)).toList();
+    }
+
+    private static List<float[]> randomVectors(Random random, int count) {
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[DIMENSION];
+            for (int d = 0; d < DIMENSION; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    private static Set<String> bruteForce(List<float[]> data, List<String> ids, float[] query, int k) {
+        return IntStream.range(0, data.size()).boxed()
+                .sorted(Comparator.comparingDouble(i -> -cosine(data.get(i), query)))
+                .limit(k)
+                .map(ids::get)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+
+    private static float[] unit(int axis) {
+        float[] vector = new float[DIMENSION];
+        vector[axis] = 1f;
+        return vector;
+    }
+}
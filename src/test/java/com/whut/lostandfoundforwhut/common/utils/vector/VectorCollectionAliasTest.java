@@ -0,0 +1,56 @@
+package com.whut.lostandfoundforwhut.common.utils.vector;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.utils.cache.CacheInvalidationBus;
+import com.whut.lostandfoundforwhut.service.IRedisService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量集合别名单元测试：错过切换广播时按刷新间隔从 Redis 重新加载
+ */
+@ExtendWith(MockitoExtension.class)
+class VectorCollectionAliasTest {
+
+    @Mock
+    private IRedisService redisService;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Test
+    void active_picksUpSwitchWithoutBroadcastAfterRefreshInterval() {
+        // 依次为：启动加载、重建中、切换后（均未收到广播）
+        when(redisService.getValue(Constants.RedisKey.VECTOR_ACTIVE_COLLECTION)).thenReturn(null, null, "items_v2");
+        when(redisService.getValue(Constants.RedisKey.VECTOR_REINDEX_TARGET)).thenReturn("items_v2", "items_v2", null);
+        VectorCollectionAlias alias = new VectorCollectionAlias(redisService, invalidationBus, "items", Duration.ZERO);
+        List<String> changes = new ArrayList<>();
+        alias.onActiveChanged(changes::add);
+
+        Assertions.assertEquals("items_v2", alias.dualWriteTarget());
+        Assertions.assertEquals("items_v2", alias.active());
+        Assertions.assertNull(alias.dualWriteTarget());
+        Assertions.assertEquals(List.of("items_v2"), changes);
+    }
+
+    @Test
+    void active_reusesLoadedAliasWithinRefreshInterval() {
+        when(redisService.getValue(Constants.RedisKey.VECTOR_ACTIVE_COLLECTION)).thenReturn("items_v1", "items_v2");
+        VectorCollectionAlias alias = new VectorCollectionAlias(redisService, invalidationBus, "items",
+                Duration.ofMinutes(1));
+
+        Assertions.assertEquals("items_v1", alias.active());
+        Assertions.assertEquals("items_v1", alias.active());
+    }
+}
@@ -0,0 +1,59 @@
+package com.whut.lostandfoundforwhut.controller;
+
+import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.result.Result;
+import com.whut.lostandfoundforwhut.service.IImageService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片URL批量查询接口单元测试：单次查询数量上限
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageControllerTest {
+
+    @Mock
+    private IImageService imageService;
+
+    @InjectMocks
+    private ImageController controller;
+
+    @Test
+    void getImageUrls_acceptsUpTo200Ids() {
+        List<Long> ids = ids(200);
+        List<String> urls = ids.stream().map(id -> "https://cos/" + id).collect(Collectors.toList());
+        when(imageService.getUrlsByIds(ids)).thenReturn(urls);
+
+        Result<List<String>> result = controller.getImageUrls(ids);
+
+        Assertions.assertEquals(ResponseCode.SUCCESS.getCode(), result.getCode());
+        Assertions.assertEquals(urls, result.getData());
+    }
+
+    @Test
+    void getImageUrls_rejectsMoreThan200Ids() {
+        Result<List<String>> result = controller.getImageUrls(ids(201));
+
+        Assertions.assertEquals(ResponseCode.ILLEGAL_PARAMETER.getCode(), result.getCode());
+        verify(imageService, never()).getUrlsByIds(anyList());
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+    }
+}
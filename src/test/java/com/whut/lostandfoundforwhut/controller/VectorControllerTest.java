@@ -0,0 +1,51 @@
+package com.whut.lostandfoundforwhut.controller;
+
+import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
+import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.service.IVectorReindexService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量库重建接口单元测试：运维令牌校验
+ */
+@ExtendWith(MockitoExtension.class)
+class VectorControllerTest {
+
+    @Mock
+    private IVectorReindexService vectorReindexService;
+
+    @InjectMocks
+    private VectorController controller;
+
+    @Test
+    void startReindex_closedWhenOperatorTokenNotConfigured() {
+        AppException e = Assertions.assertThrows(AppException.class, () -> controller.startReindex("anything", false));
+
+        Assertions.assertEquals(ResponseCode.NO_PERMISSION.getCode(), e.getCode());
+        verify(vectorReindexService, never()).start(anyBoolean());
+    }
+
+    @Test
+    void startReindex_requiresMatchingOperatorToken() {
+        ReflectionTestUtils.setField(controller, "operatorToken", "s3cret");
+
+        Assertions.assertThrows(AppException.class, () -> controller.startReindex(null, false));
+        Assertions.assertThrows(AppException.class, () -> controller.cancelReindex("wrong"));
+        controller.startReindex("s3cret", true);
+
+        verify(vectorReindexService).start(true);
+        verify(vectorReindexService, never()).cancel();
+    }
+}
@@ -1,10 +1,12 @@
 package com.whut.lostandfoundforwhut.mapper;
 
+import com.whut.lostandfoundforwhut.model.dto.ItemImageUrlDTO;
 import com.whut.lostandfoundforwhut.model.entity.Image;
 import com.whut.lostandfoundforwhut.model.entity.ItemImage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,6 +19,9 @@ class ItemImageMapperTest {
     @Autowired
     private ItemImageMapper itemImageMapper;
 
+    @Autowired
+    private ImageMapper imageMapper;
+
     @Test
     void testGetImagesByItemId() {
         // 测试获取物品的图片列表
@@ -56,4 +61,42 @@ class ItemImageMapperTest {
         assertNotNull(insertedImages);
         assertTrue(insertedImages.size() >= 2);
     }
+
+    @Test
+    @Transactional
+    void testSelectUrlsByItemIdsGroupsByItemThenImage() {
+        // 准备测试数据：物品2关联两张图片（按 image_id 倒序插入），物品1关联一张
+        Image first = insertImage("https://test.local/item-image-first.jpg");
+        Image second = insertImage("https://test.local/item-image-second.jpg");
+        Image third = insertImage("https://test.local/item-image-third.jpg");
+        itemImageMapper.insertItemImages(2L, Arrays.asList(third.getId(), first.getId()));
+        itemImageMapper.insertItemImages(1L, Arrays.asList(second.getId()));
+        List<String> ownUrls = Arrays.asList(first.getUrl(), second.getUrl(), third.getUrl());
+
+        // 请求顺序与结果顺序无关
+        List<ItemImageUrlDTO> rows = itemImageMapper.selectUrlsByItemIds(Arrays.asList(2L, 1L));
+
+        // 整体按 item_id 分组排列
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i - 1).getItemId() <= rows.get(i).getItemId());
+        }
+        // 只看本测试插入的图片：物品内按 image_id 升序
+        List<ItemImageUrlDTO> own = new ArrayList<>();
+        for (ItemImageUrlDTO row : rows) {
+            if (ownUrls.contains(row.getUrl())) {
+                own.add(row);
+            }
+        }
+        assertEquals(Arrays.asList(1L, 2L, 2L), own.stream().map(ItemImageUrlDTO::getItemId).toList());
+        assertEquals(Arrays.asList(second.getUrl(), first.getUrl(), third.getUrl()),
+                own.stream().map(ItemImageUrlDTO::getUrl).toList());
+    }
+
+    private Image insertImage(String url) {
+        Image image = new Image();
+        image.setUrl(url);
+        image.setObjectKey(url.substring(url.lastIndexOf('/') + 1));
+        imageMapper.insert(image);
+        return image;
+    }
 }
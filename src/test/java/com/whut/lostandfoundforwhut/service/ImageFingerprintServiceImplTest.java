@@ -0,0 +1,90 @@
+package com.whut.lostandfoundforwhut.service;
+
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.utils.cos.COS;
+import com.whut.lostandfoundforwhut.mapper.ImageFingerprintMapper;
+import com.whut.lostandfoundforwhut.model.entity.ImageFingerprint;
+import com.whut.lostandfoundforwhut.service.impl.ImageFingerprintServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片内容指纹服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageFingerprintServiceImplTest {
+
+    @Mock
+    private ImageFingerprintMapper fingerprintMapper;
+
+    @Mock
+    private COS cos;
+
+    @Mock
+    private IRedisService redisService;
+
+    private ImageFingerprintServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageFingerprintServiceImpl(fingerprintMapper, cos, redisService, Duration.ofDays(7));
+    }
+
+    @Test
+    void contentHash_isSha256Hex() throws IOException {
+        Assertions.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                service.contentHash(new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void copyIfKnown_copiesExistingProcessedObject() {
+        when(fingerprintMapper.selectOne(any())).thenReturn(fingerprint(1L, "images/source.jpg"));
+        when(cos.hasObject("images/source.jpg")).thenReturn(true);
+
+        Assertions.assertTrue(service.copyIfKnown("hash", "images/target.jpg"));
+
+        verify(cos).copyObject("images/source.jpg", "images/target.jpg");
+    }
+
+    @Test
+    void copyIfKnown_dropsFingerprintWhenSourceObjectIsGone() {
+        when(fingerprintMapper.selectOne(any())).thenReturn(fingerprint(2L, "image-search/expired.jpg"));
+        when(cos.hasObject("image-search/expired.jpg")).thenReturn(false);
+
+        Assertions.assertFalse(service.copyIfKnown("hash", "images/target.jpg"));
+
+        verify(fingerprintMapper).deleteById(2L);
+        verify(cos, never()).copyObject(anyString(), anyString());
+    }
+
+    @Test
+    void contentKeysOf_usesContentHashWhenKnown() {
+        when(redisService.multiGet(List.of(Constants.RedisKey.IMAGE_CONTENT_HASH + "https://a",
+                Constants.RedisKey.IMAGE_CONTENT_HASH + "https://b"))).thenReturn(Arrays.asList("abc", null));
+
+        Assertions.assertEquals(List.of("sha256:abc", "https://b"), service.contentKeysOf(List.of("https://a", "https://b")));
+    }
+
+    private static ImageFingerprint fingerprint(Long id, String objectKey) {
+        return ImageFingerprint.builder().id(id).contentHash("hash").objectKey(objectKey).url("https://" + objectKey).build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.whut.lostandfoundforwhut.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whut.lostandfoundforwhut.common.constant.Constants.RedisKey;
+import com.whut.lostandfoundforwhut.config.RedisConfig;
+import com.whut.lostandfoundforwhut.mapper.ImageMapper;
+import com.whut.lostandfoundforwhut.model.entity.Image;
+import com.whut.lostandfoundforwhut.service.impl.ImageServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 图片URL批量查询单元测试：缓存值经真实 JSON 序列化器往返
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageServiceImplTest {
+
+    private final GenericJackson2JsonRedisSerializer serializer = RedisConfig.jsonValueSerializer();
+
+    @Mock
+    private ImageMapper imageMapper;
+
+    @Mock
+    private IRedisService redisService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ImageServiceImpl service;
+
+    @Test
+    void getUrlsByIds_servesCachedImagesWithoutDatabase() {
+        when(redisService.multiGet(List.of(RedisKey.IMAGE_BY_ID + 1L, RedisKey.IMAGE_BY_ID + 2L)))
+                .thenReturn(Arrays.asList(roundTrip(image(1L)), roundTrip(image(2L))));
+
+        Assertions.assertEquals(List.of("https://cos/1.jpg", "https://cos/2.jpg"), service.getUrlsByIds(List.of(1L, 2L)));
+
+        verify(imageMapper, never()).selectByIds(anyList());
+    }
+
+    @Test
+    void getUrlsByIds_nullSentinelIsNotReloaded() {
+        when(redisService.multiGet(List.of(RedisKey.IMAGE_BY_ID + 3L)))
+                .thenReturn(Arrays.asList(roundTrip(RedisKey.NULL_CACHE_VALUE)));
+
+        Assertions.assertEquals(Arrays.asList((String) null), service.getUrlsByIds(List.of(3L)));
+
+        verify(imageMapper, never()).selectByIds(anyList());
+    }
+
+    @Test
+    void getUrlsByIds_keepsInputOrderAcrossHitsMissesAndDuplicates() {
+        when(redisService.multiGet(List.of(RedisKey.IMAGE_BY_ID + 5L, RedisKey.IMAGE_BY_ID + 4L,
+                RedisKey.IMAGE_BY_ID + 6L))).thenReturn(Arrays.asList(null, roundTrip(image(4L)), null));
+        when(imageMapper.selectByIds(List.of(5L, 6L))).thenReturn(List.of(image(6L), image(5L)));
+
+        List<String> urls = service.getUrlsByIds(Arrays.asList(5L, 4L, null, 6L, 5L));
+
+        Assertions.assertEquals(Arrays.asList("https://cos/5.jpg", "https://cos/4.jpg", null, "https://cos/6.jpg",
+                "https://cos/5.jpg"), urls);
+        verify(redisService).executeBatch(any());
+    }
+
+    private Object roundTrip(Object value) {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+
+    private static Image image(Long id) {
+        Image image = new Image();
+        image.setId(id);
+        image.setObjectKey("images/" + id + ".jpg");
+        image.setUrl("https://cos/" + id + ".jpg");
+        return image;
+    }
+}
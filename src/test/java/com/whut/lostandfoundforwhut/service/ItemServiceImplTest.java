@@ -1,21 +1,58 @@
 package com.whut.lostandfoundforwhut.service;
 
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
 import com.whut.lostandfoundforwhut.common.enums.item.ItemStatus;
 import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.common.utils.cache.SearchCacheGeneration;
+import com.whut.lostandfoundforwhut.common.utils.lock.SingleFlight;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorIds;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorMatch;
+import com.whut.lostandfoundforwhut.mapper.ItemImageMapper;
 import com.whut.lostandfoundforwhut.mapper.ItemMapper;
+import com.whut.lostandfoundforwhut.mapper.TagMapper;
 import com.whut.lostandfoundforwhut.mapper.UserMapper;
+import com.whut.lostandfoundforwhut.model.dto.HybridSearchDTO;
 import com.whut.lostandfoundforwhut.model.dto.ItemDTO;
+import com.whut.lostandfoundforwhut.model.dto.ItemFilterDTO;
+import com.whut.lostandfoundforwhut.model.dto.ItemImageUrlDTO;
 import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.model.entity.Tag;
+import com.whut.lostandfoundforwhut.model.vo.HybridSearchHitVO;
+import com.whut.lostandfoundforwhut.model.vo.PageResultVO;
 import com.whut.lostandfoundforwhut.service.impl.ItemServiceImpl;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,9 +64,31 @@ class ItemServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private TagMapper tagMapper;
+
+    @Mock
+    private ItemImageMapper itemImageMapper;
+
+    @Mock
+    private IVectorService vectorService;
+
+    @Mock
+    private SearchCacheGeneration searchCacheGeneration;
+
+    @Mock
+    private SingleFlight singleFlight;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, Item.class);
+        TableInfoHelper.initTableInfo(assistant, Tag.class);
+    }
+
     @Test
     void addItem_throwsWhenUserMissing() {
         when(userMapper.selectById(1L)).thenReturn(null);
@@ -55,4 +114,164 @@ class ItemServiceImplTest {
         AppException ex = assertThrows(AppException.class, () -> itemService.takeDownItem(20L, 1L));
         assertEquals(ResponseCode.ITEM_STATUS_INVALID.getCode(), ex.getCode());
     }
+
+    @Test
+    void hybridSearch_returnsEmptyPageBeyondCandidateLimit() {
+        ReflectionTestUtils.setField(itemService, "hybridMaxCandidates", 500);
+        HybridSearchDTO dto = new HybridSearchDTO();
+        dto.setQuery("校园卡");
+        dto.setPageNo(Integer.MAX_VALUE);
+        dto.setPageSize(100);
+
+        PageResultVO<HybridSearchHitVO> page = itemService.hybridSearch(dto);
+
+        assertTrue(page.getRecords().isEmpty());
+        assertEquals(0, page.getTotal());
+        verifyNoInteractions(itemMapper);
+    }
+
+    @Test
+    void filterItems_preciseTagMatchRequiresEveryTag() {
+        when(tagMapper.selectList(any())).thenReturn(List.of(tag(3L), tag(7L)));
+        ItemFilterDTO dto = new ItemFilterDTO();
+        dto.setTags(List.of("校园卡", "黑色"));
+        dto.setPreciseTagMatch(true);
+
+        itemService.filterItems(dto);
+
+        String sql = selectedPageWrapper().getSqlSegment();
+        assertTrue(sql.contains("id IN (SELECT item_id FROM item_tags WHERE tag_id IN (3,7)"
+                + " GROUP BY item_id HAVING COUNT(DISTINCT tag_id) = 2)"), sql);
+    }
+
+    @Test
+    void filterItems_anyTagMatchUsesPlainSemiJoin() {
+        when(tagMapper.selectList(any())).thenReturn(List.of(tag(3L), tag(7L)));
+        ItemFilterDTO dto = new ItemFilterDTO();
+        dto.setTags(List.of("校园卡", "黑色"));
+        dto.setType(1);
+
+        itemService.filterItems(dto);
+
+        LambdaQueryWrapper<Item> wrapper = selectedPageWrapper();
+        String sql = wrapper.getSqlSegment();
+        assertTrue(sql.contains("id IN (SELECT item_id FROM item_tags WHERE tag_id IN (3,7))"), sql);
+        assertFalse(sql.contains("HAVING"), sql);
+        assertTrue(sql.contains("type ="), sql);
+        assertTrue(wrapper.getParamNameValuePairs().containsValue(1));
+    }
+
+    @Test
+    void filterItems_unresolvedTagsMatchNothing() {
+        when(tagMapper.selectList(any())).thenReturn(List.of());
+        ItemFilterDTO dto = new ItemFilterDTO();
+        dto.setTags(List.of("不存在的标签"));
+
+        PageResultVO<Item> page = itemService.filterItems(dto);
+
+        assertTrue(page.getRecords().isEmpty());
+        LambdaQueryWrapper<Item> wrapper = selectedPageWrapper();
+        String sql = wrapper.getSqlSegment();
+        assertFalse(sql.contains("item_tags"), sql);
+        assertTrue(sql.contains("id ="), sql);
+        assertTrue(wrapper.getParamNameValuePairs().containsValue(-1L));
+    }
+
+    @Test
+    void filterItems_fillsImageUrlsAndEmptyListForItemsWithoutImages() {
+        Item withImages = item(1L);
+        Item withoutImages = item(2L);
+        doAnswer(invocation -> {
+            invocation.<Page<Item>>getArgument(0).setRecords(List.of(withImages, withoutImages));
+            return null;
+        }).when(itemMapper).selectPage(any(Page.class), any());
+        when(tagMapper.selectNamesByItemIds(List.of(1L, 2L))).thenReturn(List.of());
+        when(itemImageMapper.selectUrlsByItemIds(List.of(1L, 2L)))
+                .thenReturn(List.of(imageUrl(1L, "https://cos/a.jpg"), imageUrl(1L, "https://cos/b.jpg")));
+
+        PageResultVO<Item> page = itemService.filterItems(new ItemFilterDTO());
+
+        assertEquals(2, page.getRecords().size());
+        assertEquals(List.of("https://cos/a.jpg", "https://cos/b.jpg"), withImages.getImageUrls());
+        assertEquals(List.of(), withoutImages.getImageUrls());
+        assertEquals(List.of(), withoutImages.getTags());
+    }
+
+    @Test
+    void searchSimilarItems_cutsAtThresholdAndKeepsScoresAlignedWhenItemsAreMissing() {
+        // 向量库按相似度降序返回，物品ID与创建时间顺序无关；30 已被删除，查不到
+        stubVectorSearch(List.of(match(30L, 0.95), match(10L, 0.90), match(20L, 0.85), match(40L, 0.50)));
+        when(itemMapper.selectByIds(List.of(30L, 10L, 20L))).thenReturn(List.of(item(10L), item(20L)));
+
+        List<Item> items = itemService.searchSimilarItems("黑色钱包", null, 10, 0.8);
+
+        assertEquals(2, items.size());
+        assertEquals(List.of(10L, 20L), items.stream().map(Item::getId).toList());
+        assertEquals(0.90, items.get(0).getSimilarityScore(), 1e-6);
+        assertEquals(0.85, items.get(1).getSimilarityScore(), 1e-6);
+    }
+
+    @Test
+    void searchSimilarItems_ordersBySimilarityNotByDatabaseOrder() {
+        ReflectionTestUtils.setField(itemService, "similarMinScore", 0.5);
+        stubVectorSearch(List.of(match(7L, 0.99), match(3L, 0.70), match(5L, 0.60)));
+        // 数据库按主键返回
+        when(itemMapper.selectByIds(List.of(7L, 3L, 5L))).thenReturn(List.of(item(3L), item(5L), item(7L)));
+
+        List<Item> items = itemService.searchSimilarItems("校园卡", null, 10, null);
+
+        assertEquals(List.of(7L, 3L, 5L), items.stream().map(Item::getId).toList());
+        assertEquals(0.99, items.get(0).getSimilarityScore(), 1e-6);
+        assertEquals(0.60, items.get(2).getSimilarityScore(), 1e-6);
+    }
+
+    @Test
+    void searchSimilarItems_returnsEmptyWithoutQueryingItemsWhenTopMatchIsBelowThreshold() {
+        stubVectorSearch(List.of(match(1L, 0.40), match(2L, 0.30)));
+
+        assertTrue(itemService.searchSimilarItems("雨伞", null, 10, 0.5).isEmpty());
+
+        verify(itemMapper, never()).selectByIds(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubVectorSearch(List<VectorMatch> matches) {
+        RedisTemplate<String, byte[]> binaryRedisTemplate = mock(RedisTemplate.class);
+        when(binaryRedisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        ReflectionTestUtils.setField(itemService, "binaryRedisTemplate", binaryRedisTemplate);
+        when(searchCacheGeneration.current()).thenReturn(0L);
+        when(singleFlight.execute(anyString(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(2).get());
+        when(vectorService.searchScoredInCollection(anyString(), anyList(), anyInt(), isNull())).thenReturn(matches);
+    }
+
+    private static VectorMatch match(Long itemId, double score) {
+        return new VectorMatch(VectorIds.ofItem(itemId), score);
+    }
+
+    @SuppressWarnings("unchecked")
+    private LambdaQueryWrapper<Item> selectedPageWrapper() {
+        ArgumentCaptor<LambdaQueryWrapper<Item>> wrapper = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        verify(itemMapper).selectPage(any(Page.class), wrapper.capture());
+        return wrapper.getValue();
+    }
+
+    private static Item item(Long id) {
+        Item item = new Item();
+        item.setId(id);
+        return item;
+    }
+
+    private static ItemImageUrlDTO imageUrl(Long itemId, String url) {
+        ItemImageUrlDTO dto = new ItemImageUrlDTO();
+        dto.setItemId(itemId);
+        dto.setUrl(url);
+        return dto;
+    }
+
+    private static Tag tag(Long id) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        return tag;
+    }
 }
@@ -0,0 +1,166 @@
+package com.whut.lostandfoundforwhut.service;
+
+import com.whut.lostandfoundforwhut.service.impl.RedisService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description Redis 服务单元测试：SCAN + 分批 UNLINK、索引集合登记与 SPOP 分批清理
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private Cursor<String> cursor;
+
+    @Mock
+    private SetOperations<String, Object> setOperations;
+
+    private final List<Integer> unlinkedBatchSizes = new ArrayList<>();
+    private RedisService redisService;
+
+    @BeforeEach
+    void setUp() {
+        redisService = new RedisService(redisTemplate, Runnable::run);
+    }
+
+    @Test
+    void removeByPrefix_scansAndUnlinksInBatches() {
+        Iterator<String> keys = keys("lf:tag:", 1201).iterator();
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        recordUnlinks();
+
+        Assertions.assertEquals(1201L, redisService.removeByPrefix("lf:tag:"));
+
+        Assertions.assertEquals(List.of(500, 500, 201), unlinkedBatchSizes);
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(redisTemplate).scan(options.capture());
+        Assertions.assertEquals("lf:tag:*", options.getValue().getPattern());
+        verify(cursor).close();
+    }
+
+    @Test
+    void removeByPrefix_ignoresEmptyPrefix() {
+        Assertions.assertEquals(0L, redisService.removeByPrefix(""));
+
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+    }
+
+    @Test
+    void removeByIndex_popsUntilIndexIsDrained() {
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.pop("lf:index", 500)).thenReturn(members(500), members(500), members(3));
+        recordUnlinks();
+
+        Assertions.assertEquals(1003L, redisService.removeByIndex("lf:index"));
+
+        Assertions.assertEquals(List.of(500, 500, 3), unlinkedBatchSizes);
+    }
+
+    @Test
+    void removeByIndexAsync_drainsIndexOnMaintenanceExecutor() {
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.pop("lf:index", 500)).thenReturn(members(3));
+        recordUnlinks();
+        List<Runnable> submitted = new ArrayList<>();
+        RedisService asyncService = new RedisService(redisTemplate, submitted::add);
+
+        CompletableFuture<Long> removed = asyncService.removeByIndexAsync("lf:index");
+
+        Assertions.assertFalse(removed.isDone());
+        verify(redisTemplate, never()).unlink(anyCollection());
+        submitted.forEach(Runnable::run);
+        Assertions.assertEquals(3L, removed.join());
+    }
+
+    @Test
+    void removeByPrefixAsync_completesWithRemovedCount() {
+        Iterator<String> keys = keys("similar:search:g1:", 2).iterator();
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        recordUnlinks();
+
+        Assertions.assertEquals(2L, redisService.removeByPrefixAsync("similar:search:g1:").join());
+    }
+
+    @Test
+    void removeByIndex_emptyIndexUnlinksNothing() {
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.pop("lf:index", 500)).thenReturn(List.of());
+
+        Assertions.assertEquals(0L, redisService.removeByIndex("lf:index"));
+
+        verify(redisTemplate, never()).unlink(anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void setValueIndexed_writesValueAndRegistersKeyInOnePipeline() {
+        RedisOperations<String, Object> operations = mock(RedisOperations.class);
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(operations.opsForValue()).thenReturn(valueOperations);
+        when(operations.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(operations);
+            return List.of();
+        });
+
+        redisService.setValueIndexed("lf:index", "lf:tag:list:1", "value", Duration.ofMinutes(5));
+
+        verify(valueOperations).set("lf:tag:list:1", "value", Duration.ofMinutes(5));
+        verify(setOperations).add("lf:index", "lf:tag:list:1");
+        verify(operations).expire("lf:index", Duration.ofMinutes(5));
+    }
+
+    private void recordUnlinks() {
+        when(redisTemplate.unlink(anyCollection())).thenAnswer(invocation -> {
+            int size = invocation.<Collection<String>>getArgument(0).size();
+            unlinkedBatchSizes.add(size);
+            return (long) size;
+        });
+    }
+
+    private static List<String> keys(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i).collect(Collectors.toList());
+    }
+
+    private static List<Object> members(int count) {
+        return new ArrayList<>(keys("lf:tag:list:", count));
+    }
+}
@@ -1,6 +1,8 @@
 package com.whut.lostandfoundforwhut.service;
 
 import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.utils.cache.CacheInvalidationBus;
+import com.whut.lostandfoundforwhut.common.utils.cache.ItemDetailCache;
 import com.whut.lostandfoundforwhut.mapper.ItemTagMapper;
 import com.whut.lostandfoundforwhut.mapper.TagMapper;
 import com.whut.lostandfoundforwhut.service.impl.TagServiceImpl;
@@ -38,6 +40,12 @@ public class TagServiceImplTest {
     @Mock
     private IRedisService redisService;
 
+    @Mock
+    private ItemDetailCache itemDetailCache;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private TagServiceImpl service;
 
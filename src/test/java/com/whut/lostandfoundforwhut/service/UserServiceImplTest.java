@@ -3,6 +3,7 @@ package com.whut.lostandfoundforwhut.service;
 import com.whut.lostandfoundforwhut.common.constant.Constants;
 import com.whut.lostandfoundforwhut.common.enums.ResponseCode;
 import com.whut.lostandfoundforwhut.common.exception.AppException;
+import com.whut.lostandfoundforwhut.common.utils.cache.CacheInvalidationBus;
 import com.whut.lostandfoundforwhut.common.utils.security.jwt.JwtUtil;
 import com.whut.lostandfoundforwhut.mapper.UserMapper;
 import com.whut.lostandfoundforwhut.model.dto.UserNicknameUpdateDTO;
@@ -17,6 +18,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -42,6 +45,9 @@ class UserServiceImplTest {
     @Mock
     private IRedisService redisService;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -99,9 +105,11 @@ class UserServiceImplTest {
         Long userId = userService.getUserIdByEmail(email);
 
         assertEquals(2002L, userId);
-        verify(redisService).setValue(eq(Constants.RedisKey.USER_PROFILE_BY_EMAIL + email), eq(user), any(Duration.class));
-        verify(redisService).setValue(eq(userIdKey), eq(2002L), any(Duration.class));
-        verify(redisService).setValue(eq(Constants.RedisKey.USER_EMAIL_BY_ID + 2002L), eq(email), any(Duration.class));
+        Map<String, Object> expectedCache = Map.of(
+                Constants.RedisKey.USER_PROFILE_BY_EMAIL + email, user,
+                userIdKey, 2002L,
+                Constants.RedisKey.USER_EMAIL_BY_ID + 2002L, email);
+        verify(redisService).multiSetWithTtl(eq(expectedCache), any(Duration.class));
     }
 
     @Test
@@ -117,9 +125,10 @@ class UserServiceImplTest {
         userService.updateNickname(12L, dto);
 
         verify(userMapper, times(1)).updateById(user);
-        verify(redisService).remove(Constants.RedisKey.USER_PROFILE_BY_EMAIL + "evict@example.com");
-        verify(redisService).remove(Constants.RedisKey.USER_ID_BY_EMAIL + "evict@example.com");
-        verify(redisService).remove(Constants.RedisKey.USER_EMAIL_BY_ID + 12L);
+        verify(redisService).multiRemove(List.of(
+                Constants.RedisKey.USER_PROFILE_BY_EMAIL + "evict@example.com",
+                Constants.RedisKey.USER_ID_BY_EMAIL + "evict@example.com",
+                Constants.RedisKey.USER_EMAIL_BY_ID + 12L));
     }
 
     @Test
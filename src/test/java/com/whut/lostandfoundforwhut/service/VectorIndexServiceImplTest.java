@@ -0,0 +1,118 @@
+package com.whut.lostandfoundforwhut.service;
+
+import com.whut.lostandfoundforwhut.common.enums.item.ItemIndexStatus;
+import com.whut.lostandfoundforwhut.common.enums.item.ItemStatus;
+import com.whut.lostandfoundforwhut.common.enums.vector.VectorIndexTaskStatus;
+import com.whut.lostandfoundforwhut.common.utils.cache.SearchCacheGeneration;
+import com.whut.lostandfoundforwhut.mapper.ItemImageMapper;
+import com.whut.lostandfoundforwhut.mapper.ItemMapper;
+import com.whut.lostandfoundforwhut.mapper.VectorIndexOutboxMapper;
+import com.whut.lostandfoundforwhut.model.dto.ItemImageUrlDTO;
+import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.model.entity.VectorIndexOutbox;
+import com.whut.lostandfoundforwhut.service.impl.VectorIndexServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量索引发件箱处理单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class VectorIndexServiceImplTest {
+
+    @Mock
+    private VectorIndexOutboxMapper outboxMapper;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @Mock
+    private ItemImageMapper itemImageMapper;
+
+    @Mock
+    private IVectorService vectorService;
+
+    @Mock
+    private SearchCacheGeneration searchCacheGeneration;
+
+    private VectorIndexServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VectorIndexServiceImpl(outboxMapper, itemMapper, itemImageMapper, vectorService,
+                searchCacheGeneration, Runnable::run, 32, Duration.ofMinutes(5), 3,
+                Duration.ofSeconds(5), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void processPendingBatch_coalescesTasksPerItemAndSyncsCurrentState() {
+        Item active = Item.builder().id(1L).status(ItemStatus.ACTIVE.getCode()).description("钱包").build();
+        when(outboxMapper.claimBatch(anyString(), eq(300L), eq(32))).thenReturn(3);
+        when(outboxMapper.selectClaimed(anyString())).thenReturn(List.of(
+                task(10L, 1L, 1), task(11L, 2L, 1), task(12L, 1L, 1)));
+        when(itemMapper.selectByIds(List.of(1L, 2L))).thenReturn(List.of(active));
+        when(itemImageMapper.selectUrlsByItemIds(List.of(1L, 2L)))
+                .thenReturn(List.of(url(1L, "u1"), url(1L, "u2")));
+
+        Assertions.assertEquals(3, service.processPendingBatch());
+
+        verify(vectorService).upsertItemVector(active, List.of("u1", "u2"));
+        // 物品 2 已被删除（查询不到），移除其向量
+        verify(vectorService).removeAll(List.of(2L));
+        verify(outboxMapper).deleteClaimed(eq(List.of(10L, 12L)), anyString());
+        verify(outboxMapper).deleteClaimed(eq(List.of(11L)), anyString());
+        verify(itemMapper).updateIndexStatus(1L, ItemIndexStatus.SYNCED.getCode(), true);
+        verify(itemMapper, never()).updateIndexStatus(eq(2L), anyInt(), eq(true));
+        verify(searchCacheGeneration).bump();
+    }
+
+    @Test
+    void processPendingBatch_schedulesRetryThenMarksFailedWhenExhausted() {
+        Item active = Item.builder().id(1L).status(ItemStatus.ACTIVE.getCode()).build();
+        when(outboxMapper.claimBatch(anyString(), anyLong(), anyInt())).thenReturn(2);
+        when(outboxMapper.selectClaimed(anyString())).thenReturn(List.of(task(20L, 1L, 1), task(21L, 3L, 3)));
+        when(itemMapper.selectByIds(List.of(1L, 3L))).thenReturn(List.of(active));
+        when(itemImageMapper.selectUrlsByItemIds(List.of(1L, 3L))).thenReturn(List.of(url(1L, "u1")));
+        doThrow(new RuntimeException("embedding timeout")).when(vectorService).upsertItemVector(active, List.of("u1"));
+        doThrow(new RuntimeException("chroma down")).when(vectorService).removeAll(List.of(3L));
+
+        service.processPendingBatch();
+
+        verify(outboxMapper).releaseFailed(eq(List.of(20L)), anyString(), eq(VectorIndexTaskStatus.PENDING.getCode()),
+                anyLong(), eq("embedding timeout"));
+        verify(outboxMapper).releaseFailed(eq(List.of(21L)), anyString(), eq(VectorIndexTaskStatus.FAILED.getCode()),
+                anyLong(), eq("chroma down"));
+        verify(outboxMapper, never()).deleteClaimed(org.mockito.ArgumentMatchers.anyList(), anyString());
+        verify(searchCacheGeneration, never()).bump();
+    }
+
+    private VectorIndexOutbox task(Long id, Long itemId, int attempts) {
+        return VectorIndexOutbox.builder().id(id).itemId(itemId)
+                .status(VectorIndexTaskStatus.PROCESSING.getCode()).attempts(attempts).build();
+    }
+
+    private ItemImageUrlDTO url(Long itemId, String url) {
+        ItemImageUrlDTO dto = new ItemImageUrlDTO();
+        dto.setItemId(itemId);
+        dto.setUrl(url);
+        return dto;
+    }
+}
@@ -0,0 +1,195 @@
+package com.whut.lostandfoundforwhut.service;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.whut.lostandfoundforwhut.common.constant.Constants;
+import com.whut.lostandfoundforwhut.common.utils.cache.SearchCacheGeneration;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorCollectionAlias;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorIds;
+import com.whut.lostandfoundforwhut.common.utils.vector.VectorStore;
+import com.whut.lostandfoundforwhut.mapper.ItemImageMapper;
+import com.whut.lostandfoundforwhut.mapper.ItemMapper;
+import com.whut.lostandfoundforwhut.model.dto.ItemImageUrlDTO;
+import com.whut.lostandfoundforwhut.model.entity.Item;
+import com.whut.lostandfoundforwhut.service.impl.VectorReindexServiceImpl;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author DXR
+ * @date 2026/10/17
+ * @description 向量全量重建单元测试：游标续跑、取消清理与读取后变更物品的重新入队
+ */
+@ExtendWith(MockitoExtension.class)
+class VectorReindexServiceImplTest {
+    private static final long WAIT_MS = 5000;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @Mock
+    private ItemImageMapper itemImageMapper;
+
+    @Mock
+    private IVectorService vectorService;
+
+    @Mock
+    private IVectorIndexService vectorIndexService;
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private VectorCollectionAlias collectionAlias;
+
+    @Mock
+    private SearchCacheGeneration searchCacheGeneration;
+
+    @Mock
+    private IRedisService redisService;
+
+    private final Map<String, Object> storedState = new ConcurrentHashMap<>();
+    private VectorReindexServiceImpl service;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Item.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(collectionAlias.refreshInterval()).thenReturn(Duration.ZERO);
+        lenient().when(collectionAlias.active()).thenReturn("items");
+        lenient().when(redisService.setIfAbsent(eq(Constants.RedisKey.VECTOR_REINDEX_LOCK), anyString(), any()))
+                .thenReturn(true);
+        lenient().when(redisService.getAllFromMap(Constants.RedisKey.VECTOR_REINDEX_STATE))
+                .thenAnswer(invocation -> new HashMap<Object, Object>(storedState));
+        lenient().doAnswer(invocation -> {
+            storedState.putAll(invocation.getArgument(1));
+            return null;
+        }).when(redisService).putAllToMap(eq(Constants.RedisKey.VECTOR_REINDEX_STATE), any());
+        service = new VectorReindexServiceImpl(itemMapper, itemImageMapper, vectorService, vectorIndexService,
+                vectorStore, collectionAlias, searchCacheGeneration, redisService, Runnable::run,
+                "items", 100, 0, Duration.ofMinutes(2), true, Duration.ZERO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_resumesFromSavedCursorIntoExistingShadowCollection() {
+        storedState.put("status", "FAILED");
+        storedState.put("targetCollection", "items_shadow");
+        storedState.put("lastItemId", 50);
+        storedState.put("processed", 50);
+        when(itemMapper.selectList(any())).thenReturn(List.of(item(51L), item(52L)), List.of(item(51L), item(52L)),
+                List.of());
+        when(itemImageMapper.selectUrlsByItemIds(List.of(51L, 52L))).thenReturn(List.of(url(51L), url(52L)));
+        when(vectorService.embedItem(any(), anyList())).thenReturn(new float[] {1f});
+
+        service.start(true);
+
+        verify(collectionAlias, timeout(WAIT_MS)).switchTo("items_shadow");
+        verify(vectorStore, never()).createCollection(anyString());
+        verify(collectionAlias).startDualWrite("items_shadow");
+        verify(vectorStore).upsert(eq("items_shadow"), eq(List.of(VectorIds.ofItem(51L), VectorIds.ofItem(52L))),
+                anyList(), anyList());
+        ArgumentCaptor<LambdaQueryWrapper<Item>> queries = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        verify(itemMapper, timeout(WAIT_MS).times(3)).selectList(queries.capture());
+        LambdaQueryWrapper<Item> firstBatch = queries.getAllValues().get(0);
+        firstBatch.getSqlSegment();
+        Assertions.assertTrue(firstBatch.getParamNameValuePairs().containsValue(50L));
+        LambdaQueryWrapper<Item> secondBatch = queries.getAllValues().get(2);
+        secondBatch.getSqlSegment();
+        Assertions.assertTrue(secondBatch.getParamNameValuePairs().containsValue(52L));
+        awaitFinished();
+        Assertions.assertEquals("COMPLETED", storedState.get("status"));
+        Assertions.assertEquals(52L, storedState.get("processed"));
+    }
+
+    @Test
+    void cancel_dropsShadowCollectionAndStopsDualWrite() {
+        when(itemMapper.selectList(any())).thenAnswer(invocation -> {
+            service.cancel();
+            return List.of();
+        });
+
+        service.start(false);
+
+        ArgumentCaptor<String> target = ArgumentCaptor.forClass(String.class);
+        verify(vectorStore).createCollection(target.capture());
+        verify(vectorStore, timeout(WAIT_MS)).deleteCollection(target.getValue());
+        verify(collectionAlias).startDualWrite(target.getValue());
+        verify(collectionAlias).stopDualWrite();
+        verify(collectionAlias, never()).switchTo(anyString());
+        awaitFinished();
+        Assertions.assertEquals("CANCELLED", storedState.get("status"));
+    }
+
+    @Test
+    void start_requeuesItemsChangedAfterBatchReadAndFailedEmbeddings() {
+        when(itemMapper.selectList(any())).thenReturn(List.of(item(1L), item(2L), item(3L), item(4L)),
+                List.of(item(1L)), List.of());
+        when(itemImageMapper.selectUrlsByItemIds(List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(url(1L), url(2L), url(3L)));
+        when(vectorService.embedItem(any(), anyList())).thenAnswer(invocation ->
+                invocation.<Item>getArgument(0).getId() == 3L ? null : new float[] {1f});
+
+        service.start(false);
+
+        verify(collectionAlias, timeout(WAIT_MS)).switchTo(anyString());
+        verify(vectorIndexService).enqueue(2L);
+        verify(vectorIndexService).enqueue(3L);
+        verify(vectorIndexService, never()).enqueue(1L);
+        verify(vectorIndexService, never()).enqueue(4L);
+        awaitFinished();
+        Assertions.assertEquals(4L, storedState.get("processed"));
+        Assertions.assertEquals(2L, storedState.get("indexed"));
+        Assertions.assertEquals(1L, storedState.get("skipped"));
+        Assertions.assertEquals(1L, storedState.get("failed"));
+    }
+
+    private void awaitFinished() {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (service.getStatus().isRunningOnThisNode()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "重建未在预期时间内结束");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Item item(Long id) {
+        Item item = new Item();
+        item.setId(id);
+        return item;
+    }
+
+    private static ItemImageUrlDTO url(Long itemId) {
+        ItemImageUrlDTO dto = new ItemImageUrlDTO();
+        dto.setItemId(itemId);
+        dto.setUrl("https://cos/" + itemId + ".jpg");
+        return dto;
+    }
+}